@@ -0,0 +1,43 @@
+package com.okebab.okebabbackend;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Contexte Spring partagé par les benchmarks JMH d'un même fork.
+ * <p>
+ * Base H2 en mémoire (config de test), sans serveur web, sans cache ni index de recherche :
+ * on mesure le chemin complet à chaque appel, pas un hit Caffeine.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    private ConfigurableApplicationContext context;
+
+    @Setup
+    public void start() {
+        context = new SpringApplicationBuilder(OkebabBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.cache.type=none",
+                        "okebab.search.index.enabled=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN"
+                )
+                .run();
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,81 @@
+package com.okebab.okebabbackend.common.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.okebab.okebabbackend.order.dto.response.OrderDetailsResponse;
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temps de sérialisation d'une page de 20 résumés et d'un détail de 6 articles, pour
+ * application/json, le JSON allégé et Smile (mêmes données que ResponseSizeBenchmark).
+ * <p>
+ * mvn test -Pjmh -Djmh.filter=ResponseSerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private ObjectMapper standard;
+    private ObjectMapper lean;
+    private ObjectMapper smile;
+    private Page<OrderSummaryResponse> page;
+    private OrderDetailsResponse details;
+
+    @Setup
+    public void setUp() {
+        standard = Jackson2ObjectMapperBuilder.json().build();
+        lean = LeanJson.configure(Jackson2ObjectMapperBuilder.json().build());
+        smile = LeanJson.configure(Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+        page = ResponseSizeBenchmark.page();
+        details = ResponseSizeBenchmark.details();
+    }
+
+    @Benchmark
+    public byte[] pageJson() throws JsonProcessingException {
+        return standard.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] pageLean() throws JsonProcessingException {
+        return lean.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] pageSmile() throws JsonProcessingException {
+        return smile.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] detailsJson() throws JsonProcessingException {
+        return standard.writeValueAsBytes(details);
+    }
+
+    @Benchmark
+    public byte[] detailsLean() throws JsonProcessingException {
+        return lean.writeValueAsBytes(details);
+    }
+
+    @Benchmark
+    public byte[] detailsSmile() throws JsonProcessingException {
+        return smile.writeValueAsBytes(details);
+    }
+}
@@ -0,0 +1,103 @@
+package com.okebab.okebabbackend.order.pricing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.model.ProductType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chiffrage d'une commande de 20 articles contre la carte en mémoire (5 types × 40 produits,
+ * 12 suppléments), vérification des prix envoyés comprise. Aucun accès base.
+ * <p>
+ * mvn test -Pjmh -Djmh.filter=PricingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingBenchmark {
+
+    private static final ProductType[] TYPES = {
+            ProductType.TACOS, ProductType.BURGER, ProductType.BOISSON, ProductType.DESSERT, ProductType.ASSIETTE
+    };
+    private static final String[] SUPPLEMENTS = {"Cheddar", "Raclette", "Chèvre", "Bacon"};
+
+    private PricingService pricing;
+    private List<OrderItemRequest> items;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<PriceCatalogFile.ProductPrice> products = new ArrayList<>();
+        for (ProductType type : TYPES) {
+            for (long id = 1; id <= 40; id++) {
+                products.add(new PriceCatalogFile.ProductPrice(type, id, type + " " + id,
+                        new BigDecimal("5.00").add(BigDecimal.valueOf(id, 1))));
+            }
+        }
+        List<PriceCatalogFile.SupplementPrice> supplements = new ArrayList<>();
+        for (String group : List.of("supplements", "viandes", "gratine")) {
+            for (String option : SUPPLEMENTS) {
+                supplements.add(new PriceCatalogFile.SupplementPrice(group, option, new BigDecimal("1.20")));
+            }
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Path file = Files.createTempFile("pricing", ".json");
+        file.toFile().deleteOnExit();
+        objectMapper.writeValue(file.toFile(), new PriceCatalogFile(products, supplements));
+        pricing = new PricingService(objectMapper, true, file);
+
+        PriceCatalog catalog = pricing.current();
+        items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ProductType type = TYPES[i % TYPES.length];
+            long id = 1 + i * 7 % 40;
+            Map<String, Object> selections = Map.of(
+                    "sauces", List.of("Algérienne", "Samouraï"),
+                    "supplements", List.of(SUPPLEMENTS[i % SUPPLEMENTS.length]),
+                    "viandes", List.of("Poulet")
+            );
+            int quantity = 1 + i % 3;
+            BigDecimal base = catalog.basePrice(type, id);
+
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductIdFront(id);
+            item.setProductName(type + " " + id);
+            item.setProductType(type.name());
+            item.setQuantity(quantity);
+            item.setSelections(selections);
+            item.setBasePrice(base);
+            item.setTotalPrice(base.add(catalog.supplementsPrice(selections)).multiply(BigDecimal.valueOf(quantity)));
+            items.add(item);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal priceOrder() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItemRequest item : items) {
+            total = total.add(pricing.price(ProductType.valueOf(item.getProductType()), item).totalPrice());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,92 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.okebab.okebabbackend.BenchmarkContext;
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.OrderDetailsResponse;
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chemin de lecture : détail d'une commande (requête + mapping DTO, cache désactivé)
+ * et une page de 20 résumés, sur 2 000 commandes H2.
+ * <p>
+ * mvn test -Pjmh -Djmh.filter=OrderReadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderReadBenchmark {
+
+    private static final int ORDERS = 2_000;
+
+    private final Pageable firstPage = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    private OrderService orderService;
+    private List<Long> ids;
+    private int next;
+
+    @Setup
+    public void setUp(BenchmarkContext context) {
+        orderService = context.bean(OrderService.class);
+
+        ids = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            ids.add(orderService.createOrder(order(i)).getId());
+        }
+    }
+
+    @Benchmark
+    public OrderDetailsResponse getOrderById() {
+        return orderService.getOrderById(ids.get(next++ % ORDERS));
+    }
+
+    @Benchmark
+    public Page<OrderSummaryResponse> listOrders() {
+        return orderService.listOrders(OrderFilter.ALL, firstPage);
+    }
+
+    private static OrderRequest order(int n) {
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < 1 + n % 6; i++) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductIdFront((long) i + 1);
+            item.setProductName(i % 2 == 0 ? "Tacos M" : "Coca");
+            item.setProductType(i % 2 == 0 ? "tacos" : "boisson");
+            item.setBasePrice(new BigDecimal("8.50"));
+            item.setTotalPrice(new BigDecimal("9.70"));
+            item.setQuantity(1);
+            item.setSelections(Map.of("sauces", List.of("Algérienne")));
+            items.add(item);
+        }
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Client " + n);
+        request.setCustomerPhone(String.format("06%08d", n));
+        request.setItems(items);
+        return request;
+    }
+}
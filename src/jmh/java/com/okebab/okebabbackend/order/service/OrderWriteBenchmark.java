@@ -0,0 +1,115 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okebab.okebabbackend.BenchmarkContext;
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.OrderResponse;
+import com.okebab.okebabbackend.order.model.Order;
+import com.okebab.okebabbackend.order.model.ProductType;
+import com.okebab.okebabbackend.order.model.SelectionsCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chemin d'écriture d'une commande de 4 articles :
+ * <ul>
+ *     <li>{@code createOrder} : construction + INSERT H2 + index/événements ;</li>
+ *     <li>{@code buildOrder} : la partie CPU seule (mapping, totaux, sélections JSON) ;</li>
+ *     <li>{@code mapProductType} et {@code selectionsJson} : ses deux briques principales ;</li>
+ *     <li>{@code selectionsEncode} : sérialisation + compression des sélections (SelectionsCodec).</li>
+ * </ul>
+ * mvn test -Pjmh -Djmh.filter=OrderWriteBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderWriteBenchmark {
+
+    private static final String[] PRODUCT_TYPES = {
+            "tacos", "Boissons", "tex-mex", "menu enfant", "assiette", "DESSERT", "accompagnements", "burger"
+    };
+
+    private OrderService orderService;
+    private ObjectMapper objectMapper;
+    private OrderRequest request;
+    private Map<String, Object> selections;
+    private int next;
+
+    @Setup
+    public void setUp(BenchmarkContext context) {
+        orderService = context.bean(OrderService.class);
+        objectMapper = context.bean(ObjectMapper.class);
+        selections = Map.of(
+                "viandes", List.of("Poulet", "Cordon bleu"),
+                "sauces", List.of("Algérienne", "Samouraï"),
+                "supplements", List.of("Cheddar"),
+                "gratine", true
+        );
+        request = order(selections);
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(request);
+    }
+
+    @Benchmark
+    public Order buildOrder() {
+        return orderService.buildOrder(request);
+    }
+
+    @Benchmark
+    public ProductType mapProductType() {
+        return orderService.mapProductType(PRODUCT_TYPES[next++ & (PRODUCT_TYPES.length - 1)]);
+    }
+
+    @Benchmark
+    public String selectionsJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(selections);
+    }
+
+    @Benchmark
+    public byte[] selectionsEncode() {
+        return SelectionsCodec.encode(selections);
+    }
+
+    private static OrderRequest order(Map<String, Object> selections) {
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductIdFront((long) i + 1);
+            item.setProductName("Tacos M");
+            item.setProductType(PRODUCT_TYPES[i]);
+            item.setBasePrice(new BigDecimal("8.50"));
+            item.setTotalPrice(new BigDecimal("9.70"));
+            item.setQuantity(1);
+            item.setSelections(selections);
+            items.add(item);
+        }
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Karim");
+        request.setCustomerPhone("06 12 34 56 78");
+        request.setItems(items);
+        return request;
+    }
+}
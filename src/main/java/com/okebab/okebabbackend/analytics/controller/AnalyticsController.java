@@ -0,0 +1,61 @@
+package com.okebab.okebabbackend.analytics.controller;
+
+import com.okebab.okebabbackend.analytics.dto.response.DailyProductSalesResponse;
+import com.okebab.okebabbackend.analytics.dto.response.DailySalesResponse;
+import com.okebab.okebabbackend.analytics.dto.response.RollupRebuildResponse;
+import com.okebab.okebabbackend.analytics.service.SalesRollupService;
+import com.okebab.okebabbackend.common.traffic.LowPriority;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.model.ProductType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000") // Next.js en dev
+public class AnalyticsController {
+
+    private final SalesRollupService salesRollupService;
+
+    // =====================
+    // VENTES PAR JOUR
+    // =====================
+    // Une ligne par (jour, statut), bornes incluses. Somme des statuts hors CANCELLED = CA du jour.
+    @LowPriority
+    @GetMapping("/sales/daily")
+    public List<DailySalesResponse> dailySales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) OrderStatus status
+    ) {
+        return salesRollupService.dailySales(from, to, status);
+    }
+
+    // Une ligne par (jour, type de produit, statut)
+    @LowPriority
+    @GetMapping("/sales/daily/products")
+    public List<DailyProductSalesResponse> dailyProductSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) ProductType productType,
+            @RequestParam(required = false) OrderStatus status
+    ) {
+        return salesRollupService.dailyProductSales(from, to, productType, status);
+    }
+
+    // =====================
+    // RECONSTRUCTION (backfill)
+    // =====================
+    @PostMapping("/rollups/rebuild")
+    public RollupRebuildResponse rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return salesRollupService.rebuild(from, to);
+    }
+}
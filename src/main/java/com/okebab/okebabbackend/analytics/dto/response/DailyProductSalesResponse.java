@@ -0,0 +1,20 @@
+package com.okebab.okebabbackend.analytics.dto.response;
+
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.model.ProductType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * @param orderCount commandes contenant au moins un article de ce type
+ * @param revenue    somme des totalPrice des articles de ce type
+ */
+public record DailyProductSalesResponse(
+        LocalDate date,
+        ProductType productType,
+        OrderStatus status,
+        long orderCount,
+        long quantity,
+        BigDecimal revenue
+) {}
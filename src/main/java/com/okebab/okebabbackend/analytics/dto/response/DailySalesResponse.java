@@ -0,0 +1,13 @@
+package com.okebab.okebabbackend.analytics.dto.response;
+
+import com.okebab.okebabbackend.order.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailySalesResponse(
+        LocalDate date,
+        OrderStatus status,
+        long orderCount,
+        BigDecimal revenue
+) {}
@@ -0,0 +1,14 @@
+package com.okebab.okebabbackend.analytics.dto.response;
+
+import java.time.LocalDate;
+
+/**
+ * @param dailyRows   lignes daily_sales recalculées
+ * @param productRows lignes daily_product_sales recalculées
+ */
+public record RollupRebuildResponse(
+        LocalDate from,
+        LocalDate to,
+        int dailyRows,
+        int productRows
+) {}
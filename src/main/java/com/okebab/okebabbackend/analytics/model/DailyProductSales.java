@@ -0,0 +1,34 @@
+package com.okebab.okebabbackend.analytics.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Ventes d'un jour pour un type de produit et un statut de commande.
+ * orderCount compte les commandes contenant au moins un article de ce type ;
+ * revenue est la somme des totalPrice de ces articles.
+ */
+@Entity
+@Table(name = "daily_product_sales")
+@Getter
+@NoArgsConstructor
+public class DailyProductSales {
+
+    @EmbeddedId
+    private DailyProductSalesId id;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
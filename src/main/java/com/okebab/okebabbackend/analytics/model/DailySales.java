@@ -0,0 +1,30 @@
+package com.okebab.okebabbackend.analytics.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Ventes d'un jour pour un statut : nombre de commandes et chiffre d'affaires (total_amount).
+ * Écrit par SalesRollupService uniquement (incréments SQL), lu par l'API analytics.
+ */
+@Entity
+@Table(name = "daily_sales")
+@Getter
+@NoArgsConstructor
+public class DailySales {
+
+    @EmbeddedId
+    private DailySalesId id;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,70 @@
+package com.okebab.okebabbackend.analytics.repository;
+
+import com.okebab.okebabbackend.analytics.model.DailyProductSales;
+import com.okebab.okebabbackend.analytics.model.DailyProductSalesId;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.model.ProductType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSales, DailyProductSalesId> {
+
+        @Query("select d from DailyProductSales d"
+                + " where d.id.salesDate between :from and :to"
+                + " and (:productType is null or d.id.productType = :productType)"
+                + " and (:status is null or d.id.status = :status)"
+                + " order by d.id.salesDate, d.id.productType, d.id.status")
+        List<DailyProductSales> findRange(@Param("from") LocalDate from,
+                                          @Param("to") LocalDate to,
+                                          @Param("productType") ProductType productType,
+                                          @Param("status") OrderStatus status);
+
+        // Incrément atomique (deltas négatifs pour un retrait) ; 0 si la ligne n'existe pas encore
+        @Modifying
+        @Query(value = "update daily_product_sales set order_count = order_count + :orders,"
+                + " quantity = quantity + :quantity, revenue = revenue + :revenue"
+                + " where sales_date = :date and product_type = :productType and status = :status", nativeQuery = true)
+        int increment(@Param("date") LocalDate date,
+                      @Param("productType") String productType,
+                      @Param("status") String status,
+                      @Param("orders") long orders,
+                      @Param("quantity") long quantity,
+                      @Param("revenue") BigDecimal revenue);
+
+        @Modifying
+        @Query(value = "insert into daily_product_sales (sales_date, product_type, status, order_count, quantity, revenue)"
+                + " values (:date, :productType, :status, :orders, :quantity, :revenue)", nativeQuery = true)
+        void insert(@Param("date") LocalDate date,
+                    @Param("productType") String productType,
+                    @Param("status") String status,
+                    @Param("orders") long orders,
+                    @Param("quantity") long quantity,
+                    @Param("revenue") BigDecimal revenue);
+
+        @Modifying
+        @Query(value = "delete from daily_product_sales where sales_date between :from and :to", nativeQuery = true)
+        int deleteRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+        // Recalcul depuis order_items / orders (et leur archive) pour les commandes créées dans [from, to[
+        @Modifying
+        @Query(value = "insert into daily_product_sales (sales_date, product_type, status, order_count, quantity, revenue)"
+                + " select cast(s.created_at as date), s.product_type, s.status,"
+                + " count(distinct s.order_id), sum(s.quantity), sum(s.total_price) from ("
+                + " select o.created_at, o.status, i.order_id, i.product_type, i.quantity, i.total_price"
+                + " from order_items i join orders o on o.id = i.order_id"
+                + " where o.created_at >= :from and o.created_at < :to"
+                + " union all select o.created_at, o.status, i.order_id, i.product_type, i.quantity, i.total_price"
+                + " from order_items_archive i join orders_archive o on o.id = i.order_id"
+                + " where o.created_at >= :from and o.created_at < :to) s"
+                + " group by cast(s.created_at as date), s.product_type, s.status", nativeQuery = true)
+        int rebuild(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
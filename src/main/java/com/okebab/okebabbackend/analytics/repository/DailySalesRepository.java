@@ -0,0 +1,58 @@
+package com.okebab.okebabbackend.analytics.repository;
+
+import com.okebab.okebabbackend.analytics.model.DailySales;
+import com.okebab.okebabbackend.analytics.model.DailySalesId;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailySalesRepository extends JpaRepository<DailySales, DailySalesId> {
+
+        @Query("select d from DailySales d"
+                + " where d.id.salesDate between :from and :to and (:status is null or d.id.status = :status)"
+                + " order by d.id.salesDate, d.id.status")
+        List<DailySales> findRange(@Param("from") LocalDate from,
+                                   @Param("to") LocalDate to,
+                                   @Param("status") OrderStatus status);
+
+        // Incrément atomique (deltas négatifs pour un retrait) ; 0 si la ligne n'existe pas encore
+        @Modifying
+        @Query(value = "update daily_sales set order_count = order_count + :orders, revenue = revenue + :revenue"
+                + " where sales_date = :date and status = :status", nativeQuery = true)
+        int increment(@Param("date") LocalDate date,
+                      @Param("status") String status,
+                      @Param("orders") long orders,
+                      @Param("revenue") BigDecimal revenue);
+
+        @Modifying
+        @Query(value = "insert into daily_sales (sales_date, status, order_count, revenue)"
+                + " values (:date, :status, :orders, :revenue)", nativeQuery = true)
+        void insert(@Param("date") LocalDate date,
+                    @Param("status") String status,
+                    @Param("orders") long orders,
+                    @Param("revenue") BigDecimal revenue);
+
+        @Modifying
+        @Query(value = "delete from daily_sales where sales_date between :from and :to", nativeQuery = true)
+        int deleteRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+        // Recalcul depuis orders (et orders_archive) pour les commandes créées dans [from, to[
+        @Modifying
+        @Query(value = "insert into daily_sales (sales_date, status, order_count, revenue)"
+                + " select cast(o.created_at as date), o.status, count(*), sum(o.total_amount) from ("
+                + " select created_at, status, total_amount from orders"
+                + " where created_at >= :from and created_at < :to"
+                + " union all select created_at, status, total_amount from orders_archive"
+                + " where created_at >= :from and created_at < :to) o"
+                + " group by cast(o.created_at as date), o.status", nativeQuery = true)
+        int rebuild(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
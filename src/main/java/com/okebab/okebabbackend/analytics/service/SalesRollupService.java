@@ -0,0 +1,219 @@
+package com.okebab.okebabbackend.analytics.service;
+
+import com.okebab.okebabbackend.analytics.dto.response.DailyProductSalesResponse;
+import com.okebab.okebabbackend.analytics.dto.response.DailySalesResponse;
+import com.okebab.okebabbackend.analytics.dto.response.RollupRebuildResponse;
+import com.okebab.okebabbackend.analytics.repository.DailyProductSalesRepository;
+import com.okebab.okebabbackend.analytics.repository.DailySalesRepository;
+import com.okebab.okebabbackend.common.datasource.ReplicaRead;
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.event.OrderCreatedEvent;
+import com.okebab.okebabbackend.order.event.OrderSalesLine;
+import com.okebab.okebabbackend.order.event.OrderStatusChangedEvent;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.model.ProductType;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrégats de ventes par jour (daily_sales, daily_product_sales).
+ * <p>
+ * Tenus à jour de façon incrémentale à partir des événements de commande : une création ajoute
+ * la commande dans la ligne (jour, statut), un changement de statut la déplace vers la ligne du
+ * nouveau statut. Les incréments sont des UPDATE atomiques ({@code x = x + delta}), la ligne est
+ * créée au premier passage. Les lectures ne touchent que ces tables : une ligne par jour et par
+ * statut (et par type de produit), quel que soit le nombre de commandes.
+ * <p>
+ * La commande est déjà enregistrée quand l'événement arrive : un échec ici est journalisé sans
+ * faire échouer la requête, et la reconstruction nocturne ({@link #rebuildRecentDays}) recale
+ * les jours récents sur orders / order_items.
+ */
+@Slf4j
+@Service
+public class SalesRollupService {
+
+    static final int MAX_RANGE_DAYS = 366;
+
+    private final DailySalesRepository dailySalesRepository;
+    private final DailyProductSalesRepository dailyProductSalesRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildDays;
+
+    public SalesRollupService(
+            DailySalesRepository dailySalesRepository,
+            DailyProductSalesRepository dailyProductSalesRepository,
+            OrderRepository orderRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${okebab.analytics.rebuild-days:2}") int rebuildDays
+    ) {
+        this.dailySalesRepository = dailySalesRepository;
+        this.dailyProductSalesRepository = dailyProductSalesRepository;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildDays = rebuildDays;
+    }
+
+    // =====================
+    // MISE À JOUR INCRÉMENTALE
+    // =====================
+    @EventListener
+    public void onOrderCreated(OrderCreatedEvent e) {
+        OrderSummaryResponse order = e.order();
+        LocalDate day = order.createdAt().toLocalDate();
+
+        apply(order.id(), () -> add(day, order.status(), order.totalAmount(), e.lines(), 1));
+    }
+
+    @EventListener
+    public void onStatusChanged(OrderStatusChangedEvent e) {
+        if (e.previousStatus() == e.status()) return;
+
+        LocalDate day = e.createdAt().toLocalDate();
+
+        // lecture dans apply : le statut est déjà changé, une base indisponible ne doit ni faire
+        // échouer la requête ni priver les écouteurs suivants (SSE, vue active) de l'événement
+        apply(e.orderId(), () -> {
+            List<OrderSalesLine> lines = orderRepository.findSalesLines(e.orderId());
+            add(day, e.previousStatus(), e.totalAmount(), lines, -1);
+            add(day, e.status(), e.totalAmount(), lines, 1);
+        });
+    }
+
+    private void apply(Long orderId, Runnable update) {
+        try {
+            try {
+                transactionTemplate.executeWithoutResult(status -> update.run());
+            } catch (DataIntegrityViolationException e) {
+                // ligne du jour insérée entre-temps par une autre commande : l'UPDATE passe maintenant
+                transactionTemplate.executeWithoutResult(status -> update.run());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Agrégats de ventes non mis à jour pour la commande {} (corrigé au prochain rebuild)", orderId, e);
+        }
+    }
+
+    /**
+     * Ajoute (sign = 1) ou retire (sign = -1) une commande des lignes du jour pour un statut.
+     */
+    private void add(LocalDate day, OrderStatus status, BigDecimal totalAmount, List<OrderSalesLine> lines, int sign) {
+        BigDecimal revenue = totalAmount.multiply(BigDecimal.valueOf(sign));
+        if (dailySalesRepository.increment(day, status.name(), sign, revenue) == 0) {
+            dailySalesRepository.insert(day, status.name(), sign, revenue);
+        }
+
+        // une commande compte une fois par type, quel que soit son nombre d'articles de ce type
+        Map<ProductType, long[]> quantities = new EnumMap<>(ProductType.class);
+        Map<ProductType, BigDecimal> amounts = new EnumMap<>(ProductType.class);
+        for (OrderSalesLine line : lines) {
+            quantities.computeIfAbsent(line.productType(), t -> new long[1])[0] += line.quantity();
+            amounts.merge(line.productType(), line.amount(), BigDecimal::add);
+        }
+
+        for (Map.Entry<ProductType, long[]> entry : quantities.entrySet()) {
+            String type = entry.getKey().name();
+            long quantity = sign * entry.getValue()[0];
+            BigDecimal amount = amounts.get(entry.getKey()).multiply(BigDecimal.valueOf(sign));
+
+            if (dailyProductSalesRepository.increment(day, type, status.name(), sign, quantity, amount) == 0) {
+                dailyProductSalesRepository.insert(day, type, status.name(), sign, quantity, amount);
+            }
+        }
+    }
+
+    // =====================
+    // RECONSTRUCTION
+    // =====================
+    /**
+     * Recalcule les agrégats des jours [from, to] depuis orders / order_items.
+     * À réserver aux journées closes : une commande créée pendant le recalcul d'un jour
+     * peut faire échouer la réinsertion (relancer) ou ne pas être comptée.
+     */
+    public RollupRebuildResponse rebuild(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+
+        return transactionTemplate.execute(status -> {
+            dailySalesRepository.deleteRange(from, to);
+            dailyProductSalesRepository.deleteRange(from, to);
+
+            int dailyRows = dailySalesRepository.rebuild(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+            int productRows = dailyProductSalesRepository.rebuild(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+            log.info("Agrégats de ventes reconstruits du {} au {} : {} + {} lignes", from, to, dailyRows, productRows);
+            return new RollupRebuildResponse(from, to, dailyRows, productRows);
+        });
+    }
+
+    /**
+     * Recale chaque nuit les derniers jours clos (okebab.analytics.rebuild-days, hier inclus).
+     */
+    @Scheduled(cron = "${okebab.analytics.rebuild-cron:0 30 4 * * *}")
+    public void rebuildRecentDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        rebuild(yesterday.minusDays(rebuildDays - 1L), yesterday);
+    }
+
+    // =====================
+    // LECTURES
+    // =====================
+    @ReplicaRead
+    public List<DailySalesResponse> dailySales(LocalDate from, LocalDate to, OrderStatus status) {
+        checkRange(from, to);
+
+        return dailySalesRepository.findRange(from, to, status).stream()
+                .map(d -> new DailySalesResponse(
+                        d.getId().getSalesDate(),
+                        d.getId().getStatus(),
+                        d.getOrderCount(),
+                        d.getRevenue()
+                ))
+                .toList();
+    }
+
+    @ReplicaRead
+    public List<DailyProductSalesResponse> dailyProductSales(
+            LocalDate from,
+            LocalDate to,
+            ProductType productType,
+            OrderStatus status
+    ) {
+        checkRange(from, to);
+
+        return dailyProductSalesRepository.findRange(from, to, productType, status).stream()
+                .map(d -> new DailyProductSalesResponse(
+                        d.getId().getSalesDate(),
+                        d.getId().getProductType(),
+                        d.getId().getStatus(),
+                        d.getOrderCount(),
+                        d.getQuantity(),
+                        d.getRevenue()
+                ))
+                .toList();
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from et to sont requis");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to doit être postérieur ou égal à from");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Période limitée à " + MAX_RANGE_DAYS + " jours");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.okebab.okebabbackend.common.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches applicatifs (Caffeine). Noms, taille et TTL : spring.cache.* dans application.properties.
+ * Les statistiques (hits, misses, evictions) sont exposées par Actuator : /actuator/metrics/cache.gets etc.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,85 @@
+package com.okebab.okebabbackend.common.config;
+
+import com.okebab.okebabbackend.common.datasource.ReplicaReadAspect;
+import com.okebab.okebabbackend.common.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lectures sur réplicas (okebab.datasource.routing.enabled=true).
+ * <p>
+ * Remplace la DataSource de Spring Boot : pool primaire ({@code spring.datasource.*}, réglages
+ * {@code spring.datasource.hikari.*}) et un pool par URL de {@code okebab.datasource.replica-urls},
+ * mêmes réglages, identifiants {@code okebab.datasource.replica-username / replica-password}
+ * (par défaut ceux du primaire). Métriques hikaricp.* par pool (tag pool = primary, replica-0...).
+ * Les méthodes {@code @ReplicaRead} lisent sur un réplica, tout le reste (écritures, Flyway, tâches
+ * de fond) sur le primaire. La sonde readiness ne ping que le primaire : un réplica en panne est
+ * contourné, il ne sort pas l'instance du load balancer.
+ */
+@Configuration
+@ConditionalOnProperty(name = "okebab.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    // pas candidat à l'injection : seule la DataSource ci-dessous est vue par JPA, JDBC, Flyway, health
+    @Bean(destroyMethod = "close", autowireCandidate = false)
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${okebab.datasource.replica-urls:}") List<String> replicaUrls,
+            @Value("${okebab.datasource.replica-username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${okebab.datasource.replica-password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${okebab.datasource.replica-retry-ms:5000}") long retryMs
+    ) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) continue;
+
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setPoolName("replica-" + replicas.size());
+            replicas.add(replica);
+        }
+
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        primary.setMetricsTrackerFactory(metrics);
+        replicas.forEach(r -> r.setMetricsTrackerFactory(metrics));
+
+        return new ReplicaRoutingDataSource(primary, replicas, retryMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(BeanFactory beanFactory) {
+        return new LazyConnectionDataSourceProxy(
+                beanFactory.getBean("replicaRoutingDataSource", ReplicaRoutingDataSource.class));
+    }
+
+    @Bean
+    public ReplicaReadAspect replicaReadAspect() {
+        return new ReplicaReadAspect();
+    }
+}
@@ -0,0 +1,55 @@
+package com.okebab.okebabbackend.common.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.okebab.okebabbackend.common.json.LeanJson;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Réponses allégées ({@link LeanJson}) en JSON vendor et en Smile.
+ * <p>
+ * Le convertisseur JSON standard accepte déjà application/*+json : on lui associe un second
+ * ObjectMapper pour {@link LeanJson#MEDIA_TYPE} plutôt que d'ajouter un convertisseur.
+ * application/json reste en tête : un client qui accepte tout (*&#47;*) reçoit le format habituel.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class LeanJsonConfig implements WebMvcConfigurer {
+
+    // prototype : un builder neuf (réglages spring.jackson.*) par ObjectMapper
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2HttpMessageConverter json) {
+                ObjectMapper standard = json.getObjectMapper();
+                ObjectMapper lean = LeanJson.configure(builders.getObject().build());
+
+                // sans entrée correspondante, le convertisseur refuserait le type : ordre et couverture comptent
+                json.registerObjectMappersForType(Object.class, mappers -> {
+                    mappers.put(MediaType.APPLICATION_JSON, standard);
+                    mappers.put(LeanJson.MEDIA_TYPE, lean);
+                    mappers.put(new MediaType("application", "*+json"), standard);
+                    // données SSE (/api/orders/stream) : écrites avec le type de la réponse, text/event-stream
+                    mappers.put(MediaType.TEXT_EVENT_STREAM, standard);
+                });
+            }
+        }
+
+        // jackson-dataformat-smile présent : Spring a déjà un convertisseur Smile standard, remplacé ici
+        converters.removeIf(c -> c instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                LeanJson.configure(builders.getObject().factory(new SmileFactory()).build())));
+    }
+}
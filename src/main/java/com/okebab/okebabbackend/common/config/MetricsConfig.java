@@ -0,0 +1,33 @@
+package com.okebab.okebabbackend.common.config;
+
+import com.okebab.okebabbackend.common.metrics.SqlStatementCounter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métriques applicatives (Micrometer, exposées par Actuator) :
+ * <ul>
+ *     <li>{@code @Timed} sur les méthodes de service (OrderService), avec histogrammes de latence
+ *     (management.metrics.distribution.* dans application.properties) ;</li>
+ *     <li>comptage des requêtes SQL par requête HTTP : {@link SqlStatementCounter} branché sur Hibernate.</li>
+ * </ul>
+ * L'attente d'une connexion Hikari est mesurée par Spring Boot (hikaricp.connections.acquire).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // putIfAbsent : un StatementInspector déclaré en propriété (tests) reste prioritaire
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+}
@@ -0,0 +1,12 @@
+package com.okebab.okebabbackend.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active les tâches @Scheduled (heartbeat SSE, tâches de fond).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,26 @@
+package com.okebab.okebabbackend.common.config;
+
+import com.okebab.okebabbackend.common.traffic.LoadSheddingInterceptor;
+import com.okebab.okebabbackend.common.traffic.RateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Protection de l'API commandes : budget par client (429), puis délestage des endpoints
+ * basse priorité quand l'attente du pool JDBC monte (503).
+ */
+@Configuration
+@RequiredArgsConstructor
+public class TrafficConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final LoadSheddingInterceptor loadSheddingInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/orders", "/api/orders/**", "/api/customers/**");
+        registry.addInterceptor(loadSheddingInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,21 @@
+package com.okebab.okebabbackend.common.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Méthode de lecture qui peut être servie par un réplica (okebab.datasource.routing.enabled=true).
+ * <p>
+ * Seules ses transactions en lecture seule (ou ses requêtes hors transaction) partent sur un
+ * réplica ; une écriture, ou un appel depuis une transaction déjà ouverte, reste sur le primaire.
+ * Les données lues peuvent avoir le retard de réplication : à réserver aux listings, recherches
+ * et agrégats. Sans l'annotation, tout passe par le primaire.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReplicaRead {
+}
@@ -0,0 +1,23 @@
+package com.okebab.okebabbackend.common.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Ouvre la portée {@link ReplicaRead} le temps de l'appel. Déclaré par DataSourceRoutingConfig,
+ * uniquement quand le routage est actif.
+ */
+@Aspect
+public class ReplicaReadAspect {
+
+    @Around("@annotation(com.okebab.okebabbackend.common.datasource.ReplicaRead)")
+    public Object route(ProceedingJoinPoint call) throws Throwable {
+        Boolean previous = ReplicaRoutingDataSource.enter();
+        try {
+            return call.proceed();
+        } finally {
+            ReplicaRoutingDataSource.exit(previous);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.okebab.okebabbackend.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool primaire + pools réplicas. Une connexion part sur un réplica seulement dans une méthode
+ * {@link ReplicaRead}, et si la transaction courante est en lecture seule (ou s'il n'y en a pas).
+ * <p>
+ * Choix du réplica : celui qui a le moins de connexions actives, le tour de rôle départageant les
+ * égalités. Un réplica qui refuse une connexion est écarté pendant {@code retryMs} et la lecture
+ * se fait sur le primaire : une panne de réplica ralentit, elle ne casse pas les lectures.
+ * <p>
+ * À placer derrière un LazyConnectionDataSourceProxy : la connexion n'est demandée qu'à la
+ * première requête SQL, quand le caractère lecture seule de la transaction est connu.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    // null : hors méthode @ReplicaRead ; FALSE : lecture forcée sur le primaire (usePrimary)
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final long retryMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private volatile long downUntil;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            return mxBean != null ? mxBean.getActiveConnections() : 0;
+        }
+    }
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, long retryMs) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.retryMs = retryMs;
+    }
+
+    // =====================
+    // PORTÉE DE LECTURE
+    // =====================
+
+    /**
+     * Entrée dans une méthode {@link ReplicaRead}. Une portée englobante qui a déjà forcé le
+     * primaire le reste.
+     *
+     * @return l'état précédent, à rendre à {@link #exit}
+     */
+    static Boolean enter() {
+        Boolean previous = REPLICA_ALLOWED.get();
+        if (previous == null) REPLICA_ALLOWED.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void exit(Boolean previous) {
+        if (previous == null) REPLICA_ALLOWED.remove();
+        else REPLICA_ALLOWED.set(previous);
+    }
+
+    /**
+     * Dans une méthode {@link ReplicaRead}, avant sa première requête : lit sur le primaire
+     * (donnée tout juste écrite, que le réplica n'a peut-être pas encore). Sans effet ailleurs.
+     */
+    public static void usePrimary() {
+        if (REPLICA_ALLOWED.get() != null) REPLICA_ALLOWED.set(Boolean.FALSE);
+    }
+
+    // =====================
+    // CONNEXIONS
+    // =====================
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!readFromReplica()) return primary.getConnection();
+
+        Replica replica = pick();
+        if (replica == null) return primary.getConnection();
+
+        try {
+            return replica.pool.getConnection();
+        } catch (SQLException e) {
+            replica.downUntil = System.currentTimeMillis() + retryMs;
+            log.warn("Réplica {} indisponible, lectures sur le primaire pendant {} ms : {}",
+                    replica.pool.getPoolName(), retryMs, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Identifiants fixés par pool (spring.datasource / okebab.datasource)");
+    }
+
+    private boolean readFromReplica() {
+        if (replicas.isEmpty() || !Boolean.TRUE.equals(REPLICA_ALLOWED.get())) return false;
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private Replica pick() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        long now = System.currentTimeMillis();
+
+        Replica best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (now < replica.downUntil) continue;
+
+            int active = replica.activeConnections();
+            if (active < bestActive) {
+                best = replica;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(r -> r.pool.close());
+        primary.close();
+    }
+}
@@ -0,0 +1,7 @@
+package com.okebab.okebabbackend.common.error;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.okebab.okebabbackend.common.error;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.okebab.okebabbackend.common.error;
+
+/**
+ * Budget de requêtes du client épuisé (429) : retryAfterSeconds est renvoyé dans Retry-After.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
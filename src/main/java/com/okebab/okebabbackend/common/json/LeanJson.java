@@ -0,0 +1,107 @@
+package com.okebab.okebabbackend.common.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.okebab.okebabbackend.order.dto.response.OrderItemResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+/**
+ * Représentation allégée des réponses, choisie par le client via Accept :
+ * <ul>
+ *     <li>{@link #MEDIA_TYPE} : JSON ;</li>
+ *     <li>{@link #SMILE} : même contenu en Smile (JSON binaire, noms de champs répétés d'un
+ *     élément à l'autre envoyés une seule fois), pour les bornes.</li>
+ * </ul>
+ * Différences avec application/json :
+ * <ul>
+ *     <li>les sélections d'un article sont un objet JSON ({@code "selections": {...}}) recopié tel
+ *     quel, au lieu d'une chaîne échappée {@code "selectionsJson": "{\"sauces\":...}"} à re-parser ;</li>
+ *     <li>une {@link Page} devient {@code {"content": [...], "page": {number, size, totalElements,
+ *     totalPages}}}, sans les objets pageable / sort de PageImpl ;</li>
+ *     <li>les champs null sont omis.</li>
+ * </ul>
+ */
+public final class LeanJson {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType("application/vnd.okebab.lean+json");
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private LeanJson() {}
+
+    /**
+     * Applique la représentation allégée à un ObjectMapper (JSON ou Smile) neuf.
+     */
+    public static ObjectMapper configure(ObjectMapper mapper) {
+        SimpleModule module = new SimpleModule("lean-json");
+        module.addSerializer(new PageSerializer());
+
+        return mapper
+                .addMixIn(OrderItemResponse.class, OrderItemMixIn.class)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .registerModule(module);
+    }
+
+    private abstract static class OrderItemMixIn {
+        @JsonProperty("selections")
+        @JsonSerialize(using = RawJsonSerializer.class)
+        abstract String selectionsJson();
+    }
+
+    /**
+     * Écrit un JSON déjà sérialisé sans l'échapper. Sur un format binaire (Smile), où du texte
+     * brut n'a pas de sens, ses jetons sont relus et réécrits.
+     */
+    static final class RawJsonSerializer extends StdSerializer<String> {
+
+        RawJsonSerializer() {
+            super(String.class);
+        }
+
+        @Override
+        public void serialize(String json, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (gen.canWriteBinaryNatively()) {
+                // copie jeton par jeton, sans construire d'arbre
+                try (JsonParser parser = JSON.createParser(json)) {
+                    parser.nextToken();
+                    gen.copyCurrentStructure(parser);
+                }
+            } else {
+                gen.writeRawValue(json);
+            }
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    static final class PageSerializer extends StdSerializer<Page> {
+
+        PageSerializer() {
+            super(Page.class);
+        }
+
+        @Override
+        public void serialize(Page page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            provider.defaultSerializeField("content", page.getContent(), gen);
+            gen.writeObjectFieldStart("page");
+            gen.writeNumberField("number", page.getNumber());
+            gen.writeNumberField("size", page.getSize());
+            gen.writeNumberField("totalElements", page.getTotalElements());
+            gen.writeNumberField("totalPages", page.getTotalPages());
+            gen.writeEndObject();
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.okebab.okebabbackend.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Par requête HTTP :
+ * <ul>
+ *     <li>nombre de requêtes SQL Hibernate ({@link SqlStatementCounter}), enregistré dans
+ *     {@code okebab.http.sql.statements{method, uri}} (uri = motif du contrôleur, ex. /api/orders/{id}) ;</li>
+ *     <li>journal des requêtes lentes échantillonné : au-delà de {@code okebab.sql.slow-request-ms},
+ *     une requête sur 1/{@code okebab.sql.slow-log-sample-rate} est journalisée avec ses requêtes SQL
+ *     (les {@code okebab.sql.slow-log-statements} premières). Remplace spring.jpa.show-sql : rien
+ *     n'est écrit pour les requêtes rapides.</li>
+ * </ul>
+ * Les requêtes SQL lentes une à une sont journalisées par Hibernate (hibernate.log_slow_query,
+ * logger org.hibernate.SQL_SLOW).
+ */
+@Slf4j
+@Component
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    private final long slowRequestNanos;
+    private final double sampleRate;
+    private final int keptStatements;
+
+    public RequestSqlMetricsFilter(
+            MeterRegistry registry,
+            @Value("${okebab.sql.slow-request-ms:500}") long slowRequestMs,
+            @Value("${okebab.sql.slow-log-sample-rate:0.1}") double sampleRate,
+            @Value("${okebab.sql.slow-log-statements:20}") int keptStatements
+    ) {
+        this.registry = registry;
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMs);
+        this.sampleRate = sampleRate;
+        this.keptStatements = keptStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        SqlStatementCounter.Statements statements = SqlStatementCounter.start(keptStatements);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.stop();
+            record(request, response, statements, System.nanoTime() - start);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response,
+                        SqlStatementCounter.Statements statements, long elapsedNanos) {
+        // pas de motif : aucune route (404), on n'ouvre pas une série par URL inconnue
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) return;
+
+        DistributionSummary.builder("okebab.http.sql.statements")
+                .description("Requêtes SQL Hibernate par requête HTTP")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern.toString())
+                .register(registry)
+                .record(statements.count());
+
+        if (elapsedNanos >= slowRequestNanos && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.warn("Requête lente {} {} -> {} : {} ms, {} requêtes SQL{}",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), statements.count(),
+                    statements.sql().isEmpty() ? "" : "\n  " + String.join("\n  ", statements.sql()));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.okebab.okebabbackend.common.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compte les requêtes SQL émises par Hibernate pendant une requête HTTP.
+ * <p>
+ * Enregistré comme StatementInspector de la SessionFactory ({@code MetricsConfig}) : il voit
+ * chaque requête préparée, avant exécution, sans la modifier. Le compteur est porté par le
+ * thread de la requête ({@link #start} / {@link #stop}, appelés par {@link RequestSqlMetricsFilter}) ;
+ * hors requête HTTP (threads de fond, tâches planifiées), rien n'est compté.
+ * Les requêtes JdbcTemplate (OrderJdbcWriter...) ne passent pas par Hibernate et ne sont pas comptées.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Statements> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Requêtes d'une requête HTTP : le nombre total, et le texte des {@code keep} premières
+     * (journal des requêtes lentes).
+     */
+    public static final class Statements {
+
+        private final int keep;
+        private final List<String> sql;
+        private int count;
+
+        Statements(int keep) {
+            this.keep = keep;
+            this.sql = new ArrayList<>(Math.min(keep, 16));
+        }
+
+        void add(String statement) {
+            if (count++ < keep) sql.add(statement);
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public List<String> sql() {
+            return sql;
+        }
+    }
+
+    static Statements start(int keep) {
+        Statements statements = new Statements(keep);
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Statements statements = CURRENT.get();
+        if (statements != null) statements.add(sql);
+        return sql;
+    }
+}
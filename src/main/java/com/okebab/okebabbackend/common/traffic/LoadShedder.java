@@ -0,0 +1,100 @@
+package com.okebab.okebabbackend.common.traffic;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Délestage adaptatif des requêtes {@link LowPriority}, piloté par l'attente d'une connexion JDBC.
+ * <p>
+ * Toutes les {@code okebab.shedding.sample-ms}, l'attente moyenne sur la période est relue dans
+ * le timer Hikari hikaricp.connections.acquire (tous pools confondus). Au-delà de
+ * {@code okebab.shedding.max-acquire-ms}, une part croissante des requêtes basse priorité est
+ * refusée : 0 % au seuil, 100 % à deux fois le seuil. Aucune connexion rendue sur la période
+ * alors que des threads attendent (hikaricp.connections.pending) : tout est refusé.
+ */
+@Slf4j
+@Component
+public class LoadShedder {
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final double thresholdNanos;
+    private final Counter shed;
+
+    private long lastCount;
+    private double lastTotalNanos;
+    private volatile double probability;
+
+    public LoadShedder(
+            MeterRegistry registry,
+            @Value("${okebab.shedding.enabled:true}") boolean enabled,
+            @Value("${okebab.shedding.max-acquire-ms:50}") long maxAcquireMs
+    ) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(maxAcquireMs);
+        this.shed = Counter.builder("okebab.shedding.rejected")
+                .description("Requêtes basse priorité refusées en 503 (délestage)")
+                .register(registry);
+        Gauge.builder("okebab.shedding.probability", this, s -> s.probability)
+                .description("Part des requêtes basse priorité refusées")
+                .register(registry);
+    }
+
+    @Scheduled(fixedRateString = "${okebab.shedding.sample-ms:500}")
+    public synchronized void sample() {
+        if (!enabled) return;
+
+        long count = 0;
+        double totalNanos = 0;
+        for (Timer timer : registry.find("hikaricp.connections.acquire").timers()) {
+            count += timer.count();
+            totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+
+        long acquired = count - lastCount;
+        double waited = totalNanos - lastTotalNanos;
+        lastCount = count;
+        lastTotalNanos = totalNanos;
+
+        double next;
+        if (acquired > 0) {
+            double mean = waited / acquired;
+            next = Math.clamp((mean - thresholdNanos) / thresholdNanos, 0.0, 1.0);
+        } else {
+            next = pending() > 0 ? 1.0 : 0.0;
+        }
+
+        if ((next > 0) != (probability > 0)) {
+            log.warn(next > 0 ? "Délestage activé ({} % des requêtes basse priorité)" : "Délestage terminé",
+                    Math.round(next * 100));
+        }
+        probability = next;
+    }
+
+    private double pending() {
+        return registry.find("hikaricp.connections.pending").gauges().stream()
+                .mapToDouble(g -> g.value())
+                .sum();
+    }
+
+    /**
+     * @return true si cette requête basse priorité doit être refusée
+     */
+    public boolean shouldShed() {
+        double p = probability;
+        if (p <= 0 || ThreadLocalRandom.current().nextDouble() >= p) return false;
+
+        shed.increment();
+        return true;
+    }
+}
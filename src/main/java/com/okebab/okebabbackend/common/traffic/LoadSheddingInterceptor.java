@@ -0,0 +1,30 @@
+package com.okebab.okebabbackend.common.traffic;
+
+import com.okebab.okebabbackend.common.error.ServiceUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Refuse en 503 (Retry-After) les endpoints {@link LowPriority} pendant un délestage ({@link LoadShedder}),
+ * avant toute requête SQL.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoadSheddingInterceptor implements HandlerInterceptor {
+
+    private final LoadShedder loadShedder;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method
+                && method.hasMethodAnnotation(LowPriority.class)
+                && loadShedder.shouldShed()) {
+            throw new ServiceUnavailableException("Base saturée : listings et recherches momentanément suspendus, réessayez");
+        }
+        return true;
+    }
+}
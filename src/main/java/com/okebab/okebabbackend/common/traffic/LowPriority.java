@@ -0,0 +1,17 @@
+package com.okebab.okebabbackend.common.traffic;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Endpoint sacrifiable quand la base sature (listings, recherches) : refusé en 503 par
+ * {@link LoadSheddingInterceptor} pour laisser les connexions aux prises de commande.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LowPriority {
+}
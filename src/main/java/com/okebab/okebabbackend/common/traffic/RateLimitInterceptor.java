@@ -0,0 +1,108 @@
+package com.okebab.okebabbackend.common.traffic;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.okebab.okebabbackend.common.error.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Budget de requêtes par client sur l'API commandes (okebab.ratelimit.*) : un seau à jetons
+ * ({@link TokenBucket}) pour les lectures (GET / HEAD), un autre pour les écritures. Un kiosque qui
+ * boucle sur GET /api/orders épuise son budget de lecture, pas celui des autres, et ses prises de
+ * commande passent toujours. Au-delà : 429 + Retry-After.
+ * <p>
+ * Client = adresse IP (celle du client derrière un proxy si server.forward-headers-strategy est
+ * configuré). Plusieurs kiosques derrière la même adresse se répartissent par l'en-tête
+ * {@value #CLIENT_HEADER}, mais seulement pour les identifiants déclarés
+ * ({@code okebab.ratelimit.client-ids}) : un client qui change d'identifiant à chaque requête
+ * retombe sur le budget de son adresse au lieu d'obtenir un seau neuf.
+ * Les seaux des clients inactifs depuis 10 min sont oubliés.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String CLIENT_HEADER = "X-Client-Id";
+
+    private record Buckets(TokenBucket read, TokenBucket write) {}
+
+    private final boolean enabled;
+    private final Set<String> clientIds;
+    private final double readPerSecond;
+    private final int readBurst;
+    private final double writePerSecond;
+    private final int writeBurst;
+    private final Counter readRejected;
+    private final Counter writeRejected;
+
+    private final Cache<String, Buckets> clients = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .maximumSize(100_000)
+            .build();
+
+    public RateLimitInterceptor(
+            MeterRegistry registry,
+            @Value("${okebab.ratelimit.enabled:true}") boolean enabled,
+            @Value("${okebab.ratelimit.client-ids:}") List<String> clientIds,
+            @Value("${okebab.ratelimit.read-per-second:20}") double readPerSecond,
+            @Value("${okebab.ratelimit.read-burst:50}") int readBurst,
+            @Value("${okebab.ratelimit.write-per-second:5}") double writePerSecond,
+            @Value("${okebab.ratelimit.write-burst:20}") int writeBurst
+    ) {
+        this.enabled = enabled;
+        this.clientIds = clientIds.stream().map(String::trim).filter(id -> !id.isEmpty()).collect(Collectors.toUnmodifiableSet());
+        this.readPerSecond = readPerSecond;
+        this.readBurst = readBurst;
+        this.writePerSecond = writePerSecond;
+        this.writeBurst = writeBurst;
+        this.readRejected = rejected(registry, "read");
+        this.writeRejected = rejected(registry, "write");
+    }
+
+    private static Counter rejected(MeterRegistry registry, String budget) {
+        return Counter.builder("okebab.ratelimit.rejected")
+                .description("Requêtes refusées en 429, par budget")
+                .tag("budget", budget)
+                .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || CorsUtils.isPreFlightRequest(request)) return true;
+
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        Buckets buckets = clients.get(clientId(request), id -> new Buckets(
+                new TokenBucket(readPerSecond, readBurst),
+                new TokenBucket(writePerSecond, writeBurst)));
+
+        long waitNanos = (read ? buckets.read() : buckets.write()).tryAcquire(System.nanoTime());
+        if (waitNanos == 0) return true;
+
+        (read ? readRejected : writeRejected).increment();
+        long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        throw new TooManyRequestsException("Trop de requêtes " + (read ? "de lecture" : "d'écriture")
+                + ", réessayez dans " + retryAfter + " s", retryAfter);
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        String header = request.getHeader(CLIENT_HEADER);
+        if (header != null && clientIds.contains(header.trim())) {
+            return address + "|" + header.trim();
+        }
+        return address;
+    }
+}
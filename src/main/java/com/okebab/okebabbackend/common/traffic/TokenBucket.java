@@ -0,0 +1,33 @@
+package com.okebab.okebabbackend.common.traffic;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons sans verrou, sous forme GCRA : tout l'état tient dans un long (instant théorique
+ * où le seau sera de nouveau plein), mis à jour par compare-and-set. Débit {@code 1 / interval},
+ * rafale de {@code burst} requêtes.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(double perSecond, int burst) {
+        this.intervalNanos = (long) (1_000_000_000L / perSecond);
+        this.burstNanos = intervalNanos * burst;
+    }
+
+    /**
+     * @return 0 si un jeton a été pris, sinon le temps d'attente (ns) avant le prochain
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long allowedFrom = next - burstNanos;
+            if (allowedFrom > now) return allowedFrom - now;
+            if (fullAt.compareAndSet(current, next)) return 0;
+        }
+    }
+}
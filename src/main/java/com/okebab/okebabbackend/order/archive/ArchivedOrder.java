@@ -0,0 +1,66 @@
+package com.okebab.okebabbackend.order.archive;
+
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Commande archivée, en lecture seule. Écrite par OrderArchiveRepository (INSERT ... SELECT).
+ * <p>
+ * Les attributs portent les mêmes noms que ceux de {@code Order} : les requêtes de listing
+ * (OrderQueries) ne changent que le nom de l'entité.
+ */
+@Entity
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_orders_archive_created", columnList = "created_at"),
+        @Index(name = "idx_orders_archive_phone_e164_created", columnList = "customer_phone_e164, created_at, id"),
+        @Index(name = "idx_orders_archive_archived", columnList = "archived_at")
+})
+@Getter
+@NoArgsConstructor
+@ToString(exclude = "items")
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    private String customerName;
+
+    private String customerPhone;
+
+    @Column(length = 20)
+    private String customerPhoneKey;
+
+    @Column(name = "customer_phone_e164", length = 16)
+    private String customerPhoneE164;
+
+    private LocalDateTime pickupTime;
+
+    // Date du déplacement vers l'archive
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @OneToMany(mappedBy = "order")
+    private List<ArchivedOrderItem> items = new ArrayList<>();
+}
@@ -0,0 +1,52 @@
+package com.okebab.okebabbackend.order.archive;
+
+import com.okebab.okebabbackend.order.model.ProductType;
+import com.okebab.okebabbackend.order.model.SelectionsCodec;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Ligne d'une commande archivée (voir {@link ArchivedOrder}).
+ */
+@Entity
+@Table(name = "order_items_archive", indexes = @Index(name = "idx_order_items_archive_order", columnList = "order_id"))
+@Getter
+@NoArgsConstructor
+@ToString(exclude = "order")
+public class ArchivedOrderItem {
+
+    @Id
+    private Long id;
+
+    private Long productIdFront;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private ProductType productType;
+
+    @Column(nullable = false)
+    private String productName;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal basePrice;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalPrice;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(length = SelectionsCodec.MAX_BYTES)
+    private byte[] selections;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private ArchivedOrder order;
+}
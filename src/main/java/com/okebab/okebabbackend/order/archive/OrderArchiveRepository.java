@@ -0,0 +1,67 @@
+package com.okebab.okebabbackend.order.archive;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lecture des commandes archivées et déplacement orders -> orders_archive.
+ * Les requêtes de déplacement listent leurs colonnes : à tenir à jour avec celles de orders / order_items.
+ */
+@Repository
+public interface OrderArchiveRepository extends JpaRepository<ArchivedOrder, Long> {
+
+        @EntityGraph(attributePaths = "items")
+        Optional<ArchivedOrder> findWithItemsById(Long id);
+
+        @Query("select o.updatedAt from ArchivedOrder o where o.id = :id")
+        Optional<LocalDateTime> findUpdatedAt(@Param("id") Long id);
+
+        // Historique d'un client, même index que orders
+        @Query("select o.id from ArchivedOrder o where o.customerPhoneE164 = :phone order by o.createdAt desc, o.id desc")
+        List<Long> findRecentIdsByPhone(@Param("phone") String phoneE164, Limit limit);
+
+        // Rattrapage de l'index de recherche : commandes archivées (par n'importe quelle instance)
+        // depuis "since" ; sert l'index (archived_at)
+        @Query("select o.id from ArchivedOrder o where o.archivedAt >= :since")
+        List<Long> findIdsArchivedSince(@Param("since") LocalDateTime since);
+
+        // Prochain lot à archiver ; sert l'index (status, created_at, id)
+        @Query(value = "select id from orders where status in ('COMPLETED', 'CANCELLED') and created_at < :before"
+                + " order by id limit :limit", nativeQuery = true)
+        List<Long> findArchivableIds(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+        @Modifying
+        @Query(value = "insert into orders_archive (id, created_at, updated_at, customer_name, customer_phone,"
+                + " customer_phone_key, customer_phone_e164, pickup_time, status, total_amount, archived_at)"
+                + " select id, created_at, updated_at, customer_name, customer_phone,"
+                + " customer_phone_key, customer_phone_e164, pickup_time, status, total_amount, :archivedAt"
+                + " from orders where id in :ids",
+                nativeQuery = true)
+        int copyOrders(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+        @Modifying
+        @Query(value = "insert into order_items_archive (id, base_price, description, product_id_front, product_name,"
+                + " product_type, quantity, selections, total_price, order_id)"
+                + " select id, base_price, description, product_id_front, product_name,"
+                + " product_type, quantity, selections, total_price, order_id"
+                + " from order_items where order_id in :ids", nativeQuery = true)
+        int copyItems(@Param("ids") Collection<Long> ids);
+
+        @Modifying
+        @Query(value = "delete from order_items where order_id in :ids", nativeQuery = true)
+        int deleteItems(@Param("ids") Collection<Long> ids);
+
+        @Modifying
+        @Query(value = "delete from orders where id in :ids", nativeQuery = true)
+        int deleteOrders(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,250 @@
+package com.okebab.okebabbackend.order.archive;
+
+import com.okebab.okebabbackend.order.dto.response.OrderDetailsResponse;
+import com.okebab.okebabbackend.order.dto.response.OrderItemResponse;
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.model.SelectionsCodec;
+import com.okebab.okebabbackend.order.repository.OrderCursor;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import com.okebab.okebabbackend.order.search.OrderSearchIndex;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Archivage des commandes terminées et lectures qui doivent aussi voir l'archive.
+ * <p>
+ * Chaque nuit, les commandes COMPLETED / CANCELLED créées avant l'horizon
+ * ({@code okebab.archive.after-days} jours) passent de orders / order_items à orders_archive /
+ * order_items_archive, par lots de {@code okebab.archive.batch-size} (une transaction par lot :
+ * copie puis suppression), avec une pause entre deux lots pour laisser la place au service.
+ * Ces statuts sont terminaux : aucune écriture concurrente ne peut toucher une commande du lot.
+ * <p>
+ * Lectures : le détail d'une commande absente de orders est cherché dans l'archive ; un listing
+ * dont "from" est antérieur à l'horizon fusionne les deux tables. Sans "from", le listing reste
+ * limité aux commandes actives.
+ */
+@Slf4j
+@Service
+public class OrderArchiveService {
+
+    // Profondeur maximale (offset + size) d'une page qui fusionne orders et l'archive
+    public static final int MAX_MERGED_ROWS = 10_000;
+
+    private final OrderArchiveRepository archiveRepository;
+    private final OrderRepository orderRepository;
+    private final OrderSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int afterDays;
+    private final int batchSize;
+    private final long pauseMs;
+
+    public OrderArchiveService(
+            OrderArchiveRepository archiveRepository,
+            OrderRepository orderRepository,
+            OrderSearchIndex searchIndex,
+            PlatformTransactionManager transactionManager,
+            @Value("${okebab.archive.enabled:true}") boolean enabled,
+            @Value("${okebab.archive.after-days:90}") int afterDays,
+            @Value("${okebab.archive.batch-size:500}") int batchSize,
+            @Value("${okebab.archive.pause-ms:200}") long pauseMs
+    ) {
+        this.archiveRepository = archiveRepository;
+        this.orderRepository = orderRepository;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+    }
+
+    // =====================
+    // ARCHIVAGE
+    // =====================
+    @Scheduled(cron = "${okebab.archive.cron:0 0 5 * * *}")
+    public void archiveExpired() {
+        if (!enabled) return;
+
+        long start = System.currentTimeMillis();
+        int archived = archiveBefore(horizon());
+        log.info("Archivage : {} commandes déplacées en {} ms", archived, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Déplace vers l'archive les commandes terminées créées avant {@code before}.
+     *
+     * @return nombre de commandes archivées
+     */
+    public int archiveBefore(LocalDateTime before) {
+        int total = 0;
+        while (true) {
+            List<Long> moved = transactionTemplate.execute(status -> moveBatch(before));
+            // lot validé : ces commandes ne sont plus dans orders, l'index de recherche non plus
+            searchIndex.removeOrders(moved);
+            total += moved.size();
+            if (moved.size() < batchSize) return total;
+            pause();
+        }
+    }
+
+    private List<Long> moveBatch(LocalDateTime before) {
+        List<Long> ids = archiveRepository.findArchivableIds(before, batchSize);
+        if (ids.isEmpty()) return ids;
+
+        archiveRepository.copyOrders(ids, LocalDateTime.now());
+        archiveRepository.copyItems(ids);
+        archiveRepository.deleteItems(ids);
+        archiveRepository.deleteOrders(ids);
+        return ids;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Début du jour le plus récent dont les commandes terminées sont archivées
+    public LocalDateTime horizon() {
+        return LocalDate.now().minusDays(afterDays).atStartOfDay();
+    }
+
+    // =====================
+    // LECTURES
+    // =====================
+
+    /**
+     * Vrai si un listing démarrant à {@code from} peut contenir des commandes archivées.
+     */
+    public boolean reaches(LocalDateTime from) {
+        return from != null && from.isBefore(horizon());
+    }
+
+    public Optional<LocalDateTime> findUpdatedAt(Long id) {
+        return archiveRepository.findUpdatedAt(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OrderDetailsResponse> findDetails(Long id) {
+        return archiveRepository.findWithItemsById(id).map(o -> new OrderDetailsResponse(
+                o.getId(),
+                o.getStatus(),
+                o.getTotalAmount(),
+                o.getCreatedAt(),
+                o.getCustomerName(),
+                o.getCustomerPhone(),
+                o.getPickupTime(),
+                o.getItems().stream()
+                        .map(i -> new OrderItemResponse(
+                                i.getId(),
+                                i.getProductIdFront(),
+                                i.getProductType(),
+                                i.getProductName(),
+                                i.getBasePrice(),
+                                i.getTotalPrice(),
+                                i.getQuantity(),
+                                SelectionsCodec.toJson(i.getSelections()),
+                                i.getDescription()
+                        ))
+                        .toList(),
+                o.getUpdatedAt()
+        ));
+    }
+
+    /**
+     * Page sur commandes actives + archivées : les {@code offset + size} premières lignes de chaque
+     * table, fusionnées selon le tri demandé. Le coût croît avec la profondeur de page : au-delà de
+     * {@link #MAX_MERGED_ROWS} lignes, la page est refusée (400) et le client doit passer au
+     * curseur (paramètre "cursor"), dont le coût ne dépend pas de la profondeur.
+     *
+     * @param archived même filtre pour l'archive : la recherche "q" y reste en SQL (l'index ne
+     *                 connaît que orders)
+     */
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryResponse> findSummaries(
+            OrderFilter filter, OrderFilter archived, Pageable pageable
+    ) {
+        Sort sort = pageable.getSort();
+        Comparator<OrderSummaryResponse> order = comparator(sort);
+        long end = pageable.isPaged() ? pageable.getOffset() + pageable.getPageSize() : Long.MAX_VALUE;
+        if (end > MAX_MERGED_ROWS) {
+            throw new IllegalArgumentException("Page trop profonde pour un listing qui inclut l'archive (offset + size > "
+                    + MAX_MERGED_ROWS + ") : utiliser la pagination par curseur (paramètre cursor)");
+        }
+
+        List<OrderSummaryResponse> content = Stream.concat(
+                        orderRepository.findFirstSummaries(filter, sort, (int) end).stream(),
+                        orderRepository.findFirstArchivedSummaries(archived, sort, (int) end).stream())
+                .sorted(order)
+                .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                .limit(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE)
+                .toList();
+
+        long total = orderRepository.countSummaries(filter) + orderRepository.countArchivedSummaries(archived);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Curseur sur commandes actives + archivées, trié par (createdAt, id) décroissants.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderSummaryResponse> findSummariesAfter(
+            OrderFilter filter, OrderFilter archived, OrderCursor after, int limit
+    ) {
+        return Stream.concat(
+                        orderRepository.findSummariesAfter(filter, after, limit).stream(),
+                        orderRepository.findArchivedSummariesAfter(archived, after, limit).stream())
+                .sorted(Comparator.comparing(OrderSummaryResponse::createdAt)
+                        .thenComparing(OrderSummaryResponse::id)
+                        .reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    // Même ordre que le ORDER BY SQL : NULL en tête en ASC, statut trié par son nom
+    private static Comparator<OrderSummaryResponse> comparator(Sort sort) {
+        Comparator<OrderSummaryResponse> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<OrderSummaryResponse> key = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(OrderSummaryResponse::id);
+                case "createdAt" -> Comparator.comparing(OrderSummaryResponse::createdAt);
+                case "totalAmount" -> Comparator.comparing(OrderSummaryResponse::totalAmount);
+                case "status" -> Comparator.comparing(o -> o.status().name());
+                case "pickupTime" -> nullsFirst(OrderSummaryResponse::pickupTime, Comparator.naturalOrder());
+                case "customerName" -> nullsFirst(OrderSummaryResponse::customerName, String.CASE_INSENSITIVE_ORDER);
+                case "customerPhone" -> nullsFirst(OrderSummaryResponse::customerPhone, String.CASE_INSENSITIVE_ORDER);
+                default -> throw new IllegalArgumentException("Tri non supporté : " + order.getProperty());
+            };
+            comparator = comparator.thenComparing(order.isAscending() ? key : key.reversed());
+        }
+        return comparator;
+    }
+
+    private static <U> Comparator<OrderSummaryResponse> nullsFirst(
+            Function<OrderSummaryResponse, U> field, Comparator<? super U> comparator
+    ) {
+        return Comparator.comparing(field, Comparator.nullsFirst(comparator));
+    }
+}
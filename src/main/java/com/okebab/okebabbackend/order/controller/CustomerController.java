@@ -0,0 +1,25 @@
+package com.okebab.okebabbackend.order.controller;
+
+import com.okebab.okebabbackend.order.dto.response.CustomerOrdersResponse;
+import com.okebab.okebabbackend.order.service.CustomerOrderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/customers")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000") // Next.js en dev
+public class CustomerController {
+
+    private final CustomerOrderService customerOrderService;
+
+    // "Mes dernières commandes" : le numéro peut être saisi dans n'importe quel format
+    // ("06 12 34 56 78", "+33612345678"...), il est normalisé en E.164 avant la recherche
+    @GetMapping("/{phone}/orders")
+    public CustomerOrdersResponse recentOrders(
+            @PathVariable String phone,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return customerOrderService.recentOrders(phone, limit);
+    }
+}
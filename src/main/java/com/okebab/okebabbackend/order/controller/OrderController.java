@@ -1,23 +1,44 @@
 package com.okebab.okebabbackend.order.controller;
 
+import com.okebab.okebabbackend.common.traffic.LowPriority;
+import com.okebab.okebabbackend.order.dto.request.BulkStatusUpdateRequest;
 import com.okebab.okebabbackend.order.dto.request.OrderRequest;
 import com.okebab.okebabbackend.order.dto.request.OrderStatusUpdateRequest;
+import com.okebab.okebabbackend.order.dto.response.BulkStatusUpdateResponse;
+import com.okebab.okebabbackend.order.dto.response.OrderCursorPage;
 import com.okebab.okebabbackend.order.dto.response.OrderDetailsResponse;
 import com.okebab.okebabbackend.order.dto.response.OrderResponse;
 import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.idempotency.IdempotencyStore;
+import com.okebab.okebabbackend.order.live.ActiveOrderView;
+import com.okebab.okebabbackend.order.live.OrderBoardBroadcaster;
 import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.repository.ListingVersion;
+import com.okebab.okebabbackend.order.service.OrderBulkService;
+import com.okebab.okebabbackend.order.service.OrderIntakeService;
 import com.okebab.okebabbackend.order.service.OrderService;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -26,21 +47,104 @@ import java.time.LocalDateTime;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderBulkService orderBulkService;
+    private final OrderBoardBroadcaster orderBoardBroadcaster;
+    private final ActiveOrderView activeOrderView;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectProvider<OrderIntakeService> orderIntakeService;
 
     // =====================
     // CREATE ORDER
     // =====================
+    // Avec Idempotency-Key, un renvoi (timeout côté kiosque) renvoie la commande d'origine
+    // au lieu d'en créer une seconde ; Idempotent-Replayed: true le signale.
+    // En mode intake différé (okebab.intake.async.enabled) : 202, la commande est écrite en base peu après.
     @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody OrderRequest request) {
-        OrderResponse response = orderService.createOrder(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<OrderResponse> createOrder(
+            @Valid @RequestBody OrderRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        OrderIntakeService intake = orderIntakeService.getIfAvailable();
+        HttpStatus status = intake != null ? HttpStatus.ACCEPTED : HttpStatus.CREATED;
+        Supplier<OrderResponse> create = intake != null
+                ? () -> intake.submit(request)
+                : () -> orderService.createOrder(request);
+
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(status).body(create.get());
+        }
+
+        IdempotencyStore.Outcome<OrderResponse> outcome = idempotencyStore.execute(
+                idempotencyKey, request, OrderResponse.class, create);
+
+        return ResponseEntity.status(status)
+                .header("Idempotent-Replayed", Boolean.toString(outcome.replayed()))
+                .body(outcome.value());
+    }
+
+    // =====================
+    // BULK IMPORT
+    // =====================
+    // Corps en tableau JSON ou NDJSON, lu en streaming ; réponse NDJSON, une ligne par commande.
+    @PostMapping(
+            value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public void importOrders(InputStream body, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        orderBulkService.importOrders(body, response.getOutputStream());
     }
 
     // =====================
     // LIST ORDERS (MVP)
     // =====================
+    // ETag = version du filtre (nombre + dernière modification des commandes concernées), lue avant
+    // la page : If-None-Match identique -> 304 après une seule requête d'agrégat, sans page ni JSON.
+    @LowPriority
     @GetMapping
-    public Page<OrderSummaryResponse> listOrders(
+    public ResponseEntity<Page<OrderSummaryResponse>> listOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String customerName,
+            @RequestParam(required = false) String customerPhone,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime to,
+
+            @RequestParam(required = false) BigDecimal minTotal,
+            @RequestParam(required = false) BigDecimal maxTotal,
+
+            Pageable pageable,
+            WebRequest request
+    ) {
+        OrderFilter filter = OrderFilter.of(status, q, customerName, customerPhone, from, to, minTotal, maxTotal);
+        ListingVersion version = orderService.listingVersion(filter);
+        String etag = OrderEtags.listing(version, request);
+        if (OrderEtags.notModified(request, etag)) {
+            return notModified(etag);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(orderService.listOrders(filter, pageable, version));
+    }
+
+    // =====================
+    // LIST ORDERS (CURSOR)
+    // =====================
+    // Actif dès que le paramètre "cursor" est présent ("cursor=" vide pour la première page).
+    // Trié par (createdAt, id) décroissants, sans total : suivre nextCursor jusqu'à null.
+    @LowPriority
+    @GetMapping(params = "cursor")
+    public OrderCursorPage<OrderSummaryResponse> listOrdersByCursor(
             @RequestParam(required = false) OrderStatus status,
             @RequestParam(required = false) String q,
             @RequestParam(required = false) String customerName,
@@ -57,14 +161,59 @@ public class OrderController {
             @RequestParam(required = false) BigDecimal minTotal,
             @RequestParam(required = false) BigDecimal maxTotal,
 
-            Pageable pageable
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size
     ) {
-        return orderService.listOrders(status, q, customerName, customerPhone, from, to, minTotal, maxTotal, pageable);
+        return orderService.listOrdersByCursor(
+                OrderFilter.of(status, q, customerName, customerPhone, from, to, minTotal, maxTotal), cursor, size);
+    }
+
+    // =====================
+    // COMMANDES ACTIVES (CUISINE)
+    // =====================
+    // Commandes non terminées triées par échéance (retrait, sinon création), servies depuis la mémoire
+    @GetMapping("/active")
+    public List<OrderSummaryResponse> activeOrders(@RequestParam(required = false) OrderStatus status) {
+        return activeOrderView.list(status);
     }
 
+    // =====================
+    // LIVE BOARD (SSE)
+    // =====================
+    // Événements CREATED / STATUS_CHANGED / RESYNC. EventSource renvoie Last-Event-ID tout seul
+    // à la reconnexion ; lastEventId en paramètre sert au premier chargement d'une page.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(required = false) Long lastEventId
+    ) {
+        return orderBoardBroadcaster.subscribe(status, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    // ETag = updatedAt de la commande. Avec If-None-Match, la date seule est relue (une ligne, sans
+    // les articles) pour répondre 304 ; sinon l'ETag vient du détail renvoyé (éventuellement en cache).
     @GetMapping("/{id}")
-    public OrderDetailsResponse getOrder(@PathVariable Long id) {
-        return orderService.getOrderById(id);
+    public ResponseEntity<OrderDetailsResponse> getOrder(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String current = OrderEtags.details(id, orderService.getOrderVersion(id), request);
+            if (OrderEtags.notModified(request, current)) {
+                return notModified(current);
+            }
+        }
+
+        OrderDetailsResponse order = orderService.getOrderById(id);
+        return ResponseEntity.ok()
+                .eTag(OrderEtags.details(id, order.updatedAt(), request))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(order);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
     }
 
 
@@ -75,7 +224,19 @@ public class OrderController {
             @PathVariable Long id,
             @Valid @RequestBody OrderStatusUpdateRequest body
     ) {
-        OrderResponse updated = orderService.updateStatus(id, body.status());
+        OrderResponse updated = orderService.updateStatus(id, body.status(), body.expectedStatus());
         return ResponseEntity.ok(updated);
     }
+
+    /**
+     * PATCH /api/orders/status
+     * Fait avancer plusieurs commandes d'un coup (ex : "tout le lot est prêt").
+     * Les commandes déjà au-delà ou annulées sont renvoyées dans "conflicts".
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResponse> updateStatuses(
+            @Valid @RequestBody BulkStatusUpdateRequest body
+    ) {
+        return ResponseEntity.ok(orderService.updateStatuses(body.ids(), body.status()));
+    }
 }
@@ -0,0 +1,56 @@
+package com.okebab.okebabbackend.order.controller;
+
+import com.okebab.okebabbackend.common.json.LeanJson;
+import com.okebab.okebabbackend.order.repository.ListingVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * ETag forts des commandes : version des données (updatedAt, version de listing) + représentation
+ * (JSON, JSON allégé, Smile), deux représentations n'ayant pas les mêmes octets.
+ */
+final class OrderEtags {
+
+    private OrderEtags() {}
+
+    static String details(Long id, LocalDateTime updatedAt, WebRequest request) {
+        return "\"o" + id + "-" + micros(updatedAt) + "-" + variant(request) + "\"";
+    }
+
+    static String listing(ListingVersion version, WebRequest request) {
+        return "\"l" + version.count() + "-" + micros(version.lastUpdatedAt()) + "-" + variant(request) + "\"";
+    }
+
+    /**
+     * Vrai si l'un des ETag de If-None-Match (ou "*") correspond : la réponse serait identique.
+     */
+    static boolean notModified(WebRequest request, String etag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) return false;
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // comparaison faible (RFC 9110 §13.1.2) : W/"x" correspond à "x"
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    private static long micros(LocalDateTime time) {
+        if (time == null) return 0;
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), time);
+    }
+
+    private static char variant(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) return 'j';
+        if (accept.contains(LeanJson.SMILE.toString())) return 's';
+        if (accept.contains(LeanJson.MEDIA_TYPE.toString())) return 'l';
+        return 'j';
+    }
+}
@@ -0,0 +1,38 @@
+package com.okebab.okebabbackend.order.controller;
+
+import com.okebab.okebabbackend.order.dto.response.PriceCatalogResponse;
+import com.okebab.okebabbackend.order.pricing.PriceCatalog;
+import com.okebab.okebabbackend.order.pricing.PricingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/pricing")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000") // Next.js en dev
+public class PricingController {
+
+    private final PricingService pricingService;
+
+    // Version de la carte en service
+    @GetMapping("/catalog")
+    public PriceCatalogResponse catalog() {
+        return toResponse(pricingService.current());
+    }
+
+    // Relit le fichier de carte sans attendre la détection automatique
+    @PostMapping("/reload")
+    public PriceCatalogResponse reload() {
+        return toResponse(pricingService.reload());
+    }
+
+    private PriceCatalogResponse toResponse(PriceCatalog catalog) {
+        return new PriceCatalogResponse(
+                pricingService.isEnabled(),
+                catalog.version(),
+                catalog.loadedAt(),
+                catalog.productCount(),
+                catalog.supplementCount()
+        );
+    }
+}
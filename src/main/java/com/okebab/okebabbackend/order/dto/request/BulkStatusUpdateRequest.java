@@ -0,0 +1,13 @@
+package com.okebab.okebabbackend.order.dto.request;
+
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkStatusUpdateRequest(
+        @NotEmpty @Size(max = 500, message = "500 commandes maximum par appel") List<@NotNull Long> ids,
+        @NotNull OrderStatus status
+) {}
@@ -3,6 +3,11 @@ package com.okebab.okebabbackend.order.dto.request;
 import com.okebab.okebabbackend.order.model.OrderStatus;
 import jakarta.validation.constraints.NotNull;
 
+/**
+ * @param expectedStatus optionnel : statut affiché sur l'écran qui envoie la mise à jour ;
+ *                       409 si la commande a changé entre-temps
+ */
 public record OrderStatusUpdateRequest(
-        @NotNull OrderStatus status
+        @NotNull OrderStatus status,
+        OrderStatus expectedStatus
 ) {}
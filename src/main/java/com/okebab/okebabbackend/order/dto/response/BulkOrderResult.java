@@ -0,0 +1,36 @@
+package com.okebab.okebabbackend.order.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Résultat d'une commande dans un import en masse (une ligne NDJSON par commande).
+ *
+ * @param index position de la commande dans le flux reçu (à partir de 0)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkOrderResult(
+        int index,
+        Status status,
+        Long orderId,
+        List<String> errors
+) {
+    public enum Status {
+        CREATED,   // enregistrée
+        REJECTED,  // invalide, rien n'a été écrit
+        FAILED     // valide mais refusée par la base, ses voisines de lot sont enregistrées
+    }
+
+    public static BulkOrderResult created(int index, Long orderId) {
+        return new BulkOrderResult(index, Status.CREATED, orderId, null);
+    }
+
+    public static BulkOrderResult rejected(int index, List<String> errors) {
+        return new BulkOrderResult(index, Status.REJECTED, null, errors);
+    }
+
+    public static BulkOrderResult failed(int index, String error) {
+        return new BulkOrderResult(index, Status.FAILED, null, List.of(error));
+    }
+}
@@ -0,0 +1,17 @@
+package com.okebab.okebabbackend.order.dto.response;
+
+import com.okebab.okebabbackend.order.model.OrderStatus;
+
+import java.util.List;
+
+/**
+ * @param updated   commandes désormais dans le statut demandé (y compris celles qui l'étaient déjà)
+ * @param conflicts transition interdite depuis le statut courant, ou commande modifiée entre-temps
+ * @param notFound  ids inconnus
+ */
+public record BulkStatusUpdateResponse(
+        OrderStatus status,
+        List<Long> updated,
+        List<Long> conflicts,
+        List<Long> notFound
+) {}
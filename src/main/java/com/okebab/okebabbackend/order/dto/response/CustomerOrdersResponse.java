@@ -0,0 +1,13 @@
+package com.okebab.okebabbackend.order.dto.response;
+
+import java.util.List;
+
+/**
+ * Dernières commandes d'un client, de la plus récente à la plus ancienne.
+ *
+ * @param phone numéro normalisé (E.164) sous lequel les commandes ont été cherchées
+ */
+public record CustomerOrdersResponse(
+        String phone,
+        List<OrderSummaryResponse> orders
+) {}
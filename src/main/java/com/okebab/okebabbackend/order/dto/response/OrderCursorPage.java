@@ -0,0 +1,12 @@
+package com.okebab.okebabbackend.order.dto.response;
+
+import java.util.List;
+
+/**
+ * Page du listing par curseur : pas de total, nextCursor est null sur la dernière page.
+ */
+public record OrderCursorPage<T>(
+        List<T> content,
+        int size,
+        String nextCursor
+) {}
@@ -6,6 +6,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * @param updatedAt dernière modification : l'ETag de GET /api/orders/{id} en dépend
+ */
 public record OrderDetailsResponse(
         Long id,
         OrderStatus status,
@@ -14,5 +17,6 @@ public record OrderDetailsResponse(
         String customerName,
         String customerPhone,
         LocalDateTime pickupTime,
-        List<OrderItemResponse> items
+        List<OrderItemResponse> items,
+        LocalDateTime updatedAt
 ) {}
@@ -3,12 +3,14 @@ package com.okebab.okebabbackend.order.dto.response;
 import com.okebab.okebabbackend.order.model.OrderStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @AllArgsConstructor
+@NoArgsConstructor // relecture JSON (rejeu Idempotency-Key)
 public class OrderResponse {
 
     private Long id;
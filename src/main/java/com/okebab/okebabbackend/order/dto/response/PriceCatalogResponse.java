@@ -0,0 +1,17 @@
+package com.okebab.okebabbackend.order.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param enabled     prix calculés côté serveur (okebab.pricing.enabled)
+ * @param version     numéro de chargement de la carte, incrémenté à chaque rechargement
+ * @param products    produits à la carte
+ * @param supplements options payantes
+ */
+public record PriceCatalogResponse(
+        boolean enabled,
+        long version,
+        LocalDateTime loadedAt,
+        int products,
+        int supplements
+) {}
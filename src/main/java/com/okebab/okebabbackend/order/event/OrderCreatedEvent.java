@@ -0,0 +1,15 @@
+package com.okebab.okebabbackend.order.event;
+
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+
+import java.util.List;
+
+/**
+ * Publié (ApplicationEventPublisher) après l'enregistrement d'une nouvelle commande.
+ *
+ * @param lines une entrée par article de la commande
+ */
+public record OrderCreatedEvent(
+        OrderSummaryResponse order,
+        List<OrderSalesLine> lines
+) {}
@@ -0,0 +1,15 @@
+package com.okebab.okebabbackend.order.event;
+
+import com.okebab.okebabbackend.order.model.ProductType;
+
+import java.math.BigDecimal;
+
+/**
+ * Ligne de vente d'une commande (type de produit, quantité, montant de la ligne),
+ * transportée par les événements de commande pour les agrégats de ventes.
+ */
+public record OrderSalesLine(
+        ProductType productType,
+        int quantity,
+        BigDecimal amount
+) {}
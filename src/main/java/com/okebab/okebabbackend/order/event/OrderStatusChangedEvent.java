@@ -0,0 +1,19 @@
+package com.okebab.okebabbackend.order.event;
+
+import com.okebab.okebabbackend.order.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Publié (ApplicationEventPublisher) après un changement de statut enregistré.
+ * createdAt et totalAmount ne changent pas : ils sont joints pour que les abonnés
+ * n'aient pas à relire la commande.
+ */
+public record OrderStatusChangedEvent(
+        Long orderId,
+        OrderStatus previousStatus,
+        OrderStatus status,
+        LocalDateTime createdAt,
+        BigDecimal totalAmount
+) {}
@@ -0,0 +1,37 @@
+package com.okebab.okebabbackend.order.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clé d'idempotence persistée. Écrite par requêtes natives (IdempotencyRecordRepository) :
+ * l'INSERT sur la clé primaire sert de verrou entre instances.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+@Getter
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idem_key", length = 100)
+    private String key;
+
+    // SHA-256 (hex) du corps de la requête d'origine
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    // Réponse d'origine en JSON, null tant que la création est en cours
+    @Column(columnDefinition = "TEXT")
+    private String responseJson;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
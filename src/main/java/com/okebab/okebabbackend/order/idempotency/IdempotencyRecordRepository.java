@@ -0,0 +1,38 @@
+package com.okebab.okebabbackend.order.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+        // Réserve la clé ; échoue (DataIntegrityViolationException) si elle existe déjà
+        @Transactional
+        @Modifying
+        @Query(value = "insert into idempotency_keys (idem_key, request_hash, created_at)"
+                + " values (:key, :requestHash, :createdAt)", nativeQuery = true)
+        void reserve(@Param("key") String key,
+                     @Param("requestHash") String requestHash,
+                     @Param("createdAt") LocalDateTime createdAt);
+
+        @Transactional
+        @Modifying
+        @Query(value = "update idempotency_keys set response_json = :responseJson where idem_key = :key", nativeQuery = true)
+        void complete(@Param("key") String key, @Param("responseJson") String responseJson);
+
+        @Transactional
+        @Modifying
+        @Query(value = "delete from idempotency_keys where idem_key = :key and response_json is null", nativeQuery = true)
+        void release(@Param("key") String key);
+
+        @Transactional
+        @Modifying
+        @Query(value = "delete from idempotency_keys where created_at < :before", nativeQuery = true)
+        int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,227 @@
+package com.okebab.okebabbackend.order.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okebab.okebabbackend.common.error.ConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Magasin des clés Idempotency-Key (POST /api/orders).
+ * <p>
+ * Une requête rejouée avec la même clé et le même corps reçoit la réponse d'origine sans
+ * nouvelle écriture ; les doublons concurrents attendent le résultat de la requête en cours.
+ * Même clé avec un autre corps : 400.
+ * <p>
+ * En mémoire : une {@link ConcurrentHashMap} (verrouillage par segment, putIfAbsent atomique)
+ * de futures, expirées après {@code okebab.idempotency.ttl}. Avec {@code okebab.idempotency.persistent},
+ * la clé est aussi réservée dans la table idempotency_keys avant d'exécuter la création :
+ * les autres instances et les redémarrages voient la même réponse.
+ * <p>
+ * Une création qui échoue libère la clé : le client peut réessayer avec la même. Une réservation
+ * orpheline en table (instance arrêtée pendant la création) bloque la clé (409) jusqu'à sa purge.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private static final long POLL_MS = 50;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean persistent;
+    private final Duration ttl;
+    private final long waitTimeoutMs;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(
+            IdempotencyRecordRepository recordRepository,
+            ObjectMapper objectMapper,
+            @Value("${okebab.idempotency.persistent:false}") boolean persistent,
+            @Value("${okebab.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${okebab.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs
+    ) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.persistent = persistent;
+        this.ttl = ttl;
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    /**
+     * @param replayed true si la valeur vient d'une exécution précédente
+     */
+    public record Outcome<T>(T value, boolean replayed) {}
+
+    private record Entry(String requestHash, CompletableFuture<Object> result, long expiresAtMs) {
+        boolean expired(long now) {
+            return now >= expiresAtMs;
+        }
+    }
+
+    /**
+     * Exécute {@code action} une seule fois par clé, ou renvoie le résultat de la première exécution.
+     */
+    public <T> Outcome<T> execute(String key, Object request, Class<T> type, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key doit faire entre 1 et " + MAX_KEY_LENGTH + " caractères");
+        }
+
+        String requestHash = fingerprint(request);
+        Entry mine = new Entry(requestHash, new CompletableFuture<>(), System.currentTimeMillis() + ttl.toMillis());
+
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, mine);
+            if (existing == null) break;
+
+            if (existing.expired(System.currentTimeMillis())) {
+                entries.remove(key, existing);
+                continue;
+            }
+
+            checkSameRequest(existing.requestHash(), requestHash);
+            return new Outcome<>(type.cast(await(existing.result())), true);
+        }
+
+        try {
+            Outcome<T> outcome = persistent
+                    ? executePersistent(key, requestHash, type, action)
+                    : new Outcome<>(action.get(), false);
+            mine.result().complete(outcome.value());
+            return outcome;
+        } catch (RuntimeException e) {
+            // échec : les doublons en attente reçoivent la même erreur, la clé est libérée
+            entries.remove(key, mine);
+            mine.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private <T> Outcome<T> executePersistent(String key, String requestHash, Class<T> type, Supplier<T> action) {
+        try {
+            recordRepository.reserve(key, requestHash, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // déjà réservée : par une autre instance, ou avant un redémarrage
+            return new Outcome<>(awaitStored(key, requestHash, type), true);
+        }
+
+        T value;
+        try {
+            value = action.get();
+        } catch (RuntimeException e) {
+            recordRepository.release(key);
+            throw e;
+        }
+
+        try {
+            recordRepository.complete(key, objectMapper.writeValueAsString(value));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // la commande existe : on répond quand même, seul le rejeu inter-instances est perdu
+            log.warn("Réponse non enregistrée pour la clé d'idempotence {}", key, e);
+        }
+        return new Outcome<>(value, false);
+    }
+
+    private <T> T awaitStored(String key, String requestHash, Class<T> type) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+
+        while (true) {
+            Optional<IdempotencyRecord> stored = recordRepository.findById(key);
+            if (stored.isEmpty()) {
+                // la requête en cours a échoué et libéré la clé
+                throw new ConflictException("La requête d'origine a échoué, réessayez");
+            }
+
+            IdempotencyRecord record = stored.get();
+            checkSameRequest(record.getRequestHash(), requestHash);
+            if (record.getResponseJson() != null) {
+                try {
+                    return objectMapper.readValue(record.getResponseJson(), type);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Réponse d'idempotence illisible pour la clé " + key, e);
+                }
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new ConflictException("Une requête avec la même Idempotency-Key est en cours");
+            }
+            sleep(POLL_MS);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ConflictException("Une requête avec la même Idempotency-Key est en cours");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void checkSameRequest(String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IllegalArgumentException("Idempotency-Key déjà utilisée pour une autre requête");
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Empreinte de requête impossible", e);
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Supprime les clés expirées (mémoire et table).
+     */
+    @Scheduled(fixedDelayString = "${okebab.idempotency.purge-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(e -> e.expired(now) && e.result().isDone());
+
+        if (persistent) {
+            int deleted = recordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+            if (deleted > 0) log.debug("{} clés d'idempotence expirées supprimées", deleted);
+        }
+    }
+
+    // Simule un redémarrage (tests) : seules les clés persistées restent
+    void clearLocal() {
+        entries.clear();
+    }
+}
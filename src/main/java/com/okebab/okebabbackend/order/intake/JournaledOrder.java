@@ -0,0 +1,106 @@
+package com.okebab.okebabbackend.order.intake;
+
+import com.okebab.okebabbackend.order.model.Order;
+import com.okebab.okebabbackend.order.model.OrderItem;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.model.ProductType;
+import com.okebab.okebabbackend.order.model.SelectionsCodec;
+import com.okebab.okebabbackend.order.search.PhoneKeys;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Commande complète (ids compris) telle qu'écrite dans le journal d'intake, une ligne JSON par commande.
+ */
+public record JournaledOrder(
+        Long id,
+        LocalDateTime createdAt,
+        // absent des journaux écrits avant V8 : createdAt
+        LocalDateTime updatedAt,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        String customerName,
+        String customerPhone,
+        String customerPhoneKey,
+        // absent des journaux écrits avant V9 : recalculé depuis customerPhone
+        String customerPhoneE164,
+        LocalDateTime pickupTime,
+        List<Item> items
+) {
+    public record Item(
+            Long id,
+            Long productIdFront,
+            ProductType productType,
+            String productName,
+            BigDecimal basePrice,
+            BigDecimal totalPrice,
+            int quantity,
+            byte[] selections,
+            String description,
+            // journaux écrits avant la compression des sélections (V7), relus au démarrage qui suit la mise à jour
+            String selectionsJson
+    ) {}
+
+    public static JournaledOrder from(Order o) {
+        return new JournaledOrder(
+                o.getId(),
+                o.getCreatedAt(),
+                o.getUpdatedAt(),
+                o.getStatus(),
+                o.getTotalAmount(),
+                o.getCustomerName(),
+                o.getCustomerPhone(),
+                o.getCustomerPhoneKey(),
+                o.getCustomerPhoneE164(),
+                o.getPickupTime(),
+                o.getItems().stream()
+                        .map(i -> new Item(
+                                i.getId(),
+                                i.getProductIdFront(),
+                                i.getProductType(),
+                                i.getProductName(),
+                                i.getBasePrice(),
+                                i.getTotalPrice(),
+                                i.getQuantity(),
+                                i.getSelections(),
+                                i.getDescription(),
+                                null
+                        ))
+                        .toList()
+        );
+    }
+
+    /**
+     * Entité non persistée, ids renseignés.
+     */
+    public Order toOrder() {
+        Order order = new Order();
+        order.setId(id);
+        order.setCreatedAt(createdAt);
+        order.setUpdatedAt(updatedAt != null ? updatedAt : createdAt);
+        order.setStatus(status);
+        order.setTotalAmount(totalAmount);
+        order.setCustomerName(customerName);
+        order.setCustomerPhone(customerPhone);
+        order.setCustomerPhoneKey(customerPhoneKey);
+        order.setCustomerPhoneE164(customerPhoneE164 != null ? customerPhoneE164 : PhoneKeys.e164(customerPhone));
+        order.setPickupTime(pickupTime);
+
+        for (Item i : items) {
+            OrderItem item = new OrderItem();
+            item.setId(i.id());
+            item.setProductIdFront(i.productIdFront());
+            item.setProductType(i.productType());
+            item.setProductName(i.productName());
+            item.setBasePrice(i.basePrice());
+            item.setTotalPrice(i.totalPrice());
+            item.setQuantity(i.quantity());
+            item.setSelections(i.selections() != null ? i.selections() : SelectionsCodec.fromJson(i.selectionsJson()));
+            item.setDescription(i.description());
+            order.addItem(item);
+        }
+        return order;
+    }
+}
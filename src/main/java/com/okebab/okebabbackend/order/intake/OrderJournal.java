@@ -0,0 +1,196 @@
+package com.okebab.okebabbackend.order.intake;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Journal local en ajout seul des commandes acceptées mais pas encore écrites en base.
+ * <p>
+ * Segments {@code intake-<n>.log}, une commande JSON par ligne, {@code force()} après chaque ajout :
+ * une commande acquittée au client (202) survit à un arrêt brutal. Chaque commande écrite en base
+ * est acquittée ({@link #acknowledge}) ; un segment clos dont tout est acquitté est supprimé.
+ * <p>
+ * À l'ouverture, les segments trouvés sont relus ({@link #recovered()}) et le journal repart sur
+ * un segment neuf. Une dernière ligne tronquée (arrêt pendant l'écriture) est ignorée : son 202
+ * n'était pas encore parti.
+ */
+@Slf4j
+public class OrderJournal implements Closeable {
+
+    private static final Pattern SEGMENT = Pattern.compile("intake-(\\d+)\\.log");
+    private static final String DEAD_LETTER = "dead-letter.ndjson";
+
+    public record Entry(long segment, JournaledOrder order) {}
+
+    private final Path dir;
+    private final ObjectMapper objectMapper;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    // segment -> commandes pas encore acquittées
+    private final Map<Long, Integer> pending = new HashMap<>();
+    private final List<Entry> recovered = new ArrayList<>();
+
+    private FileChannel active;
+    private long activeSegment;
+    private int activeCount;
+
+    public OrderJournal(Path dir, ObjectMapper objectMapper, int segmentSize, boolean fsync) throws IOException {
+        this.dir = dir;
+        this.objectMapper = objectMapper;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+
+        Files.createDirectories(dir);
+
+        long last = 0;
+        for (long segment : existingSegments()) {
+            recover(segment);
+            last = segment;
+        }
+        open(last + 1);
+    }
+
+    /**
+     * Commandes non acquittées trouvées à l'ouverture, dans l'ordre d'ajout.
+     */
+    public List<Entry> recovered() {
+        return List.copyOf(recovered);
+    }
+
+    /**
+     * Ajoute la commande et attend qu'elle soit sur disque.
+     *
+     * @return le segment, à repasser à {@link #acknowledge}
+     */
+    public synchronized long append(JournaledOrder order) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(order);
+        ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+
+        while (line.hasRemaining()) {
+            active.write(line);
+        }
+        if (fsync) active.force(false);
+
+        long segment = activeSegment;
+        pending.merge(segment, 1, Integer::sum);
+        if (++activeCount >= segmentSize) {
+            roll();
+        }
+        return segment;
+    }
+
+    /**
+     * Une commande du segment est en base.
+     */
+    public synchronized void acknowledge(long segment) {
+        Integer left = pending.merge(segment, -1, Integer::sum);
+        if (left != null && left <= 0 && segment != activeSegment) {
+            pending.remove(segment);
+            delete(segment);
+        }
+    }
+
+    /**
+     * Commande refusée par la base (hors panne) : mise de côté pour traitement manuel.
+     */
+    public synchronized void deadLetter(JournaledOrder order) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(order);
+        byte[] line = Arrays.copyOf(json, json.length + 1);
+        line[json.length] = '\n';
+        Files.write(dir.resolve(DEAD_LETTER), line,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+    }
+
+    public synchronized int pendingCount() {
+        return pending.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        active.close();
+        if (pending.getOrDefault(activeSegment, 0) <= 0) {
+            delete(activeSegment);
+        }
+    }
+
+    private void roll() throws IOException {
+        active.close();
+        if (pending.getOrDefault(activeSegment, 0) <= 0) {
+            pending.remove(activeSegment);
+            delete(activeSegment);
+        }
+        open(activeSegment + 1);
+    }
+
+    private void open(long segment) throws IOException {
+        active = FileChannel.open(path(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        activeSegment = segment;
+        activeCount = 0;
+    }
+
+    private void recover(long segment) throws IOException {
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path(segment), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try {
+                    recovered.add(new Entry(segment, objectMapper.readValue(line, JournaledOrder.class)));
+                    count++;
+                } catch (JsonProcessingException e) {
+                    log.warn("Journal d'intake {} : ligne illisible ignorée (écriture interrompue ?)", path(segment));
+                }
+            }
+        }
+
+        if (count == 0) {
+            delete(segment);
+        } else {
+            pending.put(segment, count);
+            log.info("Journal d'intake {} : {} commandes à rejouer", path(segment), count);
+        }
+    }
+
+    private List<Long> existingSegments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .map(p -> SEGMENT.matcher(p.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(m -> Long.parseLong(m.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path path(long segment) {
+        return dir.resolve("intake-" + segment + ".log");
+    }
+
+    private void delete(long segment) {
+        try {
+            Files.deleteIfExists(path(segment));
+        } catch (IOException e) {
+            log.warn("Journal d'intake : suppression de {} impossible", path(segment), e);
+        }
+    }
+}
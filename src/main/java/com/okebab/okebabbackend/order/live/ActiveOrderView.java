@@ -0,0 +1,197 @@
+package com.okebab.okebabbackend.order.live;
+
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.event.OrderCreatedEvent;
+import com.okebab.okebabbackend.order.event.OrderStatusChangedEvent;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Commandes non terminées (PENDING, IN_PREPARATION, READY) gardées en mémoire pour les écrans
+ * cuisine : GET /api/orders/active répond sans requête SQL.
+ * <p>
+ * Chargée au démarrage, puis tenue à jour par les événements de création et de changement de
+ * statut ; une commande qui passe COMPLETED / CANCELLED en sort. Par statut, les commandes sont
+ * triées par échéance (heure de retrait, sinon heure de création) puis id.
+ * <p>
+ * Les événements ne voient que les écritures de cette instance : une réconciliation périodique
+ * ({@code okebab.active.reconcile-ms}) relit les commandes actives en base et corrige l'écart.
+ * Une commande modifiée par un événement pendant cette relecture garde la version de l'événement.
+ */
+@Slf4j
+@Component
+public class ActiveOrderView {
+
+    private static final Set<OrderStatus> ACTIVE = EnumSet.copyOf(
+            Arrays.stream(OrderStatus.values()).filter(s -> !s.isTerminal()).toList());
+
+    private final OrderRepository orderRepository;
+
+    // version = numéro du dernier événement appliqué à la commande
+    private record Entry(OrderSummaryResponse order, long version) {}
+
+    private record DueKey(LocalDateTime due, long id) implements Comparable<DueKey> {
+        static DueKey of(OrderSummaryResponse o) {
+            return new DueKey(o.pickupTime() != null ? o.pickupTime() : o.createdAt(), o.id());
+        }
+
+        @Override
+        public int compareTo(DueKey other) {
+            int byDue = due.compareTo(other.due);
+            return byDue != 0 ? byDue : Long.compare(id, other.id);
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Entry> orders = new ConcurrentHashMap<>();
+    private final Map<OrderStatus, ConcurrentSkipListMap<DueKey, OrderSummaryResponse>> byStatus = new EnumMap<>(OrderStatus.class);
+    // commandes sorties de la vue par un événement depuis la dernière réconciliation : id -> version
+    private final ConcurrentHashMap<Long, Long> removed = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile boolean ready;
+
+    public ActiveOrderView(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+        ACTIVE.forEach(s -> byStatus.put(s, new ConcurrentSkipListMap<>()));
+    }
+
+    // =====================
+    // LECTURE
+    // =====================
+
+    /**
+     * @param status null pour tous les statuts actifs (triés par échéance)
+     */
+    public List<OrderSummaryResponse> list(OrderStatus status) {
+        if (!ready) {
+            reconcile();
+        }
+        if (status != null) {
+            var index = byStatus.get(status);
+            return index == null ? List.of() : List.copyOf(index.values());
+        }
+
+        List<OrderSummaryResponse> all = new ArrayList<>(orders.size());
+        byStatus.values().forEach(index -> all.addAll(index.values()));
+        all.sort((a, b) -> DueKey.of(a).compareTo(DueKey.of(b)));
+        return all;
+    }
+
+    public int size() {
+        return orders.size();
+    }
+
+    // =====================
+    // MISES À JOUR
+    // =====================
+    @EventListener
+    public void onCreated(OrderCreatedEvent e) {
+        OrderSummaryResponse order = e.order();
+        if (order.status().isTerminal()) return;
+
+        long version = versions.incrementAndGet();
+        orders.compute(order.id(), (id, current) -> replace(current, order, version));
+    }
+
+    @EventListener
+    public void onStatusChanged(OrderStatusChangedEvent e) {
+        long version = versions.incrementAndGet();
+        orders.compute(e.orderId(), (id, current) -> {
+            if (e.status().isTerminal()) {
+                removed.put(id, version);
+                return replace(current, null, version);
+            }
+            // commande inconnue (créée par une autre instance) : la réconciliation l'ajoutera
+            if (current == null) return null;
+            return replace(current, withStatus(current.order(), e.status()), version);
+        });
+    }
+
+    /**
+     * Relit les commandes actives en base et corrige la vue.
+     *
+     * @return nombre de commandes ajoutées, retirées ou dont le statut a été corrigé
+     */
+    @Scheduled(initialDelayString = "${okebab.active.reconcile-ms:30000}", fixedDelayString = "${okebab.active.reconcile-ms:30000}")
+    public synchronized int reconcile() {
+        long since = versions.get();
+        List<OrderSummaryResponse> active = orderRepository
+                .findSummaries(OrderFilter.statusIn(ACTIVE), Pageable.unpaged())
+                .getContent();
+
+        Map<Long, OrderSummaryResponse> inDb = new HashMap<>(active.size() * 2);
+        active.forEach(o -> inDb.put(o.id(), o));
+
+        int drift = 0;
+        for (OrderSummaryResponse order : active) {
+            Entry before = orders.get(order.id());
+            Entry after = orders.compute(order.id(), (id, current) -> {
+                // un événement plus récent que la lecture fait foi
+                if (current != null && current.version() > since) return current;
+                if (current == null && removed.getOrDefault(id, 0L) > since) return null;
+                return replace(current, order, current != null ? current.version() : 0);
+            });
+            if (after != null && (before == null || before.order().status() != order.status())) drift++;
+        }
+
+        for (Long id : orders.keySet()) {
+            if (inDb.containsKey(id)) continue;
+            Entry[] dropped = new Entry[1];
+            orders.computeIfPresent(id, (k, current) -> {
+                if (current.version() > since) return current;
+                dropped[0] = current;
+                return replace(current, null, current.version());
+            });
+            if (dropped[0] != null) drift++;
+        }
+        removed.values().removeIf(version -> version <= since);
+
+        if (ready && drift > 0) {
+            log.warn("Vue des commandes actives : {} écarts corrigés par la réconciliation", drift);
+        }
+        ready = true;
+        return drift;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+        log.info("Vue des commandes actives chargée : {} commandes", orders.size());
+    }
+
+    // Met à jour les index par statut ; appelée dans compute(), donc une seule fois à la fois par commande
+    private Entry replace(Entry current, OrderSummaryResponse order, long version) {
+        if (current != null) {
+            byStatus.get(current.order().status()).remove(DueKey.of(current.order()));
+        }
+        if (order == null) return null;
+
+        byStatus.get(order.status()).put(DueKey.of(order), order);
+        return new Entry(order, version);
+    }
+
+    private static OrderSummaryResponse withStatus(OrderSummaryResponse o, OrderStatus status) {
+        return new OrderSummaryResponse(o.id(), status, o.totalAmount(), o.createdAt(), o.pickupTime(),
+                o.customerName(), o.customerPhone(), o.itemsCount());
+    }
+}
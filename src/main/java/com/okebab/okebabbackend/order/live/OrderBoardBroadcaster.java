@@ -0,0 +1,133 @@
+package com.okebab.okebabbackend.order.live;
+
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.event.OrderCreatedEvent;
+import com.okebab.okebabbackend.order.event.OrderStatusChangedEvent;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Diffusion des créations et changements de statut de commandes vers les écrans cuisine (SSE).
+ * <p>
+ * Chaque événement reçoit un numéro de séquence et est gardé dans un historique borné
+ * ({@code okebab.live.replay-size}) : un client qui se reconnecte avec Last-Event-ID reçoit
+ * ce qu'il a manqué, ou un RESYNC si c'est trop ancien.
+ */
+@Component
+public class OrderBoardBroadcaster {
+
+    private final int bufferSize;
+    private final int replaySize;
+    private final long timeoutMs;
+
+    private final List<OrderBoardSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ArrayDeque<OrderBoardEvent> history = new ArrayDeque<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private long sequence;
+
+    public OrderBoardBroadcaster(
+            @Value("${okebab.live.buffer-size:64}") int bufferSize,
+            @Value("${okebab.live.replay-size:1000}") int replaySize,
+            @Value("${okebab.live.timeout-ms:1800000}") long timeoutMs
+    ) {
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public SseEmitter subscribe(OrderStatus status, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        OrderBoardSubscriber subscriber = new OrderBoardSubscriber(emitter, status, bufferSize);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // rattrapage et inscription sous le même verrou que publish : ni trou ni doublon
+        synchronized (this) {
+            subscriber.startAt(sequence);
+            if (lastEventId != null && lastEventId < sequence) {
+                OrderBoardEvent oldest = history.peekFirst();
+                if (oldest == null || oldest.sequence() > lastEventId + 1) {
+                    subscriber.markOverflowed();
+                } else {
+                    for (OrderBoardEvent event : history) {
+                        if (event.sequence() > lastEventId) subscriber.offer(event);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+
+        subscriber.requestHeartbeat(); // ouvre le flux tout de suite côté client
+        senders.execute(subscriber::drain);
+        return emitter;
+    }
+
+    @EventListener
+    public void onCreated(OrderCreatedEvent e) {
+        publish(OrderBoardEvent.Type.CREATED, e.order().id(), e.order().status(), null, e.order());
+    }
+
+    @EventListener
+    public void onStatusChanged(OrderStatusChangedEvent e) {
+        publish(OrderBoardEvent.Type.STATUS_CHANGED, e.orderId(), e.status(), e.previousStatus(), null);
+    }
+
+    private void publish(OrderBoardEvent.Type type, Long orderId, OrderStatus status,
+                         OrderStatus previousStatus, OrderSummaryResponse order) {
+        synchronized (this) {
+            OrderBoardEvent event = new OrderBoardEvent(++sequence, type, orderId, status, previousStatus, order);
+
+            history.addLast(event);
+            if (history.size() > replaySize) history.removeFirst();
+
+            for (OrderBoardSubscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+
+        // envois réseau hors verrou, sur des threads virtuels
+        for (OrderBoardSubscriber subscriber : subscribers) {
+            if (subscriber.hasPending()) senders.execute(subscriber::drain);
+        }
+    }
+
+    /**
+     * Détecte les clients partis (l'envoi échoue) et maintient les proxys ouverts.
+     */
+    @Scheduled(fixedDelayString = "${okebab.live.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (OrderBoardSubscriber subscriber : subscribers) {
+            subscriber.requestHeartbeat();
+            senders.execute(subscriber::drain);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void remove(OrderBoardSubscriber subscriber) {
+        subscriber.close();
+        subscribers.remove(subscriber);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(s -> s.emitter().complete());
+        senders.shutdownNow();
+    }
+}
@@ -0,0 +1,58 @@
+package com.okebab.okebabbackend.order.live;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+
+/**
+ * Événement poussé aux écrans cuisine (SSE).
+ *
+ * @param sequence identifiant croissant, renvoyé par le client dans Last-Event-ID pour reprendre
+ * @param order    résumé complet pour CREATED, null pour STATUS_CHANGED
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderBoardEvent(
+        long sequence,
+        Type type,
+        Long orderId,
+        OrderStatus status,
+        OrderStatus previousStatus,
+        OrderSummaryResponse order
+) {
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        // des événements ont été perdus (buffer plein ou reprise trop ancienne) : recharger la liste
+        RESYNC
+    }
+
+    boolean concerns(OrderStatus filter) {
+        return filter == null || filter == status || filter == previousStatus;
+    }
+
+    /**
+     * Fusion d'un événement en attente avec un plus récent de la même commande, pour un écran
+     * filtré sur {@code filter} :
+     * <ul>
+     *   <li>une création pas encore envoyée reste une création, avec le nouveau statut ;</li>
+     *   <li>deux changements de statut n'en font qu'un, depuis le statut de départ du premier
+     *       (le dernier que l'écran connaît).</li>
+     * </ul>
+     *
+     * @return null si le résultat ne concerne plus l'écran (création d'une commande déjà sortie
+     * de son filtre) : rien à envoyer
+     */
+    OrderBoardEvent coalesce(OrderBoardEvent newer, OrderStatus filter) {
+        OrderBoardEvent merged;
+        if (type == Type.CREATED) {
+            OrderSummaryResponse o = order;
+            merged = new OrderBoardEvent(newer.sequence, Type.CREATED, orderId, newer.status, null,
+                    new OrderSummaryResponse(o.id(), newer.status, o.totalAmount(), o.createdAt(),
+                            o.pickupTime(), o.customerName(), o.customerPhone(), o.itemsCount()));
+        } else {
+            merged = new OrderBoardEvent(newer.sequence, Type.STATUS_CHANGED, orderId, newer.status,
+                    previousStatus, null);
+        }
+        return merged.concerns(filter) ? merged : null;
+    }
+}
@@ -0,0 +1,146 @@
+package com.okebab.okebabbackend.order.live;
+
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Un écran abonné. Les événements sont mis en attente dans un buffer borné, indexé par commande :
+ * un nouvel événement pour une commande déjà en attente remplace l'ancien (coalescence), ou
+ * l'annule si la commande n'a plus rien à faire sur cet écran.
+ * Si le buffer déborde, les plus anciens sont abandonnés et l'écran reçoit un RESYNC.
+ * <p>
+ * L'éditeur ne fait qu'un {@link #offer} non bloquant ; l'envoi réseau se fait dans {@link #drain}
+ * sur un thread à part, un seul à la fois par abonné. Une tablette lente ne ralentit donc personne.
+ */
+final class OrderBoardSubscriber {
+
+    private final SseEmitter emitter;
+    private final OrderStatus statusFilter;
+    private final int capacity;
+
+    private final LinkedHashMap<Long, OrderBoardEvent> pending = new LinkedHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private boolean overflowed;
+    private boolean heartbeat;
+    private long lastSequence;
+    private volatile boolean closed;
+
+    OrderBoardSubscriber(SseEmitter emitter, OrderStatus statusFilter, int capacity) {
+        this.emitter = emitter;
+        this.statusFilter = statusFilter;
+        this.capacity = capacity;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    synchronized void offer(OrderBoardEvent event) {
+        if (closed || !event.concerns(statusFilter)) return;
+
+        OrderBoardEvent previous = pending.remove(event.orderId());
+        if (previous != null) {
+            OrderBoardEvent merged = previous.coalesce(event, statusFilter);
+            if (merged != null) pending.put(event.orderId(), merged);
+            return;
+        }
+
+        if (pending.size() >= capacity) {
+            Iterator<Map.Entry<Long, OrderBoardEvent>> oldest = pending.entrySet().iterator();
+            oldest.next();
+            oldest.remove();
+            overflowed = true;
+        }
+        pending.put(event.orderId(), event);
+    }
+
+    /**
+     * Position de départ : séquence courante au moment de l'abonnement.
+     */
+    synchronized void startAt(long sequence) {
+        lastSequence = sequence;
+    }
+
+    synchronized void markOverflowed() {
+        overflowed = true;
+    }
+
+    synchronized void requestHeartbeat() {
+        heartbeat = true;
+    }
+
+    /**
+     * Envoie tout ce qui est en attente. Ne fait rien si un autre thread draine déjà.
+     */
+    void drain() {
+        while (draining.compareAndSet(false, true)) {
+            try {
+                sendPending();
+            } catch (IOException | IllegalStateException e) {
+                // client parti (ou emitter déjà terminé)
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+
+            // un offer a pu arriver entre le dernier envoi et la libération du drapeau
+            if (closed || !hasPending()) return;
+        }
+    }
+
+    private void sendPending() throws IOException {
+        while (!closed) {
+            OrderBoardEvent next;
+            boolean ping = false;
+
+            synchronized (this) {
+                if (overflowed) {
+                    // le client recharge la liste : inutile d'envoyer ce qui reste, on saute au plus récent
+                    for (OrderBoardEvent dropped : pending.values()) {
+                        lastSequence = Math.max(lastSequence, dropped.sequence());
+                    }
+                    overflowed = false;
+                    pending.clear();
+                    next = new OrderBoardEvent(lastSequence, OrderBoardEvent.Type.RESYNC, null, null, null, null);
+                } else if (!pending.isEmpty()) {
+                    Iterator<OrderBoardEvent> it = pending.values().iterator();
+                    next = it.next();
+                    it.remove();
+                    lastSequence = Math.max(lastSequence, next.sequence());
+                } else if (heartbeat) {
+                    heartbeat = false;
+                    next = null;
+                    ping = true;
+                } else {
+                    return;
+                }
+            }
+
+            if (ping) {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(next.sequence()))
+                        .name(next.type().name())
+                        .data(next, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    synchronized boolean hasPending() {
+        return overflowed || heartbeat || !pending.isEmpty();
+    }
+}
@@ -0,0 +1,59 @@
+package com.okebab.okebabbackend.order.metrics;
+
+import com.okebab.okebabbackend.order.event.OrderCreatedEvent;
+import com.okebab.okebabbackend.order.event.OrderSalesLine;
+import com.okebab.okebabbackend.order.event.OrderStatusChangedEvent;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.model.ProductType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Compteurs métier alimentés par les événements de commande (/actuator/metrics, /actuator/prometheus) :
+ * <ul>
+ *     <li>{@code okebab.order.items{productType}} : articles vendus (quantités) par type de produit ;</li>
+ *     <li>{@code okebab.order.status{status}} : commandes entrées dans chaque statut
+ *     (une création compte pour PENDING).</li>
+ * </ul>
+ * Les compteurs sont créés d'avance pour toutes les valeurs des enums : pas de recherche dans le
+ * registre à chaque événement, et les séries à zéro existent dès le démarrage.
+ */
+@Component
+public class OrderMetrics {
+
+    private final Map<ProductType, Counter> items = new EnumMap<>(ProductType.class);
+    private final Map<OrderStatus, Counter> statuses = new EnumMap<>(OrderStatus.class);
+
+    public OrderMetrics(MeterRegistry registry) {
+        for (ProductType type : ProductType.values()) {
+            items.put(type, Counter.builder("okebab.order.items")
+                    .description("Articles commandés, par type de produit")
+                    .tag("productType", type.name())
+                    .register(registry));
+        }
+        for (OrderStatus status : OrderStatus.values()) {
+            statuses.put(status, Counter.builder("okebab.order.status")
+                    .description("Commandes passées dans ce statut")
+                    .tag("status", status.name())
+                    .register(registry));
+        }
+    }
+
+    @EventListener
+    public void onCreated(OrderCreatedEvent e) {
+        statuses.get(e.order().status()).increment();
+        for (OrderSalesLine line : e.lines()) {
+            if (line.productType() != null) items.get(line.productType()).increment(line.quantity());
+        }
+    }
+
+    @EventListener
+    public void onStatusChanged(OrderStatusChangedEvent e) {
+        statuses.get(e.status()).increment();
+    }
+}
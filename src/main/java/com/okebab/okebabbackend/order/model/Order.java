@@ -12,21 +12,33 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders") // "order" est un mot réservé SQL, donc "orders"
+// "order" est un mot réservé SQL, donc "orders". Index : voir V5__listing_indexes.sql et V9__customer_phone_e164.sql
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_orders_created", columnList = "created_at"),
+        @Index(name = "idx_orders_phone_e164_created", columnList = "customer_phone_e164, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @ToString(exclude = "items")
 public class Order {
 
+    // Séquence "poolée" (50 ids par aller-retour) au lieu d'IDENTITY : Hibernate peut alors
+    // regrouper les INSERT en batch JDBC. Sur MySQL la séquence est émulée par la table orders_seq.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     // Quand la commande a été créée
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    // Dernière modification (création, changement de statut) : base des ETag
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
     // Montant total payé / à payer
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal totalAmount;
@@ -41,6 +53,14 @@ public class Order {
 
     private String customerPhone;
 
+    // Téléphone normalisé (chiffres uniquement) pour la recherche
+    @Column(length = 20)
+    private String customerPhoneKey;
+
+    // Téléphone au format E.164 ("+33612345678") : historique d'un client (GET /api/customers/{phone}/orders)
+    @Column(name = "customer_phone_e164", length = 16)
+    private String customerPhoneE164;
+
     // Heure souhaitée de retrait (optionnelle)
     private LocalDateTime pickupTime;
 
@@ -9,15 +9,17 @@ import lombok.ToString;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = @Index(name = "idx_order_items_order", columnList = "order_id"))
 @Getter
 @Setter
 @NoArgsConstructor
 @ToString(exclude = "order")
 public class OrderItem {
 
+    // Voir Order.id : séquence poolée pour permettre le batch des INSERT d'articles
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     // id du produit côté front (ex: tacos M = 1)
@@ -43,9 +45,9 @@ public class OrderItem {
     @Column(nullable = false)
     private int quantity;
 
-    // JSON des sélections (meats, sauces, supplements, etc.)
-    @Column(columnDefinition = "TEXT")
-    private String selectionsJson;
+    // Sélections (meats, sauces, supplements, etc.) JSON compressé, voir SelectionsCodec
+    @Column(length = SelectionsCodec.MAX_BYTES)
+    private byte[] selections;
 
     // Description lisible (comme ce que tu affiches dans le panier)
     @Column(columnDefinition = "TEXT")
@@ -1,9 +1,38 @@
 package com.okebab.okebabbackend.order.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,      // commande reçue, en attente de préparation
     IN_PREPARATION,
     READY,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    // Transitions autorisées : COMPLETED et CANCELLED sont terminaux
+    private static final Map<OrderStatus, Set<OrderStatus>> NEXT = new EnumMap<>(OrderStatus.class);
+
+    static {
+        NEXT.put(PENDING, EnumSet.of(IN_PREPARATION, READY, CANCELLED));
+        NEXT.put(IN_PREPARATION, EnumSet.of(READY, CANCELLED));
+        NEXT.put(READY, EnumSet.of(COMPLETED, CANCELLED));
+        NEXT.put(COMPLETED, EnumSet.noneOf(OrderStatus.class));
+        NEXT.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    public Set<OrderStatus> next() {
+        return Collections.unmodifiableSet(NEXT.get(this));
+    }
+
+    public boolean isTerminal() {
+        return NEXT.get(this).isEmpty();
+    }
+
+    public boolean canMoveTo(OrderStatus target) {
+        return NEXT.get(this).contains(target);
+    }
 }
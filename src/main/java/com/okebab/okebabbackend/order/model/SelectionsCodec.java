@@ -0,0 +1,138 @@
+package com.okebab.okebabbackend.order.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodage compact des sélections d'un article (viandes, sauces, suppléments...).
+ * <p>
+ * Le JSON compact est compressé en deflate brut avec un dictionnaire prédéfini
+ * (resources/selections/dictionary-v1.txt) : les clés et valeurs de la carte, qui reviennent
+ * d'un article à l'autre, y sont déjà présentes et deviennent des références de 2-3 octets.
+ * Un article typique passe d'environ 120 octets de JSON à une trentaine.
+ * <p>
+ * Format : 1 octet de version de dictionnaire, puis les données deflate. Le dictionnaire d'une
+ * version ne change jamais ; pour l'enrichir (nouvelle carte), ajouter dictionary-v2 et passer
+ * {@link #CURRENT} à 2 : les lignes existantes restent lisibles. Un terme absent du dictionnaire
+ * est simplement moins bien compressé.
+ * <p>
+ * Stocké tel quel dans order_items.selections (varbinary, dans la ligne InnoDB) et décodé en JSON
+ * seulement pour le détail d'une commande : listings, index et agrégats n'y touchent pas.
+ */
+public final class SelectionsCodec {
+
+    // Taille de la colonne order_items.selections
+    public static final int MAX_BYTES = 4096;
+
+    // JSON au-delà duquel on ne tente même pas la compression : des sélections réelles ne
+    // compressent pas 16 fois, inutile de dégonfler des mégaoctets pour les refuser ensuite
+    static final int MAX_JSON_BYTES = MAX_BYTES * 16;
+
+    private static final int CURRENT = 1;
+    private static final byte[][] DICTIONARIES = {null, load(1)};
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private SelectionsCodec() {}
+
+    /**
+     * @param selections objet JSON des sélections (Map, JsonNode...), null accepté
+     */
+    public static byte[] encode(Object selections) {
+        if (selections == null) return null;
+        try {
+            return compress(JSON.writeValueAsBytes(selections));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Sélections illisibles", e);
+        }
+    }
+
+    /**
+     * Depuis un JSON déjà sérialisé (migration V7, anciens journaux d'intake), remis sous forme compacte.
+     */
+    public static byte[] fromJson(String json) {
+        if (json == null) return null;
+        try {
+            return encode(JSON.readTree(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON de sélections invalide", e);
+        }
+    }
+
+    public static String toJson(byte[] encoded) {
+        if (encoded == null) return null;
+        return new String(decompress(encoded), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] compress(byte[] json) {
+        if (json.length > MAX_JSON_BYTES) {
+            throw new IllegalArgumentException("Sélections trop volumineuses (" + json.length + " octets de JSON, max " + MAX_JSON_BYTES + ")");
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setDictionary(DICTIONARIES[CURRENT]);
+            deflater.setInput(json);
+            deflater.finish();
+
+            // tampon de la taille de la colonne : un résultat qui n'y tient pas est refusé de toute façon
+            byte[] out = new byte[MAX_BYTES];
+            out[0] = CURRENT;
+            int length = 1 + deflater.deflate(out, 1, out.length - 1);
+            if (!deflater.finished()) {
+                throw new IllegalArgumentException("Sélections trop volumineuses (plus de " + MAX_BYTES + " octets compressés)");
+            }
+            return Arrays.copyOf(out, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] encoded) {
+        int version = encoded[0];
+        if (version < 1 || version >= DICTIONARIES.length) {
+            throw new IllegalStateException("Version de dictionnaire de sélections inconnue : " + version);
+        }
+
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(DICTIONARIES[version]);
+            inflater.setInput(encoded, 1, encoded.length - 1);
+
+            byte[] out = new byte[Math.max(256, encoded.length * 8)];
+            int length = 0;
+            while (!inflater.finished()) {
+                if (length == out.length) out = Arrays.copyOf(out, out.length * 2);
+                int n = inflater.inflate(out, length, out.length - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Sélections tronquées");
+                }
+                length += n;
+            }
+            return Arrays.copyOf(out, length);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Sélections illisibles", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] load(int version) {
+        String path = "/selections/dictionary-v" + version + ".txt";
+        try (InputStream in = SelectionsCodec.class.getResourceAsStream(path)) {
+            if (in == null) throw new IllegalStateException("Dictionnaire introuvable : " + path);
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
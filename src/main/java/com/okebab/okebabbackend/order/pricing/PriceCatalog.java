@@ -0,0 +1,148 @@
+package com.okebab.okebabbackend.order.pricing;
+
+import com.okebab.okebabbackend.order.model.ProductType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carte des prix figée : jamais modifiée après construction, elle est remplacée en bloc
+ * au rechargement ({@link PricingService}). Les lectures se font sans verrou ni requête SQL.
+ */
+public final class PriceCatalog {
+
+    static final PriceCatalog EMPTY = new PriceCatalog(0, null, Map.of(), Map.of(), 0);
+
+    private final long version;
+    private final LocalDateTime loadedAt;
+    private final Map<ProductType, Map<Long, BigDecimal>> products;
+    private final Map<String, Map<String, BigDecimal>> supplements;
+    private final int productCount;
+
+    private PriceCatalog(
+            long version,
+            LocalDateTime loadedAt,
+            Map<ProductType, Map<Long, BigDecimal>> products,
+            Map<String, Map<String, BigDecimal>> supplements,
+            int productCount
+    ) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.products = products;
+        this.supplements = supplements;
+        this.productCount = productCount;
+    }
+
+    /**
+     * Valide le contenu du fichier : prix renseignés et positifs, pas de doublon.
+     */
+    static PriceCatalog of(PriceCatalogFile file, long version, LocalDateTime loadedAt) {
+        Map<ProductType, Map<Long, BigDecimal>> products = new EnumMap<>(ProductType.class);
+        int productCount = 0;
+
+        for (PriceCatalogFile.ProductPrice p : nonNull(file.products())) {
+            if (p.type() == null || p.id() == null) {
+                throw new IllegalArgumentException("Carte : produit sans type ou sans id (" + p.name() + ")");
+            }
+            checkPrice(p.price(), p.type() + " #" + p.id());
+
+            Map<Long, BigDecimal> byId = products.computeIfAbsent(p.type(), t -> new HashMap<>());
+            if (byId.putIfAbsent(p.id(), p.price()) != null) {
+                throw new IllegalArgumentException("Carte : produit en double " + p.type() + " #" + p.id());
+            }
+            productCount++;
+        }
+
+        Map<String, Map<String, BigDecimal>> supplements = new HashMap<>();
+        for (PriceCatalogFile.SupplementPrice s : nonNull(file.supplements())) {
+            if (s.group() == null || s.option() == null) {
+                throw new IllegalArgumentException("Carte : supplément sans groupe ou sans option");
+            }
+            checkPrice(s.price(), s.group() + "/" + s.option());
+
+            Map<String, BigDecimal> byOption = supplements.computeIfAbsent(s.group(), g -> new HashMap<>());
+            if (byOption.putIfAbsent(s.option(), s.price()) != null) {
+                throw new IllegalArgumentException("Carte : supplément en double " + s.group() + "/" + s.option());
+            }
+        }
+
+        products.replaceAll((type, byId) -> Map.copyOf(byId));
+        supplements.replaceAll((group, byOption) -> Map.copyOf(byOption));
+        return new PriceCatalog(version, loadedAt, Collections.unmodifiableMap(products),
+                Map.copyOf(supplements), productCount);
+    }
+
+    private static <T> List<T> nonNull(List<T> list) {
+        return list != null ? list : List.of();
+    }
+
+    private static void checkPrice(BigDecimal price, String what) {
+        if (price == null || price.signum() < 0) {
+            throw new IllegalArgumentException("Carte : prix absent ou négatif pour " + what);
+        }
+    }
+
+    // =====================
+    // LECTURE
+    // =====================
+
+    /**
+     * @return le prix de base, ou null si le produit n'est pas à la carte
+     */
+    public BigDecimal basePrice(ProductType type, long productIdFront) {
+        Map<Long, BigDecimal> byId = products.get(type);
+        return byId != null ? byId.get(productIdFront) : null;
+    }
+
+    /**
+     * Somme des suppléments payants présents dans les sélections d'un article.
+     * Une valeur de sélection est une option, une liste d'options ou un booléen (option "true") ;
+     * les options absentes de la carte (sauces, crudités...) sont gratuites.
+     */
+    public BigDecimal supplementsPrice(Map<String, Object> selections) {
+        if (selections == null || selections.isEmpty() || supplements.isEmpty()) return BigDecimal.ZERO;
+
+        BigDecimal sum = BigDecimal.ZERO;
+        for (Map.Entry<String, Object> selection : selections.entrySet()) {
+            Map<String, BigDecimal> byOption = supplements.get(selection.getKey());
+            if (byOption == null) continue;
+
+            if (selection.getValue() instanceof Collection<?> options) {
+                for (Object option : options) {
+                    sum = add(sum, byOption, option);
+                }
+            } else {
+                sum = add(sum, byOption, selection.getValue());
+            }
+        }
+        return sum;
+    }
+
+    private static BigDecimal add(BigDecimal sum, Map<String, BigDecimal> byOption, Object option) {
+        if (option == null) return sum;
+        BigDecimal price = byOption.get(String.valueOf(option));
+        return price != null ? sum.add(price) : sum;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public LocalDateTime loadedAt() {
+        return loadedAt;
+    }
+
+    public int productCount() {
+        return productCount;
+    }
+
+    public int supplementCount() {
+        return supplements.values().stream().mapToInt(Map::size).sum();
+    }
+}
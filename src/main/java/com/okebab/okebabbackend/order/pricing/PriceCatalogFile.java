@@ -0,0 +1,28 @@
+package com.okebab.okebabbackend.order.pricing;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.okebab.okebabbackend.order.model.ProductType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Contenu du fichier de carte ({@code okebab.pricing.catalog-file}), JSON :
+ * <pre>
+ * {
+ *   "products":    [ { "type": "TACOS", "id": 1, "name": "Tacos M", "price": 8.50 } ],
+ *   "supplements": [ { "group": "supplements", "option": "Cheddar", "price": 1.20 } ]
+ * }
+ * </pre>
+ * {@code id} est l'id produit du front (productIdFront), unique par type.
+ * {@code group} / {@code option} : clé et valeur dans les sélections d'un article.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PriceCatalogFile(List<ProductPrice> products, List<SupplementPrice> supplements) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ProductPrice(ProductType type, Long id, String name, BigDecimal price) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record SupplementPrice(String group, String option, BigDecimal price) {}
+}
@@ -0,0 +1,153 @@
+package com.okebab.okebabbackend.order.pricing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okebab.okebabbackend.common.error.ConflictException;
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.model.ProductType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Prix calculés côté serveur (okebab.pricing.enabled=true).
+ * <p>
+ * La carte ({@link PriceCatalog}) est lue depuis {@code okebab.pricing.catalog-file} au démarrage
+ * (fichier absent ou invalide : l'application ne démarre pas), puis rechargée quand le fichier
+ * change ({@code okebab.pricing.reload-ms}) ou via POST /api/pricing/reload. Le rechargement
+ * construit une nouvelle carte et la publie d'un coup ({@link AtomicReference}) : une commande
+ * est toujours chiffrée avec une seule version. Fichier modifié mais invalide : la carte
+ * précédente reste en place.
+ * <p>
+ * Prix de ligne = (prix de base + suppléments) × quantité. basePrice / totalPrice envoyés par le
+ * client sont vérifiés : un écart (carte du kiosque périmée) donne un 409.
+ * Désactivé : les prix du client sont repris tels quels, comme avant.
+ */
+@Slf4j
+@Service
+public class PricingService {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path catalogFile;
+
+    private final AtomicReference<PriceCatalog> catalog = new AtomicReference<>(PriceCatalog.EMPTY);
+    private final AtomicLong versions = new AtomicLong();
+    private volatile FileTime lastSeen;
+
+    public PricingService(
+            ObjectMapper objectMapper,
+            @Value("${okebab.pricing.enabled:false}") boolean enabled,
+            @Value("${okebab.pricing.catalog-file:config/pricing.json}") Path catalogFile
+    ) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.catalogFile = catalogFile;
+
+        if (enabled) reload();
+    }
+
+    public record LinePrice(BigDecimal basePrice, BigDecimal totalPrice) {}
+
+    // =====================
+    // PRIX D'UNE LIGNE
+    // =====================
+    public LinePrice price(ProductType type, OrderItemRequest item) {
+        if (!enabled) return clientPrice(item);
+
+        PriceCatalog current = catalog.get();
+        BigDecimal basePrice = item.getProductIdFront() != null
+                ? current.basePrice(type, item.getProductIdFront())
+                : null;
+        if (basePrice == null) {
+            throw new IllegalArgumentException("Produit absent de la carte : " + item.getProductName()
+                    + " (" + type + " #" + item.getProductIdFront() + ")");
+        }
+
+        BigDecimal totalPrice = basePrice
+                .add(current.supplementsPrice(item.getSelections()))
+                .multiply(BigDecimal.valueOf(item.getQuantity()));
+
+        checkSent(item, "basePrice", item.getBasePrice(), basePrice);
+        checkSent(item, "totalPrice", item.getTotalPrice(), totalPrice);
+
+        return new LinePrice(basePrice, totalPrice);
+    }
+
+    private static void checkSent(OrderItemRequest item, String field, BigDecimal sent, BigDecimal expected) {
+        // compareTo : 9.7 et 9.70 sont le même prix
+        if (sent != null && sent.compareTo(expected) != 0) {
+            throw new ConflictException("Prix modifié pour « " + item.getProductName() + " » : " + field
+                    + " " + expected + " attendu, " + sent + " reçu. Rechargez la carte.");
+        }
+    }
+
+    private static LinePrice clientPrice(OrderItemRequest item) {
+        BigDecimal basePrice = Objects.requireNonNullElse(item.getBasePrice(), BigDecimal.ZERO);
+        BigDecimal totalPrice = item.getTotalPrice() != null
+                ? item.getTotalPrice()
+                : basePrice.multiply(BigDecimal.valueOf(item.getQuantity()));
+        return new LinePrice(basePrice, totalPrice);
+    }
+
+    // =====================
+    // CHARGEMENT
+    // =====================
+    public synchronized PriceCatalog reload() {
+        if (!enabled) {
+            throw new ConflictException("Tarification serveur désactivée (okebab.pricing.enabled)");
+        }
+
+        try {
+            FileTime modified = Files.getLastModifiedTime(catalogFile);
+            PriceCatalogFile content = objectMapper.readValue(catalogFile.toFile(), PriceCatalogFile.class);
+            PriceCatalog next = PriceCatalog.of(content, versions.incrementAndGet(), LocalDateTime.now());
+
+            catalog.set(next);
+            lastSeen = modified;
+            log.info("Carte v{} chargée depuis {} : {} produits, {} suppléments",
+                    next.version(), catalogFile, next.productCount(), next.supplementCount());
+            return next;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Carte invalide (" + catalogFile + ") : " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Carte illisible : " + catalogFile, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${okebab.pricing.reload-ms:10000}")
+    public void reloadIfModified() {
+        if (!enabled) return;
+
+        try {
+            FileTime modified = Files.getLastModifiedTime(catalogFile);
+            if (modified.equals(lastSeen)) return;
+
+            // noté avant la lecture : un fichier invalide n'est pas relu tant qu'il ne change pas
+            lastSeen = modified;
+            reload();
+        } catch (IOException | RuntimeException e) {
+            log.error("Rechargement de la carte impossible, v{} conservée", catalog.get().version(), e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public PriceCatalog current() {
+        return catalog.get();
+    }
+}
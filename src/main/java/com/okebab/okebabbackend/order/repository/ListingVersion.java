@@ -0,0 +1,26 @@
+package com.okebab.okebabbackend.order.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version d'un listing filtré : nombre de commandes et dernière modification parmi elles.
+ * Une création ou un changement de statut avance {@code lastUpdatedAt} ; une commande qui sort du
+ * filtre (changement de statut, archivage) change {@code count}. Calculée en une requête
+ * d'agrégat, sans lire de page ni les articles.
+ *
+ * @param lastUpdatedAt null si aucune commande ne correspond
+ */
+public record ListingVersion(long count, LocalDateTime lastUpdatedAt) {
+
+    public static final ListingVersion EMPTY = new ListingVersion(0, null);
+
+    /**
+     * Réunion de deux listings disjoints (commandes actives + archivées).
+     */
+    public ListingVersion plus(ListingVersion other) {
+        LocalDateTime last = lastUpdatedAt == null || (other.lastUpdatedAt != null && other.lastUpdatedAt.isAfter(lastUpdatedAt))
+                ? other.lastUpdatedAt
+                : lastUpdatedAt;
+        return new ListingVersion(count + other.count, last);
+    }
+}
@@ -0,0 +1,92 @@
+package com.okebab.okebabbackend.order.repository;
+
+import com.okebab.okebabbackend.order.model.Order;
+import com.okebab.okebabbackend.order.model.OrderItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Insertion JDBC en batch de commandes dont les ids sont déjà attribués (intake différé).
+ * <p>
+ * JPA regénère l'id d'une entité à @GeneratedValue au persist ; ici l'id a été annoncé au client
+ * avant l'écriture, d'où l'INSERT explicite. Les colonnes suivent Order / OrderItem.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderJdbcWriter {
+
+    private static final String INSERT_ORDER = """
+            insert into orders (id, created_at, updated_at, total_amount, status, customer_name, customer_phone,
+                                customer_phone_key, customer_phone_e164, pickup_time)
+            values (:id, :createdAt, :updatedAt, :totalAmount, :status, :customerName, :customerPhone,
+                    :customerPhoneKey, :customerPhoneE164, :pickupTime)""";
+
+    private static final String INSERT_ITEM = """
+            insert into order_items (id, order_id, product_id_front, product_type, product_name, base_price,
+                                     total_price, quantity, selections, description)
+            values (:id, :orderId, :productIdFront, :productType, :productName, :basePrice,
+                    :totalPrice, :quantity, :selections, :description)""";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Insère les commandes absentes de la table (un rejeu du journal peut repasser des commandes
+     * déjà écrites avant l'arrêt), en une transaction.
+     *
+     * @return les commandes effectivement insérées
+     */
+    @Transactional
+    public List<Order> insertMissing(List<Order> orders) {
+        Set<Long> existing = new HashSet<>(jdbc.queryForList(
+                "select id from orders where id in (:ids)",
+                new MapSqlParameterSource("ids", orders.stream().map(Order::getId).toList()),
+                Long.class
+        ));
+
+        List<Order> fresh = orders.stream().filter(o -> !existing.contains(o.getId())).toList();
+        if (fresh.isEmpty()) return fresh;
+
+        jdbc.batchUpdate(INSERT_ORDER, fresh.stream().map(OrderJdbcWriter::orderParams).toArray(SqlParameterSource[]::new));
+        jdbc.batchUpdate(INSERT_ITEM, fresh.stream()
+                .flatMap(o -> o.getItems().stream())
+                .map(OrderJdbcWriter::itemParams)
+                .toArray(SqlParameterSource[]::new));
+        return fresh;
+    }
+
+    private static SqlParameterSource orderParams(Order o) {
+        return new MapSqlParameterSource()
+                .addValue("id", o.getId())
+                .addValue("createdAt", o.getCreatedAt())
+                .addValue("updatedAt", o.getUpdatedAt())
+                .addValue("totalAmount", o.getTotalAmount())
+                .addValue("status", o.getStatus().name())
+                .addValue("customerName", o.getCustomerName())
+                .addValue("customerPhone", o.getCustomerPhone())
+                .addValue("customerPhoneKey", o.getCustomerPhoneKey())
+                .addValue("customerPhoneE164", o.getCustomerPhoneE164())
+                .addValue("pickupTime", o.getPickupTime());
+    }
+
+    private static SqlParameterSource itemParams(OrderItem i) {
+        return new MapSqlParameterSource()
+                .addValue("id", i.getId())
+                .addValue("orderId", i.getOrder().getId())
+                .addValue("productIdFront", i.getProductIdFront())
+                .addValue("productType", i.getProductType().name())
+                .addValue("productName", i.getProductName())
+                .addValue("basePrice", i.getBasePrice())
+                .addValue("totalPrice", i.getTotalPrice())
+                .addValue("quantity", i.getQuantity())
+                .addValue("selections", i.getSelections())
+                .addValue("description", i.getDescription());
+    }
+}
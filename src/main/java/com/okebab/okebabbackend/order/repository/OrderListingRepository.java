@@ -0,0 +1,56 @@
+package com.okebab.okebabbackend.order.repository;
+
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Listing des commandes en projection DTO.
+ * Le nombre d'articles est calculé en SQL (sous-requête COUNT sur order_items),
+ * on ne charge donc jamais la collection items pour afficher une page.
+ * Les requêtes sont compilées depuis le {@link OrderFilter} (voir OrderQueries) : même forme de
+ * filtre, même texte JPQL, plan repris du cache de Hibernate.
+ */
+public interface OrderListingRepository {
+
+    Page<OrderSummaryResponse> findSummaries(OrderFilter filter, Pageable pageable);
+
+    /**
+     * Même page, total déjà connu (par {@link #listingVersion}) : pas de COUNT.
+     */
+    Page<OrderSummaryResponse> findSummaries(OrderFilter filter, Pageable pageable, long total);
+
+    ListingVersion listingVersion(OrderFilter filter);
+
+    /**
+     * Pagination par curseur (keyset) triée par (createdAt, id) décroissants.
+     * Pas d'OFFSET ni de COUNT : le coût ne dépend pas de la profondeur de page.
+     *
+     * @param after dernière ligne de la page précédente, null pour la première page
+     */
+    List<OrderSummaryResponse> findSummariesAfter(OrderFilter filter, OrderCursor after, int limit);
+
+    // =====================
+    // ARCHIVE (orders_archive)
+    // =====================
+
+    /**
+     * Les {@code limit} premières commandes selon {@code sort}, actives ou archivées :
+     * chaque source est fusionnée par l'appelant.
+     */
+    List<OrderSummaryResponse> findFirstSummaries(OrderFilter filter, Sort sort, int limit);
+
+    List<OrderSummaryResponse> findFirstArchivedSummaries(OrderFilter filter, Sort sort, int limit);
+
+    List<OrderSummaryResponse> findArchivedSummariesAfter(OrderFilter filter, OrderCursor after, int limit);
+
+    long countSummaries(OrderFilter filter);
+
+    long countArchivedSummaries(OrderFilter filter);
+
+    ListingVersion archivedListingVersion(OrderFilter filter);
+}
@@ -0,0 +1,146 @@
+package com.okebab.okebabbackend.order.repository;
+
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.repository.OrderQueries.Kind;
+import com.okebab.okebabbackend.order.repository.OrderQueries.Source;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class OrderListingRepositoryImpl implements OrderListingRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Page<OrderSummaryResponse> findSummaries(OrderFilter filter, Pageable pageable) {
+        if (filter.matchesNothing()) return Page.empty(pageable);
+        return PageableExecutionUtils.getPage(pageContent(filter, pageable), pageable, () -> count(Source.LIVE, filter));
+    }
+
+    @Override
+    public Page<OrderSummaryResponse> findSummaries(OrderFilter filter, Pageable pageable, long total) {
+        if (filter.matchesNothing()) return Page.empty(pageable);
+        return new PageImpl<>(pageContent(filter, pageable), pageable, total);
+    }
+
+    private List<OrderSummaryResponse> pageContent(OrderFilter filter, Pageable pageable) {
+        return pageable.isPaged()
+                ? select(Source.LIVE, filter, pageable.getSort(), (int) pageable.getOffset(), pageable.getPageSize())
+                : select(Source.LIVE, filter, pageable.getSort(), 0, null);
+    }
+
+    @Override
+    public ListingVersion listingVersion(OrderFilter filter) {
+        return version(Source.LIVE, filter);
+    }
+
+    @Override
+    public List<OrderSummaryResponse> findSummariesAfter(OrderFilter filter, OrderCursor after, int limit) {
+        return selectAfter(Source.LIVE, filter, after, limit);
+    }
+
+    @Override
+    public List<OrderSummaryResponse> findFirstSummaries(OrderFilter filter, Sort sort, int limit) {
+        return select(Source.LIVE, filter, sort, 0, limit);
+    }
+
+    @Override
+    public List<OrderSummaryResponse> findFirstArchivedSummaries(OrderFilter filter, Sort sort, int limit) {
+        return select(Source.ARCHIVE, filter, sort, 0, limit);
+    }
+
+    @Override
+    public List<OrderSummaryResponse> findArchivedSummariesAfter(OrderFilter filter, OrderCursor after, int limit) {
+        return selectAfter(Source.ARCHIVE, filter, after, limit);
+    }
+
+    @Override
+    public long countSummaries(OrderFilter filter) {
+        return count(Source.LIVE, filter);
+    }
+
+    @Override
+    public long countArchivedSummaries(OrderFilter filter) {
+        return count(Source.ARCHIVE, filter);
+    }
+
+    @Override
+    public ListingVersion archivedListingVersion(OrderFilter filter) {
+        return version(Source.ARCHIVE, filter);
+    }
+
+    // Commandes actives et archivées partagent les noms d'attributs : mêmes requêtes, autre entité
+    private List<OrderSummaryResponse> select(Source source, OrderFilter filter, Sort sort, int first, Integer max) {
+        if (filter.matchesNothing()) return List.of();
+
+        OrderQueries.checkSortable(sort);
+        TypedQuery<Object[]> query = em.createQuery(OrderQueries.jpql(source, Kind.PAGE, filter, sort), Object[].class);
+        OrderQueries.bind(query, filter);
+        if (max != null) {
+            query.setFirstResult(first);
+            query.setMaxResults(max);
+        }
+        return toSummaries(query);
+    }
+
+    private List<OrderSummaryResponse> selectAfter(Source source, OrderFilter filter, OrderCursor after, int limit) {
+        // première page : même tri, sans prédicat de seek
+        if (after == null) return select(source, filter, OrderQueries.SEEK_SORT, 0, limit);
+        if (filter.matchesNothing()) return List.of();
+
+        TypedQuery<Object[]> query = em.createQuery(OrderQueries.jpql(source, Kind.AFTER, filter, Sort.unsorted()), Object[].class);
+        OrderQueries.bind(query, filter);
+        query.setParameter("afterCreatedAt", after.createdAt());
+        query.setParameter("afterId", after.id());
+        return toSummaries(query.setMaxResults(limit));
+    }
+
+    private long count(Source source, OrderFilter filter) {
+        if (filter.matchesNothing()) return 0;
+
+        TypedQuery<Long> query = em.createQuery(OrderQueries.jpql(source, Kind.COUNT, filter, Sort.unsorted()), Long.class);
+        OrderQueries.bind(query, filter);
+        return query.getSingleResult();
+    }
+
+    // COUNT + MAX(updated_at) sur les mêmes lignes que le listing
+    private ListingVersion version(Source source, OrderFilter filter) {
+        if (filter.matchesNothing()) return ListingVersion.EMPTY;
+
+        TypedQuery<Object[]> query = em.createQuery(OrderQueries.jpql(source, Kind.VERSION, filter, Sort.unsorted()), Object[].class);
+        OrderQueries.bind(query, filter);
+        Object[] row = query.getSingleResult();
+        return new ListingVersion((Long) row[0], (LocalDateTime) row[1]);
+    }
+
+    private static List<OrderSummaryResponse> toSummaries(TypedQuery<Object[]> query) {
+        return query.getResultList().stream()
+                .map(OrderListingRepositoryImpl::toSummary)
+                .toList();
+    }
+
+    private static OrderSummaryResponse toSummary(Object[] row) {
+        return new OrderSummaryResponse(
+                (Long) row[0],
+                (OrderStatus) row[1],
+                (BigDecimal) row[2],
+                (LocalDateTime) row[3],
+                (LocalDateTime) row[4],
+                (String) row[5],
+                (String) row[6],
+                ((Long) row[7]).intValue()
+        );
+    }
+}
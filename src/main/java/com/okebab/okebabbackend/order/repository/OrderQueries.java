@@ -0,0 +1,164 @@
+package com.okebab.okebabbackend.order.repository;
+
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.okebab.okebabbackend.order.spec.OrderFilter.*;
+
+/**
+ * Texte JPQL des requêtes de listing, compilé depuis un {@link OrderFilter}.
+ * <p>
+ * Un prédicat par filtre présent, et un seul : une période donne un BETWEEN (ou une borne), un
+ * statut un "=", plusieurs un IN. La recherche produit est un EXISTS sur les articles : ni jointure
+ * ni DISTINCT, le COUNT reste un COUNT simple.
+ * <p>
+ * Le texte ne dépend que de la forme du filtre (quels prédicats), jamais des valeurs, qui passent
+ * en paramètres : il est construit une fois par (table, type de requête, forme, tri) puis repris
+ * tel quel, et Hibernate retrouve son plan dans son cache (hibernate.query.plan_cache_*).
+ * Les listes (ids, statuts) sont complétées à la puissance de 2 supérieure
+ * (hibernate.query.in_clause_parameter_padding) pour que le SQL généré se répète aussi.
+ */
+final class OrderQueries {
+
+    enum Source {
+        LIVE("Order", "OrderItem"),
+        ARCHIVE("ArchivedOrder", "ArchivedOrderItem");
+
+        private final String order;
+        private final String item;
+
+        Source(String order, String item) {
+            this.order = order;
+            this.item = item;
+        }
+    }
+
+    enum Kind { PAGE, AFTER, COUNT, VERSION }
+
+    static final Sort SEEK_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    // attributs triables (Pageable du client) : tout autre nom est refusé, jamais recopié dans la requête
+    private static final Set<String> SORTABLE = Set.of(
+            "id", "createdAt", "totalAmount", "status", "pickupTime", "customerName", "customerPhone");
+
+    // formes x tris possibles en nombre fini, mais borné au cas où
+    private static final int MAX_CACHED = 2_000;
+
+    private record Key(Source source, Kind kind, int shape, Sort sort) {}
+
+    private static final Map<Key, String> CACHE = new ConcurrentHashMap<>();
+
+    private OrderQueries() {}
+
+    static String jpql(Source source, Kind kind, OrderFilter filter, Sort sort) {
+        Key key = new Key(source, kind, filter.shape(), kind == Kind.PAGE ? sort : Sort.unsorted());
+        String cached = CACHE.get(key);
+        if (cached != null) return cached;
+
+        String jpql = build(key);
+        if (CACHE.size() < MAX_CACHED) CACHE.putIfAbsent(key, jpql);
+        return jpql;
+    }
+
+    // visible du package : tests
+    static int cachedCount() {
+        return CACHE.size();
+    }
+
+    private static String build(Key key) {
+        StringBuilder jpql = new StringBuilder(256);
+        switch (key.kind()) {
+            case PAGE, AFTER -> jpql.append("select o.id, o.status, o.totalAmount, o.createdAt, o.pickupTime,")
+                    .append(" o.customerName, o.customerPhone,")
+                    // COUNT(order_items) corrélé : une seule requête pour toute la page
+                    .append(" (select count(i) from ").append(key.source().item).append(" i where i.order = o)");
+            case COUNT -> jpql.append("select count(o)");
+            case VERSION -> jpql.append("select count(o), max(o.updatedAt)");
+        }
+        jpql.append(" from ").append(key.source().order).append(" o");
+
+        StringJoiner where = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+        predicates(key.source(), key.shape(), where);
+        if (key.kind() == Kind.AFTER) {
+            // seek : (createdAt, id) < (curseur), sans OFFSET ; la première page est une PAGE triée par SEEK_SORT
+            where.add("(o.createdAt < :afterCreatedAt or (o.createdAt = :afterCreatedAt and o.id < :afterId))");
+        }
+        jpql.append(where);
+
+        if (key.kind() == Kind.AFTER) {
+            jpql.append(" order by o.createdAt desc, o.id desc");
+        } else if (key.kind() == Kind.PAGE && key.sort().isSorted()) {
+            StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+            for (Sort.Order order : key.sort()) {
+                orderBy.add("o." + order.getProperty() + (order.isAscending() ? " asc" : " desc"));
+            }
+            jpql.append(orderBy);
+        }
+        return jpql.toString();
+    }
+
+    private static void predicates(Source source, int shape, StringJoiner where) {
+        if (has(shape, STATUS)) where.add("o.status = :status");
+        if (has(shape, STATUS_IN)) where.add("o.status in :statuses");
+        if (has(shape, IDS)) where.add("o.id in :ids");
+        if (has(shape, SEARCH)) {
+            // téléphone : sur sa clé "chiffres uniquement", comme l'index de recherche
+            where.add("(lower(o.customerName) like :search"
+                    + (has(shape, SEARCH_PHONE) ? " or o.customerPhoneKey like :searchPhone" : "")
+                    + " or exists (select 1 from " + source.item + " s where s.order = o and lower(s.productName) like :search)"
+                    + (has(shape, SEARCH_ID) ? " or o.id = :searchId" : "")
+                    + ")");
+        }
+        if (has(shape, CUSTOMER_NAME)) where.add("lower(o.customerName) like :customerName");
+        if (has(shape, CUSTOMER_PHONE)) where.add("lower(o.customerPhone) like :customerPhone");
+
+        if (has(shape, FROM) && has(shape, TO)) where.add("o.createdAt between :from and :to");
+        else if (has(shape, FROM)) where.add("o.createdAt >= :from");
+        else if (has(shape, TO)) where.add("o.createdAt <= :to");
+
+        if (has(shape, MIN_TOTAL) && has(shape, MAX_TOTAL)) where.add("o.totalAmount between :minTotal and :maxTotal");
+        else if (has(shape, MIN_TOTAL)) where.add("o.totalAmount >= :minTotal");
+        else if (has(shape, MAX_TOTAL)) where.add("o.totalAmount <= :maxTotal");
+    }
+
+    /**
+     * Valeurs des paramètres, pour les seuls prédicats présents.
+     */
+    static void bind(Query query, OrderFilter filter) {
+        int shape = filter.shape();
+        if (has(shape, STATUS)) query.setParameter("status", filter.statuses().iterator().next());
+        if (has(shape, STATUS_IN)) query.setParameter("statuses", filter.statuses());
+        if (has(shape, IDS)) query.setParameter("ids", filter.ids());
+        if (has(shape, SEARCH)) query.setParameter("search", contains(filter.q()));
+        if (has(shape, SEARCH_PHONE)) query.setParameter("searchPhone", contains(filter.searchPhoneKey()));
+        if (has(shape, SEARCH_ID)) query.setParameter("searchId", filter.searchId());
+        if (has(shape, CUSTOMER_NAME)) query.setParameter("customerName", contains(filter.customerName()));
+        if (has(shape, CUSTOMER_PHONE)) query.setParameter("customerPhone", contains(filter.customerPhone()));
+        if (has(shape, FROM)) query.setParameter("from", filter.from());
+        if (has(shape, TO)) query.setParameter("to", filter.to());
+        if (has(shape, MIN_TOTAL)) query.setParameter("minTotal", filter.minTotal());
+        if (has(shape, MAX_TOTAL)) query.setParameter("maxTotal", filter.maxTotal());
+    }
+
+    static void checkSortable(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Tri non supporté : " + order.getProperty());
+            }
+        }
+    }
+
+    private static boolean has(int shape, int bit) {
+        return (shape & bit) != 0;
+    }
+
+    private static String contains(String value) {
+        return "%" + value + "%";
+    }
+}
@@ -1,15 +1,73 @@
 package com.okebab.okebabbackend.order.repository;
 
+import com.okebab.okebabbackend.order.event.OrderSalesLine;
 import com.okebab.okebabbackend.order.model.Order;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderListingRepository {
         @EntityGraph(attributePaths = "items")
         Optional<Order> findWithItemsById(Long id);
+
+        // Chargement de l'index de recherche : [id, customerName, customerPhoneKey]
+        @Query("select o.id, o.customerName, o.customerPhoneKey from Order o")
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+        Stream<Object[]> streamSearchCustomers();
+
+        // Chargement de l'index de recherche : [orderId, productName]
+        @Query("select i.order.id, i.productName from OrderItem i")
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+        Stream<Object[]> streamSearchProducts();
+
+        // Rattrapage de l'index de recherche : mêmes colonnes, commandes créées depuis "since" (index created_at).
+        // Pas d'id comme repère : la séquence poolée donne à chaque instance ses propres blocs d'ids
+        @Query("select o.id, o.customerName, o.customerPhoneKey from Order o where o.createdAt >= :since")
+        List<Object[]> findSearchCustomersSince(@Param("since") LocalDateTime since);
+
+        @Query("select i.order.id, i.productName from OrderItem i where i.order.createdAt >= :since")
+        List<Object[]> findSearchProductsSince(@Param("since") LocalDateTime since);
+
+        // Agrégats de ventes : lignes d'une commande (type, quantité, montant)
+        @Query("select new com.okebab.okebabbackend.order.event.OrderSalesLine(i.productType, i.quantity, i.totalPrice)"
+                + " from OrderItem i where i.order.id = :orderId")
+        List<OrderSalesLine> findSalesLines(@Param("orderId") Long orderId);
+
+        @Query("select new com.okebab.okebabbackend.order.repository.OrderStatusSnapshot(o.id, o.status, o.createdAt, o.totalAmount)"
+                + " from Order o where o.id in :ids")
+        List<OrderStatusSnapshot> findStatusSnapshots(@Param("ids") Collection<Long> ids);
+
+        // Changement de statut conditionnel (compare-and-set) : ne touche que les commandes encore dans "source"
+        @Transactional
+        @Modifying
+        @Query("update Order o set o.status = :target, o.updatedAt = :now where o.id in :ids and o.status = :source")
+        int updateStatusWhere(@Param("ids") Collection<Long> ids,
+                              @Param("source") OrderStatus source,
+                              @Param("target") OrderStatus target,
+                              @Param("now") LocalDateTime now);
+
+        // Historique d'un client : ids de ses dernières commandes, lus sur l'index
+        // (customer_phone_e164, created_at, id) seul, déjà triés
+        @Query("select o.id from Order o where o.customerPhoneE164 = :phone order by o.createdAt desc, o.id desc")
+        List<Long> findRecentIdsByPhone(@Param("phone") String phoneE164, Limit limit);
+
+        // Version d'une commande (ETag) sans charger ses articles
+        @Query("select o.updatedAt from Order o where o.id = :id")
+        Optional<LocalDateTime> findUpdatedAt(@Param("id") Long id);
 }
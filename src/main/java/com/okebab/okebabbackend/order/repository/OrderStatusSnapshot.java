@@ -0,0 +1,17 @@
+package com.okebab.okebabbackend.order.repository;
+
+import com.okebab.okebabbackend.order.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ce qu'il faut d'une commande pour changer son statut (réponse et événement compris),
+ * sans charger l'entité.
+ */
+public record OrderStatusSnapshot(
+        Long id,
+        OrderStatus status,
+        LocalDateTime createdAt,
+        BigDecimal totalAmount
+) {}
@@ -0,0 +1,162 @@
+package com.okebab.okebabbackend.order.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index inversé en mémoire pour la recherche "q" du listing des commandes.
+ * <p>
+ * Couvre les mêmes champs que la recherche SQL du listing (OrderQueries : nom client, téléphone,
+ * nom produit, id) avec les mêmes règles mais répond par une liste d'ids au lieu d'un LIKE '%q%' sur orders x items.
+ * Le téléphone est indexé sur sa clé "chiffres uniquement" (colonne customer_phone_key, voir
+ * {@link PhoneKeys}), celle que la recherche SQL compare aussi.
+ * <p>
+ * Alimenté au démarrage par {@link OrderSearchIndexLoader} puis à chaque création de commande ;
+ * les commandes archivées en sont retirées (l'index ne couvre que orders). Les créations et
+ * archivages des autres instances arrivent par le rattrapage périodique du chargeur.
+ * Tant qu'il n'est pas prêt, s'il n'a pas été rattrapé depuis {@code max-lag-ms}, ou si la
+ * recherche est trop large, {@link #lookup} renvoie {@code Optional.empty()} et l'appelant
+ * retombe sur la recherche SQL.
+ */
+@Component
+public class OrderSearchIndex {
+
+    private final TermDictionary customerNames = new TermDictionary();
+    private final TermDictionary phoneKeys = new TermDictionary();
+    private final TermDictionary productNames = new TermDictionary();
+
+    private final boolean enabled;
+    private final int maxHits;
+    private final long maxLagNanos;
+
+    private volatile boolean ready;
+    // System.nanoTime() du dernier chargement ou rattrapage réussi
+    private volatile long syncedAt;
+
+    public OrderSearchIndex(
+            @Value("${okebab.search.index.enabled:true}") boolean enabled,
+            @Value("${okebab.search.index.max-hits:5000}") int maxHits,
+            @Value("${okebab.search.index.max-lag-ms:60000}") long maxLagMs
+    ) {
+        this.enabled = enabled;
+        this.maxHits = maxHits;
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Vrai si l'index est chargé et rattrapé depuis moins de {@code max-lag-ms} : au-delà (rattrapage
+     * en échec, base indisponible), il peut ignorer des commandes d'autres instances.
+     */
+    public boolean isReady() {
+        return enabled && ready && System.nanoTime() - syncedAt <= maxLagNanos;
+    }
+
+    /**
+     * L'index reflète orders au moment de l'appel (fin de chargement ou de rattrapage).
+     */
+    void markReady() {
+        this.syncedAt = System.nanoTime();
+        this.ready = true;
+    }
+
+    /**
+     * @param customerPhoneKey clé téléphone de la commande (un numéro brut donne la même clé)
+     */
+    public void addCustomer(Long orderId, String customerName, String customerPhoneKey) {
+        if (!enabled) return;
+
+        int id = Math.toIntExact(orderId);
+        String name = normalize(customerName);
+        if (name != null) customerNames.add(name, id);
+
+        String phoneKey = PhoneKeys.digits(customerPhoneKey);
+        if (phoneKey != null) phoneKeys.add(phoneKey, id);
+    }
+
+    public void addProduct(Long orderId, String productName) {
+        if (!enabled) return;
+
+        String name = normalize(productName);
+        if (name != null) productNames.add(name, Math.toIntExact(orderId));
+    }
+
+    public void addOrder(Long orderId, String customerName, String customerPhoneKey, Collection<String> productNames) {
+        addCustomer(orderId, customerName, customerPhoneKey);
+        for (String productName : productNames) {
+            addProduct(orderId, productName);
+        }
+    }
+
+    /**
+     * Retire des commandes qui ont quitté orders (archivage).
+     */
+    public void removeOrders(Collection<Long> orderIds) {
+        if (!enabled || orderIds.isEmpty()) return;
+
+        int[] ids = orderIds.stream().mapToInt(Math::toIntExact).sorted().distinct().toArray();
+        customerNames.removeAll(ids);
+        phoneKeys.removeAll(ids);
+        productNames.removeAll(ids);
+    }
+
+    /**
+     * @return les ids des commandes qui matchent, ou empty si l'index ne peut pas répondre
+     * (pas encore chargé, ou plus de {@code max-hits} résultats : un IN géant ne vaut pas mieux)
+     */
+    public Optional<Set<Long>> lookup(String q) {
+        if (!isReady() || q == null || q.isBlank()) return Optional.empty();
+
+        String term = normalize(q);
+        Set<Long> ids = new HashSet<>();
+
+        if (!collect(customerNames.containing(term), ids)) return Optional.empty();
+        if (!collect(productNames.containing(term), ids)) return Optional.empty();
+
+        if (PhoneKeys.looksLikePhone(term)) {
+            if (!collect(phoneKeys.containing(PhoneKeys.digits(term)), ids)) return Optional.empty();
+        }
+
+        // si q est un nombre -> match id (comme la spec SQL)
+        try {
+            ids.add(Long.parseLong(term));
+        } catch (NumberFormatException ignored) {
+            // pas un id
+        }
+
+        return Optional.of(ids);
+    }
+
+    public int distinctTerms() {
+        return customerNames.size() + phoneKeys.size() + productNames.size();
+    }
+
+    private boolean collect(List<TermDictionary.Postings> matches, Set<Long> ids) {
+        long total = ids.size();
+        for (TermDictionary.Postings postings : matches) {
+            total += postings.size();
+        }
+        if (total > maxHits * 4L) return false;
+
+        for (TermDictionary.Postings postings : matches) {
+            postings.forEach(id -> ids.add((long) id));
+        }
+        return ids.size() <= maxHits;
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) return null;
+        return value.toLowerCase(Locale.ROOT).trim();
+    }
+}
@@ -0,0 +1,115 @@
+package com.okebab.okebabbackend.order.search;
+
+import com.okebab.okebabbackend.order.archive.OrderArchiveRepository;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Stream;
+
+/**
+ * Charge l'index de recherche depuis la base au démarrage, en tâche de fond :
+ * l'application répond tout de suite (recherche SQL) puis bascule sur l'index une fois prêt.
+ * <p>
+ * Ensuite, l'index ne voit que les créations et archivages de cette instance : un rattrapage
+ * périodique ({@code okebab.search.index.catch-up-ms}) relit les commandes créées et archivées
+ * (par n'importe quelle instance) depuis le passage précédent, moins une marge
+ * ({@code catch-up-overlap-ms}) qui couvre les lots d'intake écrits après leur date de création et
+ * le décalage d'horloge entre instances. Relire deux fois une commande est sans effet : l'ajout et
+ * le retrait sont idempotents.
+ */
+@Slf4j
+@Component
+public class OrderSearchIndexLoader {
+
+    private final OrderSearchIndex index;
+    private final OrderRepository orderRepository;
+    private final OrderArchiveRepository archiveRepository;
+    private final TransactionTemplate readOnly;
+    private final long overlapMs;
+
+    private volatile boolean loaded;
+    // début du dernier chargement ou rattrapage réussi
+    private LocalDateTime lastPassStart;
+
+    public OrderSearchIndexLoader(
+            OrderSearchIndex index,
+            OrderRepository orderRepository,
+            OrderArchiveRepository archiveRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${okebab.search.index.catch-up-overlap-ms:60000}") long overlapMs
+    ) {
+        this.index = index;
+        this.orderRepository = orderRepository;
+        this.archiveRepository = archiveRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.overlapMs = overlapMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (!index.isEnabled()) return;
+
+        Thread loader = new Thread(this::load, "order-search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public synchronized void load() {
+        long start = System.nanoTime();
+        LocalDateTime passStart = LocalDateTime.now();
+
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<Object[]> customers = orderRepository.streamSearchCustomers()) {
+                customers.forEach(row -> index.addCustomer((Long) row[0], (String) row[1], (String) row[2]));
+            }
+            try (Stream<Object[]> products = orderRepository.streamSearchProducts()) {
+                products.forEach(row -> index.addProduct((Long) row[0], (String) row[1]));
+            }
+        });
+
+        lastPassStart = passStart;
+        loaded = true;
+        index.markReady();
+        log.info("Index de recherche commandes chargé : {} termes distincts en {} ms",
+                index.distinctTerms(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Ajoute les commandes créées et retire celles archivées depuis le dernier passage.
+     * Rien tant que le chargement initial n'est pas terminé. En cas d'échec, le repère ne bouge pas
+     * (le passage suivant relit la même période) et l'index cesse de répondre après {@code max-lag-ms}.
+     */
+    @Scheduled(initialDelayString = "${okebab.search.index.catch-up-ms:10000}",
+            fixedDelayString = "${okebab.search.index.catch-up-ms:10000}")
+    public void catchUp() {
+        // chargement en cours : pas d'attente sur le verrou, le thread des tâches planifiées est partagé
+        if (!loaded) return;
+
+        synchronized (this) {
+            LocalDateTime passStart = LocalDateTime.now();
+            LocalDateTime since = lastPassStart.minus(overlapMs, ChronoUnit.MILLIS);
+
+            readOnly.executeWithoutResult(status -> {
+                orderRepository.findSearchCustomersSince(since)
+                        .forEach(row -> index.addCustomer((Long) row[0], (String) row[1], (String) row[2]));
+                orderRepository.findSearchProductsSince(since)
+                        .forEach(row -> index.addProduct((Long) row[0], (String) row[1]));
+                // lus après les ajouts : une commande archivée entre-temps est retirée ici
+                index.removeOrders(archiveRepository.findIdsArchivedSince(since));
+            });
+
+            lastPassStart = passStart;
+            index.markReady();
+        }
+    }
+}
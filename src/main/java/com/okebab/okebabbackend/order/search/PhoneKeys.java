@@ -0,0 +1,82 @@
+package com.okebab.okebabbackend.order.search;
+
+/**
+ * Clés téléphone normalisées.
+ * <ul>
+ *   <li>{@link #digits} : uniquement les chiffres, pour la recherche "contient" :
+ *       "06 12 34 56 78", "+33 6 12 34 56 78" -> "0612345678", "33612345678".</li>
+ *   <li>{@link #e164} : numéro international E.164, pour retrouver un client quel que soit le format
+ *       saisi : "06 12 34 56 78", "+33 6 12 34 56 78", "0033612345678" -> "+33612345678".</li>
+ * </ul>
+ */
+public final class PhoneKeys {
+
+    // Indicatif des numéros saisis au format national (0 en tête)
+    public static final String DEFAULT_COUNTRY_CODE = "33";
+
+    // E.164 : 15 chiffres au plus, indicatif compris
+    private static final int MIN_E164_DIGITS = 8;
+    private static final int MAX_E164_DIGITS = 15;
+
+    private PhoneKeys() {}
+
+    /**
+     * @return null si la valeur ne contient aucun chiffre
+     */
+    public static String digits(String raw) {
+        if (raw == null) return null;
+
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c >= '0' && c <= '9') sb.append(c);
+        }
+        return sb.isEmpty() ? null : sb.toString();
+    }
+
+    /**
+     * Format E.164 ("+" puis indicatif et numéro) : "+..." ou "00..." sont internationaux, un "0" en
+     * tête est le préfixe national de {@link #DEFAULT_COUNTRY_CODE}, sinon les chiffres sont pris
+     * comme indicatif + numéro.
+     *
+     * @return null si la valeur ne donne pas un numéro E.164 plausible (8 à 15 chiffres)
+     */
+    public static String e164(String raw) {
+        String digits = digits(raw);
+        if (digits == null) return null;
+
+        String international;
+        if (raw.strip().startsWith("+")) {
+            international = digits;
+        } else if (digits.startsWith("00")) {
+            international = digits.substring(2);
+        } else if (digits.startsWith("0")) {
+            international = DEFAULT_COUNTRY_CODE + digits.substring(1);
+        } else {
+            international = digits;
+        }
+
+        if (international.startsWith("0")
+                || international.length() < MIN_E164_DIGITS
+                || international.length() > MAX_E164_DIGITS) {
+            return null;
+        }
+        return "+" + international;
+    }
+
+    /**
+     * Vrai si la saisie ressemble à un (morceau de) numéro : chiffres et séparateurs usuels.
+     */
+    public static boolean looksLikePhone(String q) {
+        boolean hasDigit = false;
+        for (int i = 0; i < q.length(); i++) {
+            char c = q.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigit = true;
+            } else if (c != ' ' && c != '+' && c != '.' && c != '-' && c != '(' && c != ')') {
+                return false;
+            }
+        }
+        return hasDigit;
+    }
+}
@@ -0,0 +1,162 @@
+package com.okebab.okebabbackend.order.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Dictionnaire des valeurs distinctes d'un champ (nom client, produit, clé téléphone).
+ * <p>
+ * Chaque valeur distincte pointe vers la liste des commandes qui la portent, et un index
+ * de trigrammes sur les valeurs permet de retrouver celles qui contiennent une sous-chaîne
+ * sans tout parcourir. Les valeurs se répètent beaucoup (prénoms, menu), donc le dictionnaire
+ * reste petit même avec des millions de commandes.
+ * <p>
+ * Ajouter deux fois la même commande ne change rien : le chargement au démarrage peut croiser
+ * une création de commande sans créer de doublon. Une valeur dont toutes les commandes sont
+ * retirées reste dans le dictionnaire, avec une liste vide (elle reviendra).
+ */
+final class TermDictionary {
+
+    private static final int GRAM = 3;
+
+    private final ConcurrentHashMap<String, Postings> terms = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> termsByGram = new ConcurrentHashMap<>();
+
+    void add(String term, int orderId) {
+        Postings postings = terms.computeIfAbsent(term, t -> {
+            for (String gram : grams(t)) {
+                termsByGram.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(t);
+            }
+            return new Postings();
+        });
+        postings.add(orderId);
+    }
+
+    /**
+     * Retire des commandes de toutes les valeurs.
+     *
+     * @param orderIds ids triés, sans doublon
+     */
+    void removeAll(int[] orderIds) {
+        if (orderIds.length == 0) return;
+        terms.values().forEach(postings -> postings.removeAll(orderIds));
+    }
+
+    /**
+     * Postings de toutes les valeurs contenant {@code q}.
+     */
+    List<Postings> containing(String q) {
+        List<Postings> matches = new ArrayList<>();
+
+        if (q.length() < GRAM) {
+            // trop court pour les trigrammes : le dictionnaire est petit, on le parcourt
+            terms.forEach((term, postings) -> {
+                if (term.contains(q)) matches.add(postings);
+            });
+            return matches;
+        }
+
+        // on part du trigramme le plus sélectif puis on vérifie la sous-chaîne
+        Set<String> candidates = null;
+        for (String gram : grams(q)) {
+            Set<String> withGram = termsByGram.get(gram);
+            if (withGram == null) return matches;
+            if (candidates == null || withGram.size() < candidates.size()) candidates = withGram;
+        }
+
+        for (String term : candidates) {
+            if (term.contains(q)) matches.add(terms.get(term));
+        }
+        return matches;
+    }
+
+    int size() {
+        return terms.size();
+    }
+
+    private static Set<String> grams(String s) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= s.length(); i++) {
+            grams.add(s.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Ensemble d'ids de commandes en int[] trié (pas de Long boxés).
+     * <p>
+     * Les ids arrivent presque toujours croissants : l'ajout en fin se fait en place, au-delà de la
+     * taille lue par {@link #forEach}. Une insertion au milieu ou un retrait recopie le tableau,
+     * pour qu'un parcours en cours garde une vue cohérente.
+     */
+    static final class Postings {
+
+        private int[] ids = new int[2];
+        private int size;
+
+        synchronized void add(int id) {
+            if (size == 0 || ids[size - 1] < id) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                ids[size++] = id;
+                return;
+            }
+
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) return;
+
+            int insertAt = -pos - 1;
+            int[] copy = new int[size == ids.length ? size * 2 : ids.length];
+            System.arraycopy(ids, 0, copy, 0, insertAt);
+            copy[insertAt] = id;
+            System.arraycopy(ids, insertAt, copy, insertAt + 1, size - insertAt);
+            ids = copy;
+            size++;
+        }
+
+        // fusion de deux listes triées
+        synchronized void removeAll(int[] sortedIds) {
+            int[] kept = null;
+            int n = 0;
+            int j = 0;
+            for (int i = 0; i < size; i++) {
+                int id = ids[i];
+                while (j < sortedIds.length && sortedIds[j] < id) j++;
+                boolean removed = j < sortedIds.length && sortedIds[j] == id;
+                if (removed && kept == null) {
+                    kept = new int[ids.length];
+                    System.arraycopy(ids, 0, kept, 0, i);
+                    n = i;
+                } else if (!removed && kept != null) {
+                    kept[n++] = id;
+                }
+            }
+            if (kept == null) return;
+
+            ids = kept;
+            size = n;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        void forEach(IntConsumer consumer) {
+            int[] snapshot;
+            int n;
+            synchronized (this) {
+                snapshot = ids;
+                n = size;
+            }
+            for (int i = 0; i < n; i++) {
+                consumer.accept(snapshot[i]);
+            }
+        }
+    }
+}
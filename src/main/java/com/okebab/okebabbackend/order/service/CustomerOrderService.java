@@ -0,0 +1,73 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.okebab.okebabbackend.common.datasource.ReplicaRead;
+import com.okebab.okebabbackend.order.archive.OrderArchiveRepository;
+import com.okebab.okebabbackend.order.archive.OrderArchiveService;
+import com.okebab.okebabbackend.order.dto.response.CustomerOrdersResponse;
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import com.okebab.okebabbackend.order.search.PhoneKeys;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Historique des commandes d'un client, retrouvé par son téléphone normalisé en E.164.
+ * <p>
+ * Deux temps par table : les ids des N dernières commandes sur l'index
+ * (customer_phone_e164, created_at, id) seul, puis les résumés de ces N commandes par clé primaire.
+ * Le coût ne dépend que de N, jamais du nombre de commandes du client ni de la taille de la table.
+ * L'archive n'est lue que si les commandes actives ne suffisent pas à remplir N, ou si la plus
+ * ancienne remonte avant l'horizon d'archivage.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerOrderService {
+
+    private static final int MAX_LIMIT = 50;
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private static final Comparator<OrderSummaryResponse> NEWEST = Comparator
+            .comparing(OrderSummaryResponse::createdAt)
+            .thenComparing(OrderSummaryResponse::id)
+            .reversed();
+
+    private final OrderRepository orderRepository;
+    private final OrderArchiveRepository archiveRepository;
+    private final OrderArchiveService orderArchiveService;
+
+    @Timed(value = "okebab.order.customer", histogram = true)
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public CustomerOrdersResponse recentOrders(String phone, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit doit être compris entre 1 et " + MAX_LIMIT);
+        }
+        String e164 = PhoneKeys.e164(phone);
+        if (e164 == null) {
+            throw new IllegalArgumentException("Numéro de téléphone invalide");
+        }
+
+        List<OrderSummaryResponse> live = orderRepository.findFirstSummaries(
+                OrderFilter.ALL.withIds(orderRepository.findRecentIdsByPhone(e164, Limit.of(limit))), NEWEST_FIRST, limit);
+        if (live.size() == limit && !orderArchiveService.reaches(live.get(limit - 1).createdAt())) {
+            return new CustomerOrdersResponse(e164, live);
+        }
+
+        List<OrderSummaryResponse> archived = orderRepository.findFirstArchivedSummaries(
+                OrderFilter.ALL.withIds(archiveRepository.findRecentIdsByPhone(e164, Limit.of(limit))), NEWEST_FIRST, limit);
+        return new CustomerOrdersResponse(e164, Stream.concat(live.stream(), archived.stream())
+                .sorted(NEWEST)
+                .limit(limit)
+                .toList());
+    }
+}
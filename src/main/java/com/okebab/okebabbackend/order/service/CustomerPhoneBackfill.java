@@ -0,0 +1,108 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.okebab.okebabbackend.order.search.PhoneKeys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Complète customer_phone_e164 des commandes écrites avant V9 (orders puis orders_archive),
+ * en tâche de fond après le démarrage.
+ * <p>
+ * Parcours par id croissant (clé primaire) par lots de {@code okebab.phone.backfill.batch-size},
+ * une transaction implicite par lot et une pause entre deux lots. Une ligne déjà complétée (nouvelle
+ * commande, autre instance) n'est pas réécrite ; un numéro non normalisable reste à null et n'est
+ * pas relu. Sans ligne à compléter, le travail se limite à une requête par table.
+ */
+@Slf4j
+@Component
+public class CustomerPhoneBackfill {
+
+    private static final List<String> TABLES = List.of("orders", "orders_archive");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pauseMs;
+
+    public CustomerPhoneBackfill(
+            JdbcTemplate jdbcTemplate,
+            @Value("${okebab.phone.backfill.enabled:true}") boolean enabled,
+            @Value("${okebab.phone.backfill.batch-size:1000}") int batchSize,
+            @Value("${okebab.phone.backfill.pause-ms:100}") long pauseMs
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillInBackground() {
+        if (!enabled) return;
+
+        Thread worker = new Thread(this::backfill, "customer-phone-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * @return nombre de commandes complétées
+     */
+    public int backfill() {
+        long start = System.currentTimeMillis();
+        int total = 0;
+        for (String table : TABLES) {
+            total += backfill(table);
+        }
+        if (total > 0) {
+            log.info("Téléphones E.164 : {} commandes complétées en {} ms", total, System.currentTimeMillis() - start);
+        }
+        return total;
+    }
+
+    private int backfill(String table) {
+        String select = "select id, customer_phone from " + table
+                + " where id > ? and customer_phone_e164 is null and customer_phone is not null order by id limit ?";
+        String update = "update " + table + " set customer_phone_e164 = ? where id = ? and customer_phone_e164 is null";
+
+        int updated = 0;
+        long after = 0;
+        while (true) {
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            List<Long> ids = new ArrayList<>(batchSize);
+            jdbcTemplate.query(select, rs -> {
+                long id = rs.getLong(1);
+                ids.add(id);
+                String e164 = PhoneKeys.e164(rs.getString(2));
+                if (e164 != null) batch.add(new Object[]{e164, id});
+            }, after, batchSize);
+
+            if (!batch.isEmpty()) {
+                for (int count : jdbcTemplate.batchUpdate(update, batch)) {
+                    updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+                }
+            }
+            if (ids.size() < batchSize) return updated;
+
+            after = ids.get(ids.size() - 1);
+            pause();
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
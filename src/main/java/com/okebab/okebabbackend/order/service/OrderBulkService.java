@@ -0,0 +1,212 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okebab.okebabbackend.common.error.ConflictException;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.BulkOrderResult;
+import com.okebab.okebabbackend.order.model.Order;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Import en masse de commandes (kiosques hors ligne, plateformes partenaires).
+ * <p>
+ * Le corps est lu au fil de l'eau avec le parser streaming de Jackson, en tableau JSON
+ * ({@code [ {...}, {...} ]}) ou en NDJSON (un objet par ligne). Une seule commande est
+ * désérialisée à la fois ; les commandes valides sont enregistrées par lots de
+ * {@code okebab.bulk.chunk-size} (une transaction et un flush par lot) et un résultat
+ * NDJSON est écrit pour chaque commande dès que son lot est terminé.
+ * <p>
+ * Une commande refusée par la base (valide pour Bean Validation, mais pas pour le schéma) ne
+ * fait pas échouer ses voisines : si le lot est annulé, ses commandes sont reprises une par une
+ * et seule la fautive ressort en FAILED.
+ */
+@Slf4j
+@Service
+public class OrderBulkService {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public OrderBulkService(
+            OrderService orderService,
+            OrderRepository orderRepository,
+            ObjectMapper objectMapper,
+            Validator validator,
+            PlatformTransactionManager transactionManager,
+            @Value("${okebab.bulk.chunk-size:200}") int chunkSize
+    ) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public void importOrders(InputStream body, OutputStream out) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+
+            // une ligne par résultat : pas de séparateur " " entre valeurs racines
+            generator.setRootValueSeparator(null);
+            Chunk chunk = new Chunk(generator);
+            int index = 0;
+
+            try {
+                JsonToken token = parser.nextToken();
+                boolean array = token == JsonToken.START_ARRAY;
+                if (array) token = parser.nextToken();
+
+                while (token != null && token != JsonToken.END_ARRAY) {
+                    if (token != JsonToken.START_OBJECT) {
+                        throw new IllegalArgumentException("objet commande attendu, trouvé " + token);
+                    }
+
+                    // un seul objet en mémoire à la fois
+                    JsonNode node = objectMapper.readTree(parser);
+                    chunk.add(index++, node);
+
+                    if (chunk.isFull()) chunk.flush();
+                    token = parser.nextToken();
+                }
+            } catch (JsonProcessingException e) {
+                // flux illisible : on enregistre ce qui précède puis on s'arrête
+                chunk.flush();
+                chunk.write(BulkOrderResult.rejected(index, List.of("JSON invalide : " + e.getOriginalMessage())));
+                return;
+            } catch (IllegalArgumentException e) {
+                chunk.flush();
+                chunk.write(BulkOrderResult.rejected(index, List.of("JSON invalide : " + e.getMessage())));
+                return;
+            }
+
+            chunk.flush();
+        }
+    }
+
+    private List<String> validate(OrderRequest request) {
+        Set<ConstraintViolation<OrderRequest>> violations = validator.validate(request);
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " : " + v.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    // la requête est gardée pour reconstruire la commande si le lot est annulé
+    private record Pending(int index, OrderRequest request, Order order) {}
+
+    /**
+     * Lot en cours : commandes valides à enregistrer et résultats à écrire, dans l'ordre du flux.
+     */
+    private final class Chunk {
+
+        private final JsonGenerator generator;
+        private final List<Pending> orders = new ArrayList<>();
+        private final List<BulkOrderResult> rejected = new ArrayList<>();
+
+        Chunk(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        void add(int index, JsonNode node) {
+            try {
+                OrderRequest request = objectMapper.treeToValue(node, OrderRequest.class);
+
+                List<String> errors = validate(request);
+                if (!errors.isEmpty()) {
+                    rejected.add(BulkOrderResult.rejected(index, errors));
+                    return;
+                }
+
+                orders.add(new Pending(index, request, orderService.buildOrder(request)));
+            } catch (JsonProcessingException e) {
+                rejected.add(BulkOrderResult.rejected(index, List.of(e.getOriginalMessage())));
+            } catch (IllegalArgumentException | ConflictException e) {
+                // produit inconnu, prix périmé...
+                rejected.add(BulkOrderResult.rejected(index, List.of(e.getMessage())));
+            }
+        }
+
+        boolean isFull() {
+            return orders.size() + rejected.size() >= chunkSize;
+        }
+
+        void flush() throws IOException {
+            List<BulkOrderResult> results = new ArrayList<>(rejected);
+
+            if (!orders.isEmpty()) {
+                if (save(orders.stream().map(Pending::order).toList())) {
+                    for (Pending pending : orders) {
+                        results.add(created(pending.index(), pending.order()));
+                    }
+                } else {
+                    log.warn("Import en masse : lot de {} commandes annulé, reprise une par une", orders.size());
+                    for (Pending pending : orders) {
+                        results.add(saveAlone(pending));
+                    }
+                }
+            }
+
+            results.sort((a, b) -> Integer.compare(a.index(), b.index()));
+            for (BulkOrderResult result : results) {
+                write(result);
+            }
+            generator.flush();
+
+            orders.clear();
+            rejected.clear();
+        }
+
+        // entités d'un lot annulé : ids et état Hibernate périmés, on repart de la requête
+        private BulkOrderResult saveAlone(Pending pending) {
+            Order order = orderService.buildOrder(pending.request());
+            if (!save(List.of(order))) {
+                return BulkOrderResult.failed(pending.index(), "Échec d'enregistrement de la commande");
+            }
+            return created(pending.index(), order);
+        }
+
+        private boolean save(List<Order> batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> orderRepository.saveAll(batch));
+                return true;
+            } catch (RuntimeException e) {
+                log.warn("Import en masse : échec d'enregistrement de {} commande(s)", batch.size(), e);
+                return false;
+            }
+        }
+
+        private BulkOrderResult created(int index, Order order) {
+            orderService.afterCreate(order);
+            return BulkOrderResult.created(index, order.getId());
+        }
+
+        void write(BulkOrderResult result) throws IOException {
+            generator.writeObject(result);
+            generator.writeRaw('\n');
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okebab.okebabbackend.common.error.ServiceUnavailableException;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.OrderResponse;
+import com.okebab.okebabbackend.order.intake.JournaledOrder;
+import com.okebab.okebabbackend.order.intake.OrderJournal;
+import com.okebab.okebabbackend.order.model.Order;
+import com.okebab.okebabbackend.order.model.OrderItem;
+import com.okebab.okebabbackend.order.repository.OrderJdbcWriter;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prise de commande différée (okebab.intake.async.enabled=true).
+ * <p>
+ * Dans la requête : validation, calcul des prix ({@link OrderService#buildOrder}), attribution des
+ * ids par les générateurs Hibernate (mêmes séquences poolées que createOrder), ajout au journal
+ * local ({@link OrderJournal}, sur disque avant de répondre) puis 202. Aucune connexion MySQL
+ * n'est prise, sauf une fois tous les 50 ids pour réserver un bloc de séquence.
+ * <p>
+ * Un thread d'écriture vide la file par lots de {@code okebab.intake.batch-size} (INSERT JDBC en
+ * batch, une transaction par lot), puis acquitte le journal et déclenche index et événements
+ * ({@link OrderService#afterCreate}). Base indisponible : le lot est retenté jusqu'à ce qu'elle
+ * revienne. Commande refusée par la base : isolée et mise en lettre morte.
+ * <p>
+ * File pleine ({@code okebab.intake.queue-capacity} commandes non écrites) : 503 + Retry-After.
+ * Au démarrage, les commandes restées dans le journal sont réécrites (les ids déjà en base sont ignorés).
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "okebab.intake.async.enabled", havingValue = "true")
+public class OrderIntakeService {
+
+    private final OrderService orderService;
+    private final OrderJdbcWriter orderJdbcWriter;
+    private final SessionFactoryImplementor sessionFactory;
+    private final OrderJournal journal;
+    private final int batchSize;
+    private final long retryDelayMs;
+
+    private final Semaphore slots;
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public OrderIntakeService(
+            OrderService orderService,
+            OrderJdbcWriter orderJdbcWriter,
+            EntityManagerFactory entityManagerFactory,
+            ObjectMapper objectMapper,
+            @Value("${okebab.intake.journal-dir:data/intake}") Path journalDir,
+            @Value("${okebab.intake.segment-size:10000}") int segmentSize,
+            @Value("${okebab.intake.fsync:true}") boolean fsync,
+            @Value("${okebab.intake.queue-capacity:5000}") int queueCapacity,
+            @Value("${okebab.intake.batch-size:200}") int batchSize,
+            @Value("${okebab.intake.retry-delay-ms:1000}") long retryDelayMs
+    ) throws IOException {
+        this.orderService = orderService;
+        this.orderJdbcWriter = orderJdbcWriter;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.journal = new OrderJournal(journalDir, objectMapper, segmentSize, fsync);
+        this.batchSize = batchSize;
+        this.retryDelayMs = retryDelayMs;
+        this.slots = new Semaphore(queueCapacity);
+    }
+
+    /**
+     * @param slot true si la commande occupe une place de la file (false pour un rejeu)
+     */
+    private record Pending(long segment, Order order, boolean slot) {}
+
+    // =====================
+    // PRISE DE COMMANDE
+    // =====================
+    public OrderResponse submit(OrderRequest request) {
+        if (!slots.tryAcquire()) {
+            throw new ServiceUnavailableException("Trop de commandes en attente d'enregistrement, réessayez");
+        }
+
+        try {
+            Order order = orderService.buildOrder(request);
+            assignIds(order);
+
+            long segment = journal.append(JournaledOrder.from(order));
+            queue.add(new Pending(segment, order, true));
+
+            return new OrderResponse(order.getId(), order.getStatus(), order.getTotalAmount(), order.getCreatedAt());
+        } catch (IOException e) {
+            slots.release();
+            throw new UncheckedIOException("Écriture du journal d'intake impossible", e);
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    public int pendingCount() {
+        return journal.pendingCount();
+    }
+
+    private void assignIds(Order order) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            SharedSessionContractImplementor s = (SharedSessionContractImplementor) session;
+            order.setId((Long) generator(Order.class).generate(s, order, null, EventType.INSERT));
+            for (OrderItem item : order.getItems()) {
+                item.setId((Long) generator(OrderItem.class).generate(s, item, null, EventType.INSERT));
+            }
+        }
+    }
+
+    private BeforeExecutionGenerator generator(Class<?> entity) {
+        return (BeforeExecutionGenerator) sessionFactory.getMappingMetamodel().getEntityDescriptor(entity).getGenerator();
+    }
+
+    // =====================
+    // ÉCRITURE EN BASE
+    // =====================
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (OrderJournal.Entry entry : journal.recovered()) {
+            queue.add(new Pending(entry.segment(), entry.order().toOrder(), false));
+        }
+
+        writer = new Thread(this::drainLoop, "order-intake-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            try {
+                Pending first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // lot laissé dans le journal : rejoué au prochain démarrage
+                log.error("Intake : lot de {} commandes non écrit", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) throws InterruptedException {
+        while (running) {
+            try {
+                List<Order> written = orderJdbcWriter.insertMissing(batch.stream().map(Pending::order).toList());
+                written.forEach(orderService::afterCreate);
+                batch.forEach(this::done);
+                return;
+            } catch (TransientDataAccessException | DataAccessResourceFailureException
+                     | CannotCreateTransactionException e) {
+                log.warn("Intake : base indisponible, nouvel essai dans {} ms ({} commandes en attente)",
+                        retryDelayMs, journal.pendingCount());
+                Thread.sleep(retryDelayMs);
+            } catch (RuntimeException e) {
+                if (batch.size() > 1) {
+                    // une commande refusée ne doit pas bloquer les autres : une par une
+                    for (Pending pending : batch) {
+                        write(List.of(pending));
+                    }
+                } else {
+                    deadLetter(batch.get(0), e);
+                }
+                return;
+            }
+        }
+    }
+
+    private void deadLetter(Pending pending, RuntimeException cause) {
+        log.error("Intake : commande {} refusée par la base, mise en lettre morte", pending.order().getId(), cause);
+        try {
+            journal.deadLetter(JournaledOrder.from(pending.order()));
+            done(pending);
+        } catch (IOException e) {
+            log.error("Intake : lettre morte impossible pour la commande {}, conservée dans le journal",
+                    pending.order().getId(), e);
+        }
+    }
+
+    private void done(Pending pending) {
+        journal.acknowledge(pending.segment());
+        if (pending.slot()) slots.release();
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException, InterruptedException {
+        // laisse le lot en cours se terminer ; le reste est dans le journal
+        running = false;
+        if (writer != null) writer.join(TimeUnit.SECONDS.toMillis(10));
+        journal.close();
+    }
+}
@@ -1,105 +1,105 @@
 package com.okebab.okebabbackend.order.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okebab.okebabbackend.common.datasource.ReplicaRead;
+import com.okebab.okebabbackend.common.error.ConflictException;
+import com.okebab.okebabbackend.common.error.NotFoundException;
+import com.okebab.okebabbackend.order.archive.OrderArchiveService;
 import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
 import com.okebab.okebabbackend.order.dto.request.OrderRequest;
 import com.okebab.okebabbackend.order.dto.response.*;
+import com.okebab.okebabbackend.order.event.OrderCreatedEvent;
+import com.okebab.okebabbackend.order.event.OrderSalesLine;
+import com.okebab.okebabbackend.order.event.OrderStatusChangedEvent;
 import com.okebab.okebabbackend.order.model.Order;
 import com.okebab.okebabbackend.order.model.OrderItem;
 import com.okebab.okebabbackend.order.model.OrderStatus;
 import com.okebab.okebabbackend.order.model.ProductType;
+import com.okebab.okebabbackend.order.model.SelectionsCodec;
+import com.okebab.okebabbackend.order.pricing.PricingService;
+import com.okebab.okebabbackend.order.repository.ListingVersion;
+import com.okebab.okebabbackend.order.repository.OrderCursor;
 import com.okebab.okebabbackend.order.repository.OrderRepository;
-import com.okebab.okebabbackend.order.spec.OrderSpecifications;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
+import com.okebab.okebabbackend.order.repository.OrderStatusSnapshot;
+import com.okebab.okebabbackend.order.search.OrderSearchIndex;
+import com.okebab.okebabbackend.order.search.PhoneKeys;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
-    private final OrderRepository orderRepository;
-    private final ObjectMapper objectMapper;
-
-    public static Specification<Order> totalBetween(BigDecimal min, BigDecimal max) {
-        return (root, query, cb) -> {
-            if (min == null && max == null) return null;
-            if (min != null && max != null) return cb.between(root.get("totalAmount"), min, max);
-            if (min != null) return cb.greaterThanOrEqualTo(root.get("totalAmount"), min);
-            return cb.lessThanOrEqualTo(root.get("totalAmount"), max);
-        };
-    }
-
-    public static Specification<Order> customerNameLike(String customerName) {
-        return (root, query, cb) -> {
-            if (customerName == null || customerName.isBlank()) return null;
-            return cb.like(cb.lower(root.get("customerName")), "%" + customerName.toLowerCase().trim() + "%");
-        };
-    }
-
-    public static Specification<Order> customerPhoneLike(String customerPhone) {
-        return (root, query, cb) -> {
-            if (customerPhone == null || customerPhone.isBlank()) return null;
-            return cb.like(cb.lower(root.get("customerPhone")), "%" + customerPhone.toLowerCase().trim() + "%");
-        };
-    }
-
-    /**
-     * Recherche "q" sur:
-     * - customerName, customerPhone
-     * - productName (OrderItem)
-     * - id si q est numérique
-     */
-    public static Specification<Order> search(String q) {
-        return (root, query, cb) -> {
-            if (q == null || q.isBlank()) return null;
-
-            String like = "%" + q.toLowerCase().trim() + "%";
-
-            // join items uniquement pour la recherche produit
-            Join<Order, OrderItem> items = root.join("items", JoinType.LEFT);
-
-            // IMPORTANT pour éviter les doublons quand on join
-            query.distinct(true);
+    public static final String ORDER_DETAILS_CACHE = "orderDetails";
 
-            var p1 = cb.like(cb.lower(root.get("customerName")), like);
-            var p2 = cb.like(cb.lower(root.get("customerPhone")), like);
-            var p3 = cb.like(cb.lower(items.get("productName")), like);
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
-            // si q est un nombre -> match id
-            try {
-                Long id = Long.parseLong(q.trim());
-                var p4 = cb.equal(root.get("id"), id);
-                return cb.or(p1, p2, p3, p4);
-            } catch (NumberFormatException ignored) {
-                return cb.or(p1, p2, p3);
-            }
-        };
-    }
+    private final OrderRepository orderRepository;
+    private final OrderSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final OrderArchiveService orderArchiveService;
+    private final PricingService pricingService;
+    private final RecentOrderWrites recentWrites;
+    private final PlatformTransactionManager transactionManager;
 
     // =====================
     // CREATE ORDER
     // =====================
+    @Timed(value = "okebab.order.create", histogram = true)
     public OrderResponse createOrder(OrderRequest request) {
+        Order saved = orderRepository.save(buildOrder(request));
+
+        afterCreate(saved);
+
+        return new OrderResponse(
+                saved.getId(),
+                saved.getStatus(),
+                saved.getTotalAmount(),
+                saved.getCreatedAt()
+        );
+    }
+
+    /**
+     * Construit la commande (articles, prix, sélections) sans la persister.
+     * Partagé entre la création unitaire, l'import en masse et l'intake différé.
+     * Prix absent de la carte : IllegalArgumentException ; prix du client périmé : ConflictException.
+     */
+    Order buildOrder(OrderRequest request) {
         if (request.getItems() == null || request.getItems().isEmpty()) {
             throw new IllegalArgumentException("La commande doit contenir au moins un article.");
         }
 
         Order order = new Order();
         order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(order.getCreatedAt());
         order.setStatus(OrderStatus.PENDING);
         order.setCustomerName(request.getCustomerName());
         order.setCustomerPhone(request.getCustomerPhone());
+        order.setCustomerPhoneKey(PhoneKeys.digits(request.getCustomerPhone()));
+        order.setCustomerPhoneE164(PhoneKeys.e164(request.getCustomerPhone()));
         order.setPickupTime(request.getPickupTime());
 
         BigDecimal total = BigDecimal.ZERO;
@@ -115,46 +115,56 @@ public class OrderService {
             ProductType type = mapProductType(itemReq.getProductType());
             item.setProductType(type);
 
-            BigDecimal basePrice = itemReq.getBasePrice() != null
-                    ? itemReq.getBasePrice()
-                    : BigDecimal.ZERO;
-
-            item.setBasePrice(basePrice);
+            // carte serveur si okebab.pricing.enabled, sinon prix envoyés par le client
+            PricingService.LinePrice price = pricingService.price(type, itemReq);
+            item.setBasePrice(price.basePrice());
 
-            BigDecimal lineTotal = itemReq.getTotalPrice();
-            if (lineTotal == null) {
-                lineTotal = basePrice.multiply(BigDecimal.valueOf(item.getQuantity()));
-            }
+            BigDecimal lineTotal = price.totalPrice();
             item.setTotalPrice(lineTotal);
 
-            if (itemReq.getSelections() != null) {
-                try {
-                    item.setSelectionsJson(
-                            objectMapper.writeValueAsString(itemReq.getSelections())
-                    );
-                } catch (JsonProcessingException e) {
-                    throw new RuntimeException("Erreur lors de la sérialisation des sélections", e);
-                }
-            }
+            item.setSelections(SelectionsCodec.encode(itemReq.getSelections()));
 
             order.addItem(item);
             total = total.add(lineTotal);
         }
 
         order.setTotalAmount(total);
+        return order;
+    }
 
-        Order saved = orderRepository.save(order);
-
-        return new OrderResponse(
+    /**
+     * À appeler une fois la commande enregistrée (transaction validée).
+     */
+    void afterCreate(Order saved) {
+        searchIndex.addOrder(
                 saved.getId(),
-                saved.getStatus(),
-                saved.getTotalAmount(),
-                saved.getCreatedAt()
+                saved.getCustomerName(),
+                saved.getCustomerPhoneKey(),
+                saved.getItems().stream().map(OrderItem::getProductName).toList()
         );
+
+        eventPublisher.publishEvent(new OrderCreatedEvent(
+                new OrderSummaryResponse(
+                        saved.getId(),
+                        saved.getStatus(),
+                        saved.getTotalAmount(),
+                        saved.getCreatedAt(),
+                        saved.getPickupTime(),
+                        saved.getCustomerName(),
+                        saved.getCustomerPhone(),
+                        saved.getItems().size()
+                ),
+                saved.getItems().stream()
+                        .map(i -> new OrderSalesLine(i.getProductType(), i.getQuantity(), i.getTotalPrice()))
+                        .toList()
+        ));
     }
 
 
 
+    @Timed(value = "okebab.order.list", histogram = true)
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public Page<OrderListItemResponse> listOrders(
             OrderStatus status,
             String q,
@@ -162,30 +172,26 @@ public class OrderService {
             LocalDateTime dateTo,
             Pageable pageable
     ) {
-        Specification<Order> spec = Specification
-                .where(OrderSpecifications.hasStatus(status))
-                .and(OrderSpecifications.search(q))
-                .and(OrderSpecifications.createdAfter(dateFrom))
-                .and(OrderSpecifications.createdBefore(dateTo))
-                .and(OrderSpecifications.createdBetween(dateFrom, dateTo));
-
-        return orderRepository.findAll(spec, pageable)
+        OrderFilter filter = liveFilter(OrderFilter.of(status, q, null, null, dateFrom, dateTo, null, null));
+
+        return orderRepository.findSummaries(filter, pageable)
                 .map(o -> new OrderListItemResponse(
-                        o.getId(),
-                        o.getStatus(),
-                        o.getTotalAmount(),
-                        o.getCreatedAt(),
-                        o.getCustomerName(),
-                        o.getCustomerPhone(),
-                        o.getPickupTime(),
-                        o.getItems() != null ? o.getItems().size() : 0
+                        o.id(),
+                        o.status(),
+                        o.totalAmount(),
+                        o.createdAt(),
+                        o.customerName(),
+                        o.customerPhone(),
+                        o.pickupTime(),
+                        o.itemsCount()
                 ));
     }
 
     // =====================
     // PRODUCT TYPE MAPPING
     // =====================
-    private ProductType mapProductType(String type) {
+    // visible du package : mesuré par OrderWriteBenchmark (src/jmh/java)
+    ProductType mapProductType(String type) {
         if (type == null) {
             throw new IllegalArgumentException("productType est requis");
         }
@@ -209,9 +215,21 @@ public class OrderService {
 
 
 
+    // Lecture via le cache "orderDetails" (Caffeine, taille + TTL bornés).
+    // sync = true : un seul chargement par id quand plusieurs requêtes ratent en même temps.
+    @Timed(value = "okebab.order.get", histogram = true)
+    @ReplicaRead
+    @Cacheable(cacheNames = ORDER_DETAILS_CACHE, key = "#id", sync = true)
+    @Transactional(readOnly = true)
     public OrderDetailsResponse getOrderById(Long id) {
-        Order o = orderRepository.findWithItemsById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Commande introuvable"));
+        recentWrites.pinIfRecent(id);
+        Optional<Order> live = orderRepository.findWithItemsById(id);
+        if (live.isEmpty()) {
+            return orderArchiveService.findDetails(id)
+                    .orElseThrow(() -> new NotFoundException("Commande introuvable"));
+        }
+
+        Order o = live.get();
 
         var items = o.getItems().stream()
                 .map(i -> new OrderItemResponse(
@@ -222,7 +240,7 @@ public class OrderService {
                         i.getBasePrice(),
                         i.getTotalPrice(),
                         i.getQuantity(),
-                        i.getSelectionsJson(),
+                        SelectionsCodec.toJson(i.getSelections()),
                         i.getDescription()
                 ))
                 .toList();
@@ -235,55 +253,226 @@ public class OrderService {
                 o.getCustomerName(),
                 o.getCustomerPhone(),
                 o.getPickupTime(),
-                items
+                items,
+                o.getUpdatedAt()
         );
     }
 
+    /**
+     * Date de dernière modification, sans charger la commande : permet de répondre 304 à un
+     * If-None-Match sans passer par le détail.
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public LocalDateTime getOrderVersion(Long id) {
+        recentWrites.pinIfRecent(id);
+        return orderRepository.findUpdatedAt(id)
+                .or(() -> orderArchiveService.findUpdatedAt(id))
+                .orElseThrow(() -> new NotFoundException("Commande introuvable"));
+    }
+
+    // =====================
+    // CHANGEMENTS DE STATUT
+    // =====================
+    // appel interne : le @CacheEvict de la surcharge ne passerait pas par le proxy
+    @Timed(value = "okebab.order.status.update", histogram = true)
+    @CacheEvict(cacheNames = ORDER_DETAILS_CACHE, key = "#id")
     public OrderResponse updateStatus(Long id, OrderStatus newStatus) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Commande introuvable"));
+        return updateStatus(id, newStatus, null);
+    }
+
+    /**
+     * Un SELECT léger puis un UPDATE conditionnel ("... where status = statut lu") : deux écrans qui
+     * changent la même commande en même temps ne s'écrasent pas, le second reçoit 409.
+     *
+     * @param expectedStatus optionnel : statut vu par le client, 409 s'il ne correspond plus
+     */
+    @Timed(value = "okebab.order.status.update", histogram = true)
+    @CacheEvict(cacheNames = ORDER_DETAILS_CACHE, key = "#id")
+    public OrderResponse updateStatus(Long id, OrderStatus newStatus, OrderStatus expectedStatus) {
+        OrderStatusSnapshot order = orderRepository.findStatusSnapshots(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Commande introuvable"));
+
+        OrderStatus previousStatus = order.status();
+        if (expectedStatus != null && expectedStatus != previousStatus) {
+            throw new ConflictException("Commande " + id + " déjà passée en " + previousStatus);
+        }
+        if (previousStatus == newStatus) {
+            return toResponse(order, newStatus);
+        }
+        if (!previousStatus.canMoveTo(newStatus)) {
+            throw new ConflictException("Transition " + previousStatus + " -> " + newStatus + " interdite");
+        }
+        if (orderRepository.updateStatusWhere(List.of(id), previousStatus, newStatus, LocalDateTime.now()) == 0) {
+            throw new ConflictException("Commande " + id + " modifiée entre-temps, rechargez-la");
+        }
 
-        order.setStatus(newStatus);
-        Order saved = orderRepository.save(order);
+        publishStatusChanged(order, newStatus);
+        return toResponse(order, newStatus);
+    }
 
-        return new OrderResponse(
-                saved.getId(),
-                saved.getStatus(),
-                saved.getTotalAmount(),
-                saved.getCreatedAt()
-        );
+    /**
+     * Fait passer plusieurs commandes au même statut : un SELECT, puis un UPDATE conditionnel par
+     * statut de départ (en pratique un ou deux). Les commandes qui ne peuvent pas y aller sont
+     * renvoyées en conflit, sans faire échouer les autres.
+     * <p>
+     * Si une autre requête a changé certaines commandes entre-temps, l'UPDATE groupé est annulé et
+     * repris commande par commande : l'événement de changement n'est publié (et le cache vidé) que
+     * pour les commandes que cet appel a réellement changées, jamais deux fois pour la même.
+     */
+    public BulkStatusUpdateResponse updateStatuses(Collection<Long> ids, OrderStatus newStatus) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        List<OrderStatusSnapshot> found = orderRepository.findStatusSnapshots(requested);
+
+        List<Long> updated = new ArrayList<>();
+        List<Long> conflicts = new ArrayList<>();
+        List<Long> notFound = new ArrayList<>(requested);
+        found.forEach(o -> notFound.remove(o.id()));
+
+        Map<OrderStatus, List<OrderStatusSnapshot>> bySource = new EnumMap<>(OrderStatus.class);
+        for (OrderStatusSnapshot order : found) {
+            if (order.status() == newStatus) {
+                updated.add(order.id());
+            } else if (order.status().canMoveTo(newStatus)) {
+                bySource.computeIfAbsent(order.status(), s -> new ArrayList<>()).add(order);
+            } else {
+                conflicts.add(order.id());
+            }
+        }
+
+        for (Map.Entry<OrderStatus, List<OrderStatusSnapshot>> group : bySource.entrySet()) {
+            List<OrderStatusSnapshot> candidates = group.getValue();
+            List<Long> candidateIds = candidates.stream().map(OrderStatusSnapshot::id).toList();
+
+            if (!updateAllOrNone(candidateIds, group.getKey(), newStatus)) {
+                // certaines ont bougé entre le SELECT et l'UPDATE. Relire ne dirait pas qui les a
+                // changées (une autre requête a pu faire le même changement) : une par une, chaque
+                // UPDATE dit si c'est cet appel qui a fait le changement
+                List<OrderStatusSnapshot> moved = new ArrayList<>();
+                for (OrderStatusSnapshot order : candidates) {
+                    if (orderRepository.updateStatusWhere(List.of(order.id()), group.getKey(), newStatus, LocalDateTime.now()) == 1) {
+                        moved.add(order);
+                    } else {
+                        conflicts.add(order.id());
+                    }
+                }
+                candidates = moved;
+            }
+
+            for (OrderStatusSnapshot order : candidates) {
+                evictDetails(order.id());
+                publishStatusChanged(order, newStatus);
+                updated.add(order.id());
+            }
+        }
+
+        return new BulkStatusUpdateResponse(newStatus, updated, conflicts, notFound);
     }
 
-    public Page<OrderSummaryResponse> listOrders(
-            OrderStatus status,
-            String q,
-            String customerName,
-            String customerPhone,
-            LocalDateTime from,
-            LocalDateTime to,
-            BigDecimal minTotal,
-            BigDecimal maxTotal,
-            Pageable pageable
-    ) {
-        Specification<Order> spec = Specification
-                .where(OrderSpecifications.hasStatus(status))
-                .and(OrderSpecifications.search(q))
-                .and(OrderSpecifications.customerNameLike(customerName))
-                .and(OrderSpecifications.customerPhoneLike(customerPhone))
-                .and(OrderSpecifications.createdBetween(from, to))
-                .and(OrderSpecifications.totalBetween(minTotal, maxTotal));
-
-        return orderRepository.findAll(spec, pageable)
-                .map(o -> new OrderSummaryResponse(
-                        o.getId(),
-                        o.getStatus(),
-                        o.getTotalAmount(),
-                        o.getCreatedAt(),
-                        o.getPickupTime(),
-                        o.getCustomerName(),
-                        o.getCustomerPhone(),
-                        o.getItems() == null ? 0 : o.getItems().size()
-                ));
+    // UPDATE groupé, annulé s'il ne touche pas toutes les commandes : on ne saurait pas lesquelles
+    private boolean updateAllOrNone(List<Long> ids, OrderStatus source, OrderStatus target) {
+        Boolean all = new TransactionTemplate(transactionManager).execute(status -> {
+            if (orderRepository.updateStatusWhere(ids, source, target, LocalDateTime.now()) == ids.size()) return true;
+            status.setRollbackOnly();
+            return false;
+        });
+        return Boolean.TRUE.equals(all);
+    }
+
+    private void publishStatusChanged(OrderStatusSnapshot order, OrderStatus newStatus) {
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                order.id(), order.status(), newStatus, order.createdAt(), order.totalAmount()));
+    }
+
+    private void evictDetails(Long id) {
+        Cache cache = cacheManager.getCache(ORDER_DETAILS_CACHE);
+        if (cache != null) cache.evict(id);
+    }
+
+    private static OrderResponse toResponse(OrderStatusSnapshot order, OrderStatus status) {
+        return new OrderResponse(order.id(), status, order.totalAmount(), order.createdAt());
+    }
+
+    @Timed(value = "okebab.order.list", histogram = true)
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryResponse> listOrders(OrderFilter filter, Pageable pageable) {
+        return listOrders(filter, pageable, null);
+    }
+
+    /**
+     * @param version version du même filtre lue juste avant ({@link #listingVersion}) : son total
+     *                remplace le COUNT de la page. null : COUNT habituel.
+     */
+    @Timed(value = "okebab.order.list", histogram = true)
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryResponse> listOrders(OrderFilter filter, Pageable pageable, ListingVersion version) {
+        OrderFilter live = liveFilter(filter);
+
+        if (orderArchiveService.reaches(filter.from())) {
+            return orderArchiveService.findSummaries(live, filter, pageable);
+        }
+
+        // projection DTO : itemsCount calculé en SQL, pas de chargement lazy des items
+        return version != null
+                ? orderRepository.findSummaries(live, pageable, version.count())
+                : orderRepository.findSummaries(live, pageable);
+    }
+
+    /**
+     * Version du listing pour ces filtres (ETag de GET /api/orders) : une requête d'agrégat,
+     * archive comprise si "from" remonte avant l'horizon d'archivage.
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public ListingVersion listingVersion(OrderFilter filter) {
+        ListingVersion version = orderRepository.listingVersion(liveFilter(filter));
+
+        if (orderArchiveService.reaches(filter.from())) {
+            version = version.plus(orderRepository.archivedListingVersion(filter));
+        }
+        return version;
+    }
+
+    // =====================
+    // LIST ORDERS (CURSOR)
+    // =====================
+    @Timed(value = "okebab.order.list", histogram = true)
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public OrderCursorPage<OrderSummaryResponse> listOrdersByCursor(OrderFilter filter, String cursor, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("size doit être compris entre 1 et " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        OrderFilter live = liveFilter(filter);
+        OrderCursor after = OrderCursor.decode(cursor);
+
+        // une ligne de plus que demandé : indique s'il existe une page suivante, sans COUNT
+        List<OrderSummaryResponse> rows = orderArchiveService.reaches(filter.from())
+                ? orderArchiveService.findSummariesAfter(live, filter, after, size + 1)
+                : orderRepository.findSummariesAfter(live, after, size + 1);
+
+        if (rows.size() <= size) {
+            return new OrderCursorPage<>(rows, size, null);
+        }
+
+        List<OrderSummaryResponse> content = rows.subList(0, size);
+        OrderSummaryResponse last = content.get(size - 1);
+        return new OrderCursorPage<>(content, size, new OrderCursor(last.createdAt(), last.id()).encode());
+    }
+
+    /**
+     * Recherche "q" servie par l'index en mémoire quand il est prêt et rattrapé (restriction aux ids
+     * trouvés), sinon par la recherche SQL du filtre. L'archive garde toujours la recherche SQL : l'index ne
+     * connaît que les commandes chargées depuis orders.
+     */
+    private OrderFilter liveFilter(OrderFilter filter) {
+        return searchIndex.lookup(filter.q())
+                .map(filter::withIds)
+                .orElse(filter);
     }
 
 }
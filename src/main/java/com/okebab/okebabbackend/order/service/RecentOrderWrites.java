@@ -0,0 +1,55 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.okebab.okebabbackend.common.datasource.ReplicaRoutingDataSource;
+import com.okebab.okebabbackend.order.event.OrderCreatedEvent;
+import com.okebab.okebabbackend.order.event.OrderStatusChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Lire ses propres écritures avec des réplicas : une commande créée ou modifiée par cette instance
+ * depuis moins de {@code okebab.datasource.sticky-ms} est relue sur le primaire (détail, ETag),
+ * le réplica pouvant ne pas encore l'avoir. Sans cela, le détail d'une commande tout juste passée
+ * en préparation pourrait revenir PENDING, et rester 30 s dans le cache orderDetails.
+ * <p>
+ * Ne voit que les écritures de cette instance ; les listings, eux, suivent le réplica.
+ * Routage désactivé : rien n'est retenu.
+ */
+@Component
+public class RecentOrderWrites {
+
+    private final Cache<Long, Boolean> written;
+
+    public RecentOrderWrites(
+            @Value("${okebab.datasource.routing.enabled:false}") boolean routing,
+            @Value("${okebab.datasource.sticky-ms:5000}") long stickyMs
+    ) {
+        this.written = routing
+                ? Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(stickyMs)).maximumSize(100_000).build()
+                : null;
+    }
+
+    @EventListener
+    public void onCreated(OrderCreatedEvent e) {
+        if (written != null) written.put(e.order().id(), Boolean.TRUE);
+    }
+
+    @EventListener
+    public void onStatusChanged(OrderStatusChangedEvent e) {
+        if (written != null) written.put(e.orderId(), Boolean.TRUE);
+    }
+
+    /**
+     * Au début d'une lecture {@code @ReplicaRead} de la commande : primaire si elle vient d'être écrite.
+     */
+    void pinIfRecent(Long id) {
+        if (written != null && id != null && written.getIfPresent(id) != null) {
+            ReplicaRoutingDataSource.usePrimary();
+        }
+    }
+}
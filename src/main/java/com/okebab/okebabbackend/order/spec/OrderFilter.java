@@ -0,0 +1,141 @@
+package com.okebab.okebabbackend.order.spec;
+
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.search.PhoneKeys;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Filtres du listing des commandes, seul modèle partagé par le listing paginé, le curseur, la
+ * version (ETag), la vue des commandes actives et l'archive.
+ * <p>
+ * Les valeurs sont normalisées à la construction (texte vide = absent, recherches en minuscules) :
+ * deux filtres équivalents ont la même {@link #shape() forme}, donc le même texte de requête
+ * (OrderQueries), et le cache de plans de Hibernate sert les deux.
+ *
+ * @param statuses vide : tous les statuts
+ * @param q        recherche libre (nom client, téléphone sur ses chiffres, produit, id)
+ * @param ids      restriction aux ids trouvés par l'index de recherche (remplace q), null : aucune
+ */
+public record OrderFilter(
+        Set<OrderStatus> statuses,
+        String q,
+        String customerName,
+        String customerPhone,
+        LocalDateTime from,
+        LocalDateTime to,
+        BigDecimal minTotal,
+        BigDecimal maxTotal,
+        Collection<Long> ids
+) {
+
+    public static final OrderFilter ALL = new OrderFilter(null, null, null, null, null, null, null, null, null);
+
+    // bits de forme : un prédicat par bit présent
+    public static final int STATUS = 1;
+    public static final int STATUS_IN = 1 << 1;
+    public static final int SEARCH = 1 << 2;
+    public static final int SEARCH_ID = 1 << 3;
+    public static final int CUSTOMER_NAME = 1 << 4;
+    public static final int CUSTOMER_PHONE = 1 << 5;
+    public static final int FROM = 1 << 6;
+    public static final int TO = 1 << 7;
+    public static final int MIN_TOTAL = 1 << 8;
+    public static final int MAX_TOTAL = 1 << 9;
+    public static final int IDS = 1 << 10;
+    public static final int SEARCH_PHONE = 1 << 11;
+
+    public OrderFilter {
+        statuses = statuses == null || statuses.isEmpty() ? Set.of() : Set.copyOf(statuses);
+        q = lowerTrimToNull(q);
+        customerName = lowerTrimToNull(customerName);
+        customerPhone = lowerTrimToNull(customerPhone);
+        ids = ids == null ? null : List.copyOf(ids);
+    }
+
+    public static OrderFilter of(
+            OrderStatus status,
+            String q,
+            String customerName,
+            String customerPhone,
+            LocalDateTime from,
+            LocalDateTime to,
+            BigDecimal minTotal,
+            BigDecimal maxTotal
+    ) {
+        return new OrderFilter(status == null ? null : Set.of(status), q, customerName, customerPhone,
+                from, to, minTotal, maxTotal, null);
+    }
+
+    public static OrderFilter statusIn(Collection<OrderStatus> statuses) {
+        return new OrderFilter(Set.copyOf(statuses), null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Même filtre, la recherche q étant déjà résolue en ids (index en mémoire).
+     */
+    public OrderFilter withIds(Collection<Long> ids) {
+        return new OrderFilter(statuses, null, customerName, customerPhone, from, to, minTotal, maxTotal, ids);
+    }
+
+    /**
+     * Index de recherche sans résultat : inutile d'interroger la base.
+     */
+    public boolean matchesNothing() {
+        return ids != null && ids.isEmpty();
+    }
+
+    /**
+     * q numérique : recherche aussi par id.
+     */
+    public Long searchId() {
+        if (q == null) return null;
+        try {
+            return Long.parseLong(q);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * q qui ressemble à un numéro : recherche aussi sur la clé téléphone (chiffres uniquement, comme
+     * l'index de recherche), "06 12 34" trouve "0612345678" saisi "06.12.34.56.78".
+     */
+    public String searchPhoneKey() {
+        return q != null && PhoneKeys.looksLikePhone(q) ? PhoneKeys.digits(q) : null;
+    }
+
+    /**
+     * Prédicats présents, un bit chacun : clé du texte de requête, indépendante des valeurs.
+     */
+    public int shape() {
+        int shape = 0;
+        if (statuses.size() == 1) shape |= STATUS;
+        if (statuses.size() > 1) shape |= STATUS_IN;
+        if (q != null) shape |= SEARCH;
+        if (searchId() != null) shape |= SEARCH_ID;
+        if (searchPhoneKey() != null) shape |= SEARCH_PHONE;
+        if (customerName != null) shape |= CUSTOMER_NAME;
+        if (customerPhone != null) shape |= CUSTOMER_PHONE;
+        if (from != null) shape |= FROM;
+        if (to != null) shape |= TO;
+        if (minTotal != null) shape |= MIN_TOTAL;
+        if (maxTotal != null) shape |= MAX_TOTAL;
+        if (ids != null) shape |= IDS;
+        return shape;
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String lowerTrimToNull(String value) {
+        String trimmed = trimToNull(value);
+        return trimmed == null ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,74 @@
+package db.migration;
+
+import com.okebab.okebabbackend.order.model.SelectionsCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Sélections d'articles : colonne TEXT JSON (selections_json) -> varbinary compressé (selections),
+ * pour order_items et order_items_archive. Voir SelectionsCodec.
+ * <p>
+ * Conversion par lots de {@value #BATCH} lignes, parcourus par id croissant, puis suppression
+ * de l'ancienne colonne. Migration Java : la compression avec dictionnaire n'existe pas en SQL.
+ */
+@Slf4j
+public class V7__EncodeItemSelections extends BaseJavaMigration {
+
+    private static final int BATCH = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        for (String table : new String[]{"order_items", "order_items_archive"}) {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("alter table " + table + " add column selections varbinary(" + SelectionsCodec.MAX_BYTES + ")");
+            }
+
+            long converted = 0;
+            long lastId = 0;
+            while (true) {
+                int rows = 0;
+                try (PreparedStatement select = connection.prepareStatement(
+                        "select id, selections_json from " + table
+                                + " where id > ? and selections_json is not null order by id limit " + BATCH);
+                     PreparedStatement update = connection.prepareStatement(
+                             "update " + table + " set selections = ? where id = ?")) {
+                    select.setLong(1, lastId);
+                    try (ResultSet rs = select.executeQuery()) {
+                        while (rs.next()) {
+                            lastId = rs.getLong(1);
+                            update.setBytes(1, encode(table, lastId, rs.getString(2)));
+                            update.setLong(2, lastId);
+                            update.addBatch();
+                            rows++;
+                        }
+                    }
+                    if (rows > 0) update.executeBatch();
+                }
+                converted += rows;
+                if (rows < BATCH) break;
+            }
+
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("alter table " + table + " drop column selections_json");
+            }
+            log.info("V7 : {} sélections compressées dans {}", converted, table);
+        }
+    }
+
+    private static byte[] encode(String table, long id, String json) throws SQLException {
+        try {
+            return SelectionsCodec.fromJson(json);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Sélections non convertibles : " + table + ".id = " + id, e);
+        }
+    }
+}
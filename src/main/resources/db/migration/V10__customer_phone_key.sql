@@ -0,0 +1,12 @@
+-- Téléphone réduit à ses chiffres ("06 12 34 56 78" -> "0612345678"), clé de la recherche
+-- téléphone (PhoneKeys.digits). La colonne existait déjà dans l'entité Order mais aucune
+-- migration ne la créait : les bases baselinées en version 1 ne l'avaient pas.
+--
+-- Les commandes existantes sont complétées ici, avec la même règle que PhoneKeys.digits
+-- (aucun chiffre -> null). orders_archive a la colonne depuis V6.
+
+alter table orders add column customer_phone_key varchar(20) null;
+
+update orders
+set customer_phone_key = nullif(left(regexp_replace(customer_phone, '[^0-9]', ''), 20), '')
+where customer_phone is not null;
@@ -0,0 +1,5 @@
+-- Index (archived_at) de orders_archive (déclaré aussi dans @Table(indexes) de ArchivedOrder) :
+-- le rattrapage de l'index de recherche de chaque instance (OrderSearchIndexLoader) y lit, toutes
+-- les quelques secondes, les commandes archivées depuis son dernier passage.
+
+create index idx_orders_archive_archived on orders_archive (archived_at);
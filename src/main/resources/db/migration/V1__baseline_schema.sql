@@ -0,0 +1,28 @@
+-- Schéma tel que créé jusqu'ici par spring.jpa.hibernate.ddl-auto=update.
+-- Les bases existantes sont "baselinées" en version 1 et ne rejouent pas ce script.
+
+create table orders (
+    id             bigint         not null auto_increment,
+    created_at     datetime(6)    not null,
+    customer_name  varchar(255),
+    customer_phone varchar(255),
+    pickup_time    datetime(6),
+    status         enum ('PENDING','IN_PREPARATION','READY','COMPLETED','CANCELLED') not null,
+    total_amount   decimal(10, 2) not null,
+    primary key (id)
+) engine = InnoDB;
+
+create table order_items (
+    id               bigint         not null auto_increment,
+    base_price       decimal(10, 2) not null,
+    description      text,
+    product_id_front bigint,
+    product_name     varchar(255)   not null,
+    product_type     enum ('TACOS','PANINI','BOWL','ASSIETTE','BURGER','TEXMEX','SANDWICH','BOISSON','DESSERT','ACCOMPAGNEMENT','MENU_ENFANT','SALADE') not null,
+    quantity         integer        not null,
+    selections_json  text,
+    total_price      decimal(10, 2) not null,
+    order_id         bigint         not null,
+    primary key (id),
+    constraint fk_order_items_order foreign key (order_id) references orders (id)
+) engine = InnoDB;
@@ -0,0 +1,25 @@
+-- Ids générés par séquence poolée (allocationSize = 50) au lieu d'AUTO_INCREMENT,
+-- pour que Hibernate puisse regrouper les INSERT en batch JDBC.
+-- MySQL n'a pas de séquences : Hibernate les émule avec une table à une ligne (next_val).
+--
+-- Le pooled optimizer considère la valeur lue comme la borne haute du bloc
+-- (ids de next_val - 49 à next_val). On amorce donc à max(id) + 50 pour que
+-- le premier bloc commence après les ids existants.
+
+create table orders_seq (
+    next_val bigint
+) engine = InnoDB;
+
+insert into orders_seq (next_val)
+select coalesce(max(id), 0) + 50 from orders;
+
+create table order_items_seq (
+    next_val bigint
+) engine = InnoDB;
+
+insert into order_items_seq (next_val)
+select coalesce(max(id), 0) + 50 from order_items;
+
+
+-- AUTO_INCREMENT reste en place sur les colonnes id : inoffensif (les ids explicites
+-- sont acceptés) et MySQL refuse de modifier orders.id tant que la FK la référence.
@@ -0,0 +1,36 @@
+-- Agrégats de ventes par jour, tenus à jour à chaque création / changement de statut
+-- (SalesRollupService) et reconstruits à la demande ou chaque nuit depuis orders / order_items.
+-- Le jour est celui de la création de la commande ; un changement de statut déplace
+-- la commande d'une ligne à l'autre du même jour.
+
+-- Niveau commande : une commande compte une fois, revenue = total_amount
+create table daily_sales (
+    sales_date   date           not null,
+    status       enum ('PENDING','IN_PREPARATION','READY','COMPLETED','CANCELLED') not null,
+    order_count  bigint         not null,
+    revenue      decimal(14, 2) not null,
+    primary key (sales_date, status)
+) engine = InnoDB;
+
+-- Niveau type de produit : order_count = commandes contenant au moins un article de ce type
+create table daily_product_sales (
+    sales_date   date           not null,
+    product_type enum ('TACOS','PANINI','BOWL','ASSIETTE','BURGER','TEXMEX','SANDWICH','BOISSON','DESSERT','ACCOMPAGNEMENT','MENU_ENFANT','SALADE') not null,
+    status       enum ('PENDING','IN_PREPARATION','READY','COMPLETED','CANCELLED') not null,
+    order_count  bigint         not null,
+    quantity     bigint         not null,
+    revenue      decimal(14, 2) not null,
+    primary key (sales_date, product_type, status)
+) engine = InnoDB;
+
+-- Remplissage initial avec l'historique
+insert into daily_sales (sales_date, status, order_count, revenue)
+select cast(created_at as date), status, count(*), sum(total_amount)
+from orders
+group by cast(created_at as date), status;
+
+insert into daily_product_sales (sales_date, product_type, status, order_count, quantity, revenue)
+select cast(o.created_at as date), i.product_type, o.status, count(distinct o.id), sum(i.quantity), sum(i.total_price)
+from order_items i
+join orders o on o.id = i.order_id
+group by cast(o.created_at as date), i.product_type, o.status;
@@ -0,0 +1,13 @@
+-- Clés Idempotency-Key de POST /api/orders, quand okebab.idempotency.persistent=true :
+-- partagées entre instances et conservées après un redémarrage.
+-- response_json est null tant que la création est en cours.
+
+create table idempotency_keys (
+    idem_key      varchar(100) not null,
+    request_hash  varchar(64)  not null,
+    response_json text,
+    created_at    datetime(6)  not null,
+    primary key (idem_key)
+) engine = InnoDB;
+
+create index idx_idempotency_keys_created_at on idempotency_keys (created_at);
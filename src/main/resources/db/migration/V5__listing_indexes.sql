@@ -0,0 +1,16 @@
+-- Index des filtres de GET /api/orders (déclarés aussi dans @Table(indexes) de Order et OrderItem).
+--
+-- (status, created_at, id) : hasStatus + createdBetween, trié par date, et la pagination
+--                            par curseur (created_at, id) à statut fixé.
+-- (created_at)             : createdBetween seul et le tri par défaut ; InnoDB ajoute l'id
+--                            à chaque index secondaire, ce qui couvre aussi le curseur.
+-- (customer_phone)         : recherche exacte d'un client par téléphone.
+-- order_items (order_id)   : chargement des articles et COUNT corrélé des résumés. MySQL avait
+--                            créé un index implicite pour la clé étrangère ; celui-ci, nommé,
+--                            le remplace.
+
+create index idx_orders_status_created on orders (status, created_at, id);
+create index idx_orders_created on orders (created_at);
+create index idx_orders_customer_phone on orders (customer_phone);
+
+create index idx_order_items_order on order_items (order_id);
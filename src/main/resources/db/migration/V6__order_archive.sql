@@ -0,0 +1,40 @@
+-- Archive des commandes terminées (COMPLETED / CANCELLED) de plus de okebab.archive.after-days
+-- jours, déplacées par lots par OrderArchiveService. orders et ses index ne gardent que
+-- l'activité récente ; GET /api/orders/{id} et les listings dont "from" remonte avant
+-- l'horizon d'archivage lisent aussi ces tables.
+--
+-- Mêmes colonnes que orders / order_items, plus archived_at. Pas d'auto_increment :
+-- les ids sont ceux d'origine.
+
+create table orders_archive (
+    id                 bigint         not null,
+    created_at         datetime(6)    not null,
+    customer_name      varchar(255),
+    customer_phone     varchar(255),
+    customer_phone_key varchar(20),
+    pickup_time        datetime(6),
+    status             enum ('PENDING','IN_PREPARATION','READY','COMPLETED','CANCELLED') not null,
+    total_amount       decimal(10, 2) not null,
+    archived_at        datetime(6)    not null,
+    primary key (id)
+) engine = InnoDB;
+
+create index idx_orders_archive_status_created on orders_archive (status, created_at, id);
+create index idx_orders_archive_created on orders_archive (created_at);
+
+create table order_items_archive (
+    id               bigint         not null,
+    base_price       decimal(10, 2) not null,
+    description      text,
+    product_id_front bigint,
+    product_name     varchar(255)   not null,
+    product_type     enum ('TACOS','PANINI','BOWL','ASSIETTE','BURGER','TEXMEX','SANDWICH','BOISSON','DESSERT','ACCOMPAGNEMENT','MENU_ENFANT','SALADE') not null,
+    quantity         integer        not null,
+    selections_json  text,
+    total_price      decimal(10, 2) not null,
+    order_id         bigint         not null,
+    primary key (id),
+    constraint fk_order_items_archive_order foreign key (order_id) references orders_archive (id)
+) engine = InnoDB;
+
+create index idx_order_items_archive_order on order_items_archive (order_id);
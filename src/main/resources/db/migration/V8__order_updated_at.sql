@@ -0,0 +1,11 @@
+-- Date de dernière modification d'une commande (création, puis chaque changement de statut).
+-- Sert aux ETag de GET /api/orders/{id} et à la version des listings (If-None-Match -> 304).
+-- Les commandes existantes partent de leur date de création.
+
+alter table orders add column updated_at datetime(6) null;
+update orders set updated_at = created_at;
+alter table orders modify updated_at datetime(6) not null;
+
+alter table orders_archive add column updated_at datetime(6) null;
+update orders_archive set updated_at = created_at;
+alter table orders_archive modify updated_at datetime(6) not null;
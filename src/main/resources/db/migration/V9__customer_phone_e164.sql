@@ -0,0 +1,17 @@
+-- Téléphone client au format E.164 ("+33612345678"), pour l'historique d'un client
+-- (GET /api/customers/{phone}/orders) quel que soit le format saisi ("06 12 ...", "+33 6 ...").
+--
+-- (customer_phone_e164, created_at, id) : les N dernières commandes d'un numéro en un parcours
+--                                          d'intervalle sur l'index seul, déjà trié.
+-- Il remplace idx_orders_customer_phone (égalité sur le numéro brut), que plus aucune requête n'utilise.
+--
+-- La normalisation est faite en Java (PhoneKeys.e164) : les lignes existantes sont complétées
+-- après le démarrage par CustomerPhoneBackfill, par lots. D'ici là, elles n'apparaissent pas dans
+-- l'historique.
+
+alter table orders add column customer_phone_e164 varchar(16) null;
+create index idx_orders_phone_e164_created on orders (customer_phone_e164, created_at, id);
+drop index idx_orders_customer_phone on orders;
+
+alter table orders_archive add column customer_phone_e164 varchar(16) null;
+create index idx_orders_archive_phone_e164_created on orders_archive (customer_phone_e164, created_at, id);
@@ -0,0 +1,226 @@
+package com.okebab.okebabbackend;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Compare latence (p50/p99) et débit de createOrder et listOrders entre threads plateforme
+ * Tomcat et threads virtuels ({@code spring.threads.virtual.enabled}).
+ * <p>
+ * L'application est démarrée une fois par mode sur un port libre, avec une base H2 distincte.
+ * H2 en mémoire répond en quelques microsecondes : chaque exécution JDBC est donc retardée de
+ * {@code bench.db-latency-ms} pour simuler l'aller-retour MySQL, pendant lequel la connexion reste prise.
+ * <p>
+ * mvn test -Pbenchmark -Dtest=ExecutionModeLoadBenchmark
+ * [-Dbench.clients=400] [-Dbench.seconds=10] [-Dbench.db-latency-ms=5] [-Dbench.pool-size=20]
+ */
+@Tag("benchmark")
+class ExecutionModeLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("bench.clients", 400);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 10);
+    private static final int WARMUP_SECONDS = 3;
+    private static final long DB_LATENCY_MS = Long.getLong("bench.db-latency-ms", 5);
+    private static final int POOL_SIZE = Integer.getInteger("bench.pool-size", 20);
+
+    private static final String ORDER_JSON = """
+            {"customerName":"Karim","customerPhone":"06 12 34 56 78","items":[
+              {"productIdFront":1,"productName":"Tacos M","productType":"tacos","basePrice":8.50,
+               "totalPrice":9.70,"quantity":1,"selections":{"viandes":["Poulet"],"sauces":["Algérienne"]}},
+              {"productIdFront":2,"productName":"Coca","productType":"boisson","basePrice":2.00,
+               "totalPrice":2.00,"quantity":2}
+            ]}""";
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void compareExecutionModes() throws Exception {
+        System.out.printf("clients %d, %d s par mesure, latence JDBC simulée %d ms, pool %d connexions%n%n",
+                CLIENTS, SECONDS, DB_LATENCY_MS, POOL_SIZE);
+        System.out.printf("%-10s %-12s %10s %10s %10s %8s%n", "mode", "endpoint", "req/s", "p50 ms", "p99 ms", "erreurs");
+
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext app = start(virtual)) {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                String base = "http://localhost:" + port + "/api/orders";
+                String mode = virtual ? "virtuels" : "plateforme";
+
+                IntFunction<HttpRequest> create = i -> HttpRequest.newBuilder(URI.create(base))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(ORDER_JSON))
+                        .build();
+                IntFunction<HttpRequest> list = i -> HttpRequest.newBuilder(URI.create(base + "?page=" + (i % 5) + "&size=20"))
+                        .GET()
+                        .build();
+
+                run(create, WARMUP_SECONDS);
+                run(list, WARMUP_SECONDS);
+
+                run(create, SECONDS).print(mode, "createOrder");
+                run(list, SECONDS).print(mode, "listOrders");
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(OkebabBackendApplication.class, SimulatedDatabaseLatency.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + virtual + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.datasource.hikari.minimum-idle=" + POOL_SIZE,
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN"
+                )
+                .run();
+    }
+
+    /**
+     * CLIENTS clients enchaînent des requêtes pendant {@code seconds} secondes.
+     */
+    private Result run(IntFunction<HttpRequest> requests, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Future<long[]>> clients = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    int errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = http.send(requests.apply(count), HttpResponse.BodyHandlers.discarding());
+                        long elapsed = System.nanoTime() - start;
+
+                        if (response.statusCode() >= 300) {
+                            errors++;
+                            continue;
+                        }
+                        if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+                        latencies[count++] = elapsed;
+                    }
+                    // dernière case : nombre d'erreurs
+                    long[] out = Arrays.copyOf(latencies, count + 1);
+                    out[count] = errors;
+                    return out;
+                }));
+            }
+        }
+
+        long[] all = new long[0];
+        long errors = 0;
+        for (Future<long[]> client : clients) {
+            long[] latencies = client.get();
+            int count = latencies.length - 1;
+            errors += latencies[count];
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + count);
+            System.arraycopy(latencies, 0, all, offset, count);
+        }
+        Arrays.sort(all);
+        return new Result(all, errors, seconds);
+    }
+
+    private record Result(long[] sortedLatencies, long errors, int seconds) {
+
+        double percentileMs(double p) {
+            if (sortedLatencies.length == 0) return Double.NaN;
+            int i = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(i, 0)] / 1e6;
+        }
+
+        void print(String mode, String endpoint) {
+            System.out.printf("%-10s %-12s %10.0f %10.1f %10.1f %8d%n", mode, endpoint,
+                    (double) sortedLatencies.length / seconds, percentileMs(0.50), percentileMs(0.99), errors);
+        }
+    }
+
+    /**
+     * Retarde chaque exécution JDBC, connexion tenue, comme un aller-retour réseau vers MySQL.
+     */
+    @Configuration(proxyBeanMethods = false)
+    static class SimulatedDatabaseLatency {
+
+        @Bean
+        static BeanPostProcessor slowDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || DB_LATENCY_MS <= 0) return bean;
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return slow(super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection slow(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        return result instanceof Statement statement ? slow(statement) : result;
+                    });
+        }
+
+        private static Statement slow(Statement statement) {
+            return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), allInterfaces(statement.getClass()),
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute")) Thread.sleep(DB_LATENCY_MS);
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Class<?>[] allInterfaces(Class<?> type) {
+            List<Class<?>> interfaces = new ArrayList<>();
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Class<?> i : c.getInterfaces()) {
+                    if (i.getName().startsWith("java.sql.") && !interfaces.contains(i)) interfaces.add(i);
+                }
+            }
+            return interfaces.toArray(Class<?>[]::new);
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.okebab.okebabbackend.analytics.service;
+
+import com.okebab.okebabbackend.analytics.dto.response.DailyProductSalesResponse;
+import com.okebab.okebabbackend.analytics.dto.response.DailySalesResponse;
+import com.okebab.okebabbackend.analytics.repository.DailyProductSalesRepository;
+import com.okebab.okebabbackend.analytics.repository.DailySalesRepository;
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.event.OrderStatusChangedEvent;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.model.ProductType;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import com.okebab.okebabbackend.order.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class SalesRollupServiceTest {
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        orderRepository.deleteAll();
+        // sur une table vide, la reconstruction vide aussi les agrégats du jour
+        salesRollupService.rebuild(today, today);
+    }
+
+    @Test
+    void createAndStatusChangeMoveOrdersBetweenRows() {
+        Long first = orderService.createOrder(order(line("tacos", 2, "19.40"), line("boisson", 1, "2.00"))).getId();
+        orderService.createOrder(order(line("tacos", 1, "9.70"), line("tacos", 1, "8.50")));
+
+        orderService.updateStatus(first, OrderStatus.READY);
+        orderService.updateStatus(first, OrderStatus.COMPLETED);
+
+        // la commande passe par READY : sa ligne reste, à zéro
+        assertThat(salesRollupService.dailySales(today, today, null))
+                .filteredOn(d -> d.orderCount() > 0)
+                .extracting(DailySalesResponse::status, DailySalesResponse::orderCount, DailySalesResponse::revenue)
+                .containsExactlyInAnyOrder(
+                        tuple(OrderStatus.PENDING, 1L, new BigDecimal("18.20")),
+                        tuple(OrderStatus.COMPLETED, 1L, new BigDecimal("21.40"))
+                );
+
+        assertThat(salesRollupService.dailyProductSales(today, today, ProductType.TACOS, null))
+                .filteredOn(d -> d.orderCount() > 0)
+                .extracting(DailyProductSalesResponse::status, DailyProductSalesResponse::orderCount,
+                        DailyProductSalesResponse::quantity, DailyProductSalesResponse::revenue)
+                .containsExactlyInAnyOrder(
+                        // une commande avec deux lignes tacos compte une fois
+                        tuple(OrderStatus.PENDING, 1L, 2L, new BigDecimal("18.20")),
+                        tuple(OrderStatus.COMPLETED, 1L, 2L, new BigDecimal("19.40"))
+                );
+    }
+
+    @Test
+    void rebuildMatchesIncrementalRollups() {
+        for (int i = 0; i < 20; i++) {
+            Long id = orderService.createOrder(order(line("tacos", 1 + i % 3, "9.70"), line("dessert", 1, "3.50"))).getId();
+            if (i % 4 == 0) orderService.updateStatus(id, OrderStatus.READY);
+            if (i % 5 == 0) orderService.updateStatus(id, OrderStatus.CANCELLED);
+        }
+
+        List<DailySalesResponse> incremental = salesRollupService.dailySales(today, today, null);
+        List<DailyProductSalesResponse> incrementalProducts = salesRollupService.dailyProductSales(today, today, null, null);
+
+        salesRollupService.rebuild(today, today);
+
+        assertThat(salesRollupService.dailySales(today, today, null))
+                .containsExactlyInAnyOrderElementsOf(incremental.stream().filter(d -> d.orderCount() > 0).toList());
+        assertThat(salesRollupService.dailyProductSales(today, today, null, null))
+                .containsExactlyInAnyOrderElementsOf(incrementalProducts.stream().filter(d -> d.orderCount() > 0).toList());
+    }
+
+    @Test
+    void unreadableOrderLinesOnlySkipTheRollup() {
+        // base indisponible à la relecture des lignes : le changement de statut est déjà enregistré
+        OrderRepository unavailable = (OrderRepository) Proxy.newProxyInstance(
+                OrderRepository.class.getClassLoader(), new Class<?>[]{OrderRepository.class},
+                (proxy, method, args) -> {
+                    throw new DataAccessResourceFailureException("base indisponible");
+                });
+        SalesRollupService rollups = new SalesRollupService(dailySalesRepository, dailyProductSalesRepository,
+                unavailable, transactionManager, 2);
+
+        assertThatCode(() -> rollups.onStatusChanged(new OrderStatusChangedEvent(1L, OrderStatus.PENDING,
+                OrderStatus.READY, LocalDateTime.now(), new BigDecimal("9.70"))))
+                .doesNotThrowAnyException();
+        assertThat(salesRollupService.dailySales(today, today, null)).allMatch(d -> d.orderCount() == 0);
+    }
+
+    @Test
+    void rangeIsValidated() {
+        assertThatThrownBy(() -> salesRollupService.dailySales(today, today.minusDays(1), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> salesRollupService.dailySales(today.minusYears(2), today, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static OrderItemRequest line(String type, int quantity, String totalPrice) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductIdFront(1L);
+        item.setProductName(type);
+        item.setProductType(type);
+        item.setBasePrice(new BigDecimal(totalPrice));
+        item.setTotalPrice(new BigDecimal(totalPrice));
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private static OrderRequest order(OrderItemRequest... items) {
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Client");
+        request.setItems(new ArrayList<>(List.of(items)));
+        return request;
+    }
+}
@@ -0,0 +1,68 @@
+package com.okebab.okebabbackend.common.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Derrière LazyConnectionDataSourceProxy, la connexion n'est prise qu'à la première requête SQL :
+ * un pool épuisé ne se voit plus à l'ouverture de la transaction mais au premier SELECT.
+ * Le client doit quand même recevoir 503 + Retry-After, pas 500.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:okebab_pool_timeout;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "okebab.datasource.routing.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.minimum-idle=2",
+        "spring.datasource.hikari.connection-timeout=250",
+        "okebab.search.index.enabled=false",
+        "spring.cache.type=none"
+})
+@AutoConfigureMockMvc
+class PoolTimeoutTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void exhaustedPoolAnswers503WithRetryAfter() throws Exception {
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < 2; i++) {
+                Connection connection = dataSource.getConnection();
+                // le proxy ne prend une vraie connexion du pool qu'à la première instruction
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("select 1");
+                }
+                held.add(connection);
+            }
+
+            MvcResult busy = mockMvc.perform(get("/api/orders/1")).andReturn();
+
+            assertThat(busy.getResponse().getStatus()).isEqualTo(503);
+            assertThat(busy.getResponse().getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+
+        assertThat(mockMvc.perform(get("/api/orders/1")).andReturn().getResponse().getStatus()).isEqualTo(404);
+    }
+}
@@ -0,0 +1,121 @@
+package com.okebab.okebabbackend.common.datasource;
+
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import com.okebab.okebabbackend.order.service.OrderService;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deux bases H2 : "okebab_primary" reçoit toutes les écritures, "okebab_replica" n'est mise à jour
+ * que par {@link #replicate} (copie complète), ce qui simule un réplica en retard.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY,
+        "okebab.datasource.routing.enabled=true",
+        "okebab.datasource.replica-urls=" + ReplicaRoutingTest.REPLICA,
+        "okebab.datasource.sticky-ms=300",
+        "okebab.search.index.enabled=false"
+})
+class ReplicaRoutingTest {
+
+    static final String PRIMARY = "jdbc:h2:mem:okebab_primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA = "jdbc:h2:mem:okebab_replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @TempDir
+    private Path dir;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void readOnlyMethodsUseTheReplicaAndWritesThePrimary() throws Exception {
+        Long replicated = create();
+        replicate();
+        Long primaryOnly = create();
+
+        // listing : le réplica ne connaît que la première commande
+        List<OrderSummaryResponse> listed = orderService.listOrders(OrderFilter.ALL, PageRequest.of(0, 20)).getContent();
+        assertThat(listed).extracting(OrderSummaryResponse::id).containsExactly(replicated);
+
+        // une écriture lit et écrit sur le primaire, même pour une commande absente du réplica
+        assertThat(orderService.updateStatus(primaryOnly, OrderStatus.IN_PREPARATION).getStatus())
+                .isEqualTo(OrderStatus.IN_PREPARATION);
+        assertThat(orderRepository.findById(primaryOnly)).get()
+                .extracting(o -> o.getStatus()).isEqualTo(OrderStatus.IN_PREPARATION);
+    }
+
+    @Test
+    void recentlyWrittenOrdersAreReadFromThePrimary() throws Exception {
+        Long id = create();
+        replicate();
+        orderService.updateStatus(id, OrderStatus.IN_PREPARATION);
+
+        // écrite à l'instant : lue sur le primaire, pas la version PENDING du réplica
+        assertThat(orderService.getOrderById(id).status()).isEqualTo(OrderStatus.IN_PREPARATION);
+
+        // au-delà de sticky-ms, le détail repart sur le réplica (toujours PENDING)
+        Thread.sleep(500);
+        orderService.updateStatus(id, OrderStatus.READY);
+        Thread.sleep(500);
+        assertThat(orderService.getOrderById(id).status()).isEqualTo(OrderStatus.PENDING);
+    }
+
+    /**
+     * Copie complète du primaire vers le réplica.
+     */
+    private void replicate() throws SQLException {
+        String script = dir.resolve("replica-" + System.nanoTime() + ".sql").toString();
+        try (Connection primary = DriverManager.getConnection(PRIMARY, "sa", "");
+             Statement statement = primary.createStatement()) {
+            statement.execute("SCRIPT TO '" + script + "'");
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("RUNSCRIPT FROM '" + script + "'");
+        }
+    }
+
+    private Long create() {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductIdFront(1L);
+        item.setProductName("Tacos M");
+        item.setProductType("tacos");
+        item.setBasePrice(new BigDecimal("8.50"));
+        item.setTotalPrice(new BigDecimal("8.50"));
+        item.setQuantity(1);
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Karim");
+        request.setCustomerPhone("0612345678");
+        request.setItems(List.of(item));
+        return orderService.createOrder(request).getId();
+    }
+}
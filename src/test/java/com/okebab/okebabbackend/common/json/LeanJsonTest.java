@@ -0,0 +1,113 @@
+package com.okebab.okebabbackend.common.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LeanJsonTest {
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void defaultJsonIsUnchanged() throws Exception {
+        Long id = create();
+
+        JsonNode order = json.readTree(fetch("/api/orders/" + id, MediaType.APPLICATION_JSON).getResponse().getContentAsByteArray());
+        assertThat(order.at("/items/0/selectionsJson").isTextual()).isTrue();
+        assertThat(order.at("/items/0/selections").isMissingNode()).isTrue();
+
+        JsonNode page = json.readTree(fetch("/api/orders?size=5", MediaType.ALL).getResponse().getContentAsByteArray());
+        assertThat(page.has("pageable")).isTrue();
+    }
+
+    @Test
+    void leanJsonEmbedsSelectionsAndFlattensThePage() throws Exception {
+        Long id = create();
+
+        MvcResult details = fetch("/api/orders/" + id, LeanJson.MEDIA_TYPE);
+        assertThat(details.getResponse().getContentType()).startsWith(LeanJson.MEDIA_TYPE.toString());
+        JsonNode order = json.readTree(details.getResponse().getContentAsByteArray());
+        assertThat(order.at("/items/0/selections/sauces/0").asText()).isEqualTo("Algérienne");
+        assertThat(order.at("/items/0/selectionsJson").isMissingNode()).isTrue();
+        assertThat(order.has("pickupTime")).isFalse(); // null omis
+
+        JsonNode page = json.readTree(fetch("/api/orders?size=5", LeanJson.MEDIA_TYPE).getResponse().getContentAsByteArray());
+        assertThat(page.fieldNames()).toIterable().containsExactly("content", "page");
+        assertThat(page.at("/page/size").asInt()).isEqualTo(5);
+        assertThat(page.at("/content/0/id").isNumber()).isTrue();
+    }
+
+    @Test
+    void smileCarriesTheSameContent() throws Exception {
+        Long id = create();
+
+        byte[] body = fetch("/api/orders/" + id, LeanJson.SMILE).getResponse().getContentAsByteArray();
+        JsonNode order = new ObjectMapper(new SmileFactory()).readTree(body);
+
+        assertThat(order.get("id").asLong()).isEqualTo(id);
+        assertThat(order.at("/items/0/selections/sauces/0").asText()).isEqualTo("Algérienne");
+    }
+
+    @Test
+    void liveStreamDataStaysJson() throws Exception {
+        // les données SSE passent par le même convertisseur, avec le type text/event-stream
+        MvcResult stream = mockMvc.perform(get("/api/orders/stream")).andReturn();
+        Long id = create();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!stream.getResponse().getContentAsString().contains("\"orderId\":" + id)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(stream.getResponse().getContentAsString()).contains("event:CREATED\ndata:{\"sequence\":")
+                .contains("\"orderId\":" + id);
+    }
+
+    private MvcResult fetch(String url, MediaType accept) throws Exception {
+        MvcResult result = mockMvc.perform(get(url).accept(accept)).andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        return result;
+    }
+
+    private Long create() {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductIdFront(1L);
+        item.setProductName("Tacos M");
+        item.setProductType("tacos");
+        item.setBasePrice(new BigDecimal("8.50"));
+        item.setTotalPrice(new BigDecimal("8.50"));
+        item.setQuantity(1);
+        item.setSelections(Map.of("sauces", List.of("Algérienne")));
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Karim");
+        request.setCustomerPhone("0612345678");
+        request.setItems(List.of(item));
+        return orderService.createOrder(request).getId();
+    }
+}
@@ -0,0 +1,85 @@
+package com.okebab.okebabbackend.common.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.okebab.okebabbackend.order.dto.response.OrderDetailsResponse;
+import com.okebab.okebabbackend.order.dto.response.OrderItemResponse;
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.model.ProductType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Octets envoyés par réponse selon le format : application/json, JSON allégé, Smile allégé.
+ * Une page de 20 résumés (GET /api/orders) et le détail d'une commande de 6 articles.
+ * Temps de sérialisation : ResponseSerializationBenchmark (JMH).
+ * <p>
+ * mvn test -Pbenchmark -Dtest=ResponseSizeBenchmark
+ */
+@Tag("benchmark")
+class ResponseSizeBenchmark {
+
+    static final String SELECTIONS = "{\"taille\":\"L\",\"viandes\":[\"Poulet\",\"Cordon bleu\"],"
+            + "\"sauces\":[\"Algérienne\",\"Samouraï\"],\"supplements\":[\"Cheddar\"],"
+            + "\"pain\":\"Pain maison\",\"gratine\":true}";
+
+    @Test
+    void bytesPerResponse() throws Exception {
+        ObjectMapper standard = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper lean = LeanJson.configure(Jackson2ObjectMapperBuilder.json().build());
+        ObjectMapper smile = LeanJson.configure(Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+
+        Page<OrderSummaryResponse> page = page();
+        OrderDetailsResponse details = details();
+
+        System.out.printf("%-22s %12s %12s%n", "", "page de 20", "détail (6)");
+        System.out.printf("%-22s %12d %12d%n", "application/json",
+                standard.writeValueAsBytes(page).length, standard.writeValueAsBytes(details).length);
+        System.out.printf("%-22s %12d %12d%n", "JSON allégé",
+                lean.writeValueAsBytes(page).length, lean.writeValueAsBytes(details).length);
+        System.out.printf("%-22s %12d %12d%n", "Smile allégé",
+                smile.writeValueAsBytes(page).length, smile.writeValueAsBytes(details).length);
+    }
+
+    static Page<OrderSummaryResponse> page() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 14, 12, 0);
+        List<OrderSummaryResponse> content = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            content.add(new OrderSummaryResponse(
+                    10_000L + i,
+                    i % 3 == 0 ? OrderStatus.READY : OrderStatus.PENDING,
+                    new BigDecimal("23.40"),
+                    now.minusMinutes(i),
+                    i % 2 == 0 ? now.plusMinutes(20) : null,
+                    "Client " + i,
+                    "06 12 34 56 " + (10 + i),
+                    1 + i % 5
+            ));
+        }
+        return new PageImpl<>(content, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")), 5_000);
+    }
+
+    static OrderDetailsResponse details() {
+        List<OrderItemResponse> items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            items.add(new OrderItemResponse(
+                    100L + i, (long) i + 1, ProductType.TACOS, "Tacos L",
+                    new BigDecimal("9.50"), new BigDecimal("10.70"), 1, SELECTIONS, null
+            ));
+        }
+        LocalDateTime now = LocalDateTime.of(2026, 3, 14, 12, 0);
+        return new OrderDetailsResponse(10_000L, OrderStatus.PENDING, new BigDecimal("64.20"), now,
+                "Karim", "06 12 34 56 78", null, items, now);
+    }
+}
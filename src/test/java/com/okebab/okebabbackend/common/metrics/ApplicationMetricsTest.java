@@ -0,0 +1,105 @@
+package com.okebab.okebabbackend.common.metrics;
+
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.service.OrderService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ApplicationMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void hotPathsAreTimedAndOrdersCounted() throws Exception {
+        long created = timerCount("okebab.order.create");
+        long updates = timerCount("okebab.order.status.update");
+        double tacos = registry.get("okebab.order.items").tag("productType", "TACOS").counter().count();
+        double pending = statusCount(OrderStatus.PENDING);
+        double preparing = statusCount(OrderStatus.IN_PREPARATION);
+
+        Long id = create(3);
+        orderService.updateStatus(id, OrderStatus.IN_PREPARATION);
+
+        assertThat(timerCount("okebab.order.create")).isEqualTo(created + 1);
+        assertThat(timerCount("okebab.order.status.update")).isEqualTo(updates + 1);
+        assertThat(registry.get("okebab.order.items").tag("productType", "TACOS").counter().count())
+                .isEqualTo(tacos + 3);
+        assertThat(statusCount(OrderStatus.PENDING)).isEqualTo(pending + 1);
+        assertThat(statusCount(OrderStatus.IN_PREPARATION)).isEqualTo(preparing + 1);
+    }
+
+    @Test
+    void sqlStatementsAreCountedPerRequest() throws Exception {
+        Long id = create(1);
+        fetch("/api/orders/" + id, 200);
+
+        DistributionSummary statements = registry.get("okebab.http.sql.statements")
+                .tag("method", "GET")
+                .tag("uri", "/api/orders/{id}")
+                .summary();
+        assertThat(statements.count()).isPositive();
+        assertThat(statements.max()).isGreaterThanOrEqualTo(1);
+        assertThat(timerCount("okebab.order.get")).isPositive();
+    }
+
+    @Test
+    void readinessPingsTheDatabase() throws Exception {
+        String body = fetch("/actuator/health/readiness", 200).getResponse().getContentAsString();
+
+        assertThat(body).contains("\"status\":\"UP\"").contains("\"db\"");
+    }
+
+    private long timerCount(String name) {
+        return registry.find(name).timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private double statusCount(OrderStatus status) {
+        return registry.get("okebab.order.status").tag("status", status.name()).counter().count();
+    }
+
+    private MvcResult fetch(String url, int status) throws Exception {
+        MvcResult result = mockMvc.perform(get(url)).andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(status);
+        return result;
+    }
+
+    private Long create(int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductIdFront(1L);
+        item.setProductName("Tacos M");
+        item.setProductType("tacos");
+        item.setBasePrice(new BigDecimal("8.50"));
+        item.setTotalPrice(new BigDecimal("8.50").multiply(BigDecimal.valueOf(quantity)));
+        item.setQuantity(quantity);
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Karim");
+        request.setCustomerPhone("0612345678");
+        request.setItems(List.of(item));
+        return orderService.createOrder(request).getId();
+    }
+}
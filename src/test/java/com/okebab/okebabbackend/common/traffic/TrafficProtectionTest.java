@@ -0,0 +1,125 @@
+package com.okebab.okebabbackend.common.traffic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// sample-ms très long : l'échantillonnage n'est fait que par le test
+@SpringBootTest(properties = {
+        "okebab.ratelimit.enabled=true",
+        "okebab.ratelimit.read-per-second=1",
+        "okebab.ratelimit.read-burst=2",
+        "okebab.ratelimit.write-per-second=1",
+        "okebab.ratelimit.write-burst=1",
+        "okebab.ratelimit.client-ids=kiosk-1, kiosk-2,kiosk-3,screen-1",
+        "okebab.shedding.enabled=true",
+        "okebab.shedding.max-acquire-ms=50",
+        "okebab.shedding.sample-ms=3600000"
+})
+@AutoConfigureMockMvc
+class TrafficProtectionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LoadShedder loadShedder;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void eachClientHasItsOwnReadAndWriteBudgets() throws Exception {
+        status(get("/api/orders/active"), "kiosk-1", 200);
+        status(get("/api/orders/active"), "kiosk-1", 200);
+
+        MvcResult limited = status(get("/api/orders/active"), "kiosk-1", 429);
+        assertThat(limited.getResponse().getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        // autre client : budget intact ; écritures : budget séparé
+        status(get("/api/orders/active"), "kiosk-2", 200);
+        status(createOrder(), "kiosk-1", 201);
+        status(createOrder(), "kiosk-1", 429);
+    }
+
+    @Test
+    void undeclaredClientIdsShareTheAddressBudget() throws Exception {
+        // un identifiant neuf à chaque requête ne donne pas un seau neuf
+        status(get("/api/orders/active"), "boucle-1", 200);
+        status(get("/api/orders/active"), "boucle-2", 200);
+        status(get("/api/orders/active"), "boucle-3", 429);
+        status(get("/api/orders/active"), null, 429);
+
+        // autre adresse : autre budget
+        MvcResult elsewhere = mockMvc.perform(get("/api/orders/active").header("X-Client-Id", "boucle-4")
+                .with(remote -> {
+                    remote.setRemoteAddr("10.0.0.9");
+                    return remote;
+                })).andReturn();
+        assertThat(elsewhere.getResponse().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void slowPoolAcquisitionShedsListingsButNotOrderCreation() throws Exception {
+        loadShedder.sample();
+        Timer acquire = registry.timer("hikaricp.connections.acquire", "pool", "test");
+        for (int i = 0; i < 10; i++) {
+            acquire.record(Duration.ofMillis(200));
+        }
+        loadShedder.sample();
+
+        MvcResult shed = status(get("/api/orders"), "screen-1", 503);
+        assertThat(shed.getResponse().getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        status(createOrder(), "kiosk-3", 201);
+
+        // attente redevenue normale
+        loadShedder.sample();
+        status(get("/api/orders"), "screen-1", 200);
+    }
+
+    private MvcResult status(MockHttpServletRequestBuilder request, String client, int status) throws Exception {
+        MvcResult result = mockMvc.perform(client == null ? request : request.header("X-Client-Id", client)).andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(status);
+        return result;
+    }
+
+    private MockHttpServletRequestBuilder createOrder() throws Exception {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductIdFront(1L);
+        item.setProductName("Tacos M");
+        item.setProductType("tacos");
+        item.setBasePrice(new BigDecimal("8.50"));
+        item.setTotalPrice(new BigDecimal("8.50"));
+        item.setQuantity(1);
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Karim");
+        request.setCustomerPhone("0612345678");
+        request.setItems(List.of(item));
+        return post("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(request));
+    }
+}
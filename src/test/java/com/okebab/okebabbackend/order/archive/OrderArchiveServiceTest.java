@@ -0,0 +1,205 @@
+package com.okebab.okebabbackend.order.archive;
+
+import com.okebab.okebabbackend.common.error.NotFoundException;
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.OrderCursorPage;
+import com.okebab.okebabbackend.order.dto.response.OrderDetailsResponse;
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import com.okebab.okebabbackend.order.search.OrderSearchIndex;
+import com.okebab.okebabbackend.order.search.OrderSearchIndexLoader;
+import com.okebab.okebabbackend.order.service.OrderService;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.cache.type=none",
+        "okebab.archive.after-days=30",
+        "okebab.archive.batch-size=3",
+        "okebab.archive.pause-ms=0"
+})
+class OrderArchiveServiceTest {
+
+    @Autowired
+    private OrderArchiveService archiveService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderArchiveRepository archiveRepository;
+
+    @Autowired
+    private OrderSearchIndex searchIndex;
+
+    @Autowired
+    private OrderSearchIndexLoader searchIndexLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> old = new ArrayList<>();
+    private Long oldPending;
+    private Long recentCompleted;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from order_items_archive");
+        jdbcTemplate.update("delete from orders_archive");
+        orderRepository.deleteAll();
+        old.clear();
+
+        // 7 commandes terminées il y a 60 jours et plus, une restée en attente, une terminée récente
+        for (int i = 0; i < 7; i++) {
+            Long id = create(2);
+            orderService.updateStatus(id, i % 2 == 0 ? OrderStatus.CANCELLED : OrderStatus.READY);
+            if (i % 2 == 1) orderService.updateStatus(id, OrderStatus.COMPLETED);
+            age(id, 60 + i);
+            old.add(id);
+        }
+        oldPending = create(1);
+        age(oldPending, 59);
+
+        recentCompleted = create(1);
+        orderService.updateStatus(recentCompleted, OrderStatus.READY);
+        orderService.updateStatus(recentCompleted, OrderStatus.COMPLETED);
+    }
+
+    @Test
+    void movesFinishedOrdersInBatches() {
+        assertThat(archiveService.archiveBefore(archiveService.horizon())).isEqualTo(7);
+
+        assertThat(orderRepository.findAll()).extracting(o -> o.getId())
+                .containsExactlyInAnyOrder(oldPending, recentCompleted);
+        assertThat(archiveRepository.findAll()).extracting(ArchivedOrder::getId)
+                .containsExactlyInAnyOrderElementsOf(old);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from order_items_archive", Long.class)).isEqualTo(14);
+
+        // une seconde passe n'a plus rien à faire
+        assertThat(archiveService.archiveBefore(archiveService.horizon())).isZero();
+    }
+
+    @Test
+    void archivedOrdersLeaveTheSearchIndex() {
+        // rechargement par-dessus les ajouts des créations : sans doublon
+        searchIndexLoader.load();
+        assertThat(searchIndex.lookup("client")).hasValueSatisfying(ids -> assertThat(ids).containsAll(old));
+
+        archiveService.archiveBefore(archiveService.horizon());
+
+        assertThat(searchIndex.lookup("client")).hasValueSatisfying(ids -> assertThat(ids)
+                .doesNotContainAnyElementsOf(old)
+                .contains(oldPending, recentCompleted));
+    }
+
+    @Test
+    void detailsFallBackToTheArchive() {
+        archiveService.archiveBefore(archiveService.horizon());
+
+        OrderDetailsResponse details = orderService.getOrderById(old.get(1));
+        assertThat(details.status()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(details.items()).hasSize(2);
+
+        assertThatThrownBy(() -> orderService.getOrderById(-1L)).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void listingMergesTheArchiveOnlyWhenTheRangeReachesIt() {
+        archiveService.archiveBefore(archiveService.horizon());
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(365);
+        PageRequest byDate = PageRequest.of(0, 4, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        Page<OrderSummaryResponse> recent = orderService.listOrders(OrderFilter.ALL, byDate);
+        assertThat(recent.getTotalElements()).isEqualTo(2);
+
+        Page<OrderSummaryResponse> first = orderService.listOrders(OrderFilter.of(null, null, null, null, longAgo, null, null, null), byDate);
+        Page<OrderSummaryResponse> second = orderService.listOrders(OrderFilter.of(null, null, null, null, longAgo, null, null, null), byDate.next());
+        assertThat(first.getTotalElements()).isEqualTo(9);
+        assertThat(first.getContent()).extracting(OrderSummaryResponse::id)
+                .containsExactly(recentCompleted, oldPending, old.get(0), old.get(1));
+        assertThat(second.getContent()).extracting(OrderSummaryResponse::id)
+                .containsExactly(old.get(2), old.get(3), old.get(4), old.get(5));
+        assertThat(first.getContent()).allSatisfy(o -> assertThat(o.itemsCount()).isPositive());
+
+        Page<OrderSummaryResponse> completed = orderService.listOrders(
+                OrderFilter.of(OrderStatus.COMPLETED, null, null, null, longAgo, null, null, null), byDate);
+        assertThat(completed.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void deepMergedPagesPointToTheCursor() {
+        OrderFilter reachesArchive = OrderFilter.of(null, null, null, null, LocalDateTime.now().minusDays(365), null, null, null);
+        Sort byDate = Sort.by(Sort.Direction.DESC, "createdAt");
+
+        // offset + size calculés en long : pas de débordement int sur une page très lointaine
+        assertThatThrownBy(() -> orderService.listOrders(reachesArchive, PageRequest.of(Integer.MAX_VALUE / 10, 20, byDate)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("curseur");
+        assertThatThrownBy(() -> orderService.listOrders(reachesArchive,
+                PageRequest.of(OrderArchiveService.MAX_MERGED_ROWS / 20, 20, byDate)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(orderService.listOrders(reachesArchive,
+                PageRequest.of(OrderArchiveService.MAX_MERGED_ROWS / 20 - 1, 20, byDate)).getContent()).isEmpty();
+    }
+
+    @Test
+    void cursorWalksLiveAndArchivedOrders() {
+        archiveService.archiveBefore(archiveService.horizon());
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(365);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            OrderCursorPage<OrderSummaryResponse> page = orderService.listOrdersByCursor(
+                    OrderFilter.of(null, null, null, null, longAgo, null, null, null), cursor, 2);
+            page.content().forEach(o -> seen.add(o.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(9).doesNotHaveDuplicates();
+    }
+
+    private void age(Long id, int days) {
+        jdbcTemplate.update("update orders set created_at = ? where id = ?", LocalDateTime.now().minusDays(days), id);
+    }
+
+    private Long create(int items) {
+        List<OrderItemRequest> lines = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductIdFront(1L);
+            item.setProductName("Tacos M");
+            item.setProductType("tacos");
+            item.setBasePrice(new BigDecimal("8.50"));
+            item.setTotalPrice(new BigDecimal("8.50"));
+            item.setQuantity(1);
+            lines.add(item);
+        }
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Client");
+        request.setItems(lines);
+        return orderService.createOrder(request).getId();
+    }
+}
@@ -0,0 +1,138 @@
+package com.okebab.okebabbackend.order.controller;
+
+import com.okebab.okebabbackend.common.json.LeanJson;
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import com.okebab.okebabbackend.order.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void unchangedOrderIsAnsweredWith304FromASingleColumnRead() throws Exception {
+        Long id = create();
+        String etag = fetch(get("/api/orders/" + id), 200).getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"o" + id + "-");
+
+        statistics.clear();
+        MvcResult notModified = fetch(get("/api/orders/" + id).header(HttpHeaders.IF_NONE_MATCH, etag), 304);
+        assertThat(notModified.getResponse().getContentLength()).isZero();
+        assertThat(notModified.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        orderService.updateStatus(id, OrderStatus.IN_PREPARATION);
+
+        MvcResult changed = fetch(get("/api/orders/" + id).header(HttpHeaders.IF_NONE_MATCH, etag), 200);
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(changed.getResponse().getContentAsString()).contains("IN_PREPARATION");
+    }
+
+    @Test
+    void eachRepresentationHasItsOwnEtag() throws Exception {
+        Long id = create();
+
+        String json = fetch(get("/api/orders/" + id), 200).getResponse().getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequestBuilder lean = get("/api/orders/" + id).accept(LeanJson.MEDIA_TYPE);
+        String leanEtag = fetch(lean, 200).getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(leanEtag).isNotEqualTo(json);
+        fetch(get("/api/orders/" + id).accept(LeanJson.MEDIA_TYPE).header(HttpHeaders.IF_NONE_MATCH, json), 200);
+        fetch(get("/api/orders/" + id).accept(LeanJson.MEDIA_TYPE).header(HttpHeaders.IF_NONE_MATCH, leanEtag), 304);
+    }
+
+    @Test
+    void listingVersionFollowsTheFilteredOrders() throws Exception {
+        Long first = create();
+        create();
+        String url = "/api/orders?status=PENDING&size=20";
+
+        MvcResult page = fetch(get(url), 200);
+        String etag = page.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(page.getResponse().getContentAsString()).contains("\"totalElements\":2");
+
+        // 304 : la seule requête d'agrégat, ni page ni COUNT
+        statistics.clear();
+        fetch(get(url).header(HttpHeaders.IF_NONE_MATCH, etag), 304);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        // sortie du filtre
+        orderService.updateStatus(first, OrderStatus.CANCELLED);
+        String afterCancel = fetch(get(url).header(HttpHeaders.IF_NONE_MATCH, etag), 200)
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(afterCancel).isNotEqualTo(etag);
+
+        // entrée dans le filtre
+        create();
+        MvcResult afterCreate = fetch(get(url).header(HttpHeaders.IF_NONE_MATCH, afterCancel), 200);
+        assertThat(afterCreate.getResponse().getContentAsString()).contains("\"totalElements\":2");
+
+        // un autre filtre n'est pas touché par une commande qu'il ne contient pas
+        String completed = fetch(get("/api/orders?status=COMPLETED"), 200).getResponse().getHeader(HttpHeaders.ETAG);
+        create();
+        fetch(get("/api/orders?status=COMPLETED").header(HttpHeaders.IF_NONE_MATCH, completed), 304);
+    }
+
+    private MvcResult fetch(MockHttpServletRequestBuilder request, int status) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(status);
+        return result;
+    }
+
+    private Long create() {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductIdFront(1L);
+        item.setProductName("Tacos M");
+        item.setProductType("tacos");
+        item.setBasePrice(new BigDecimal("8.50"));
+        item.setTotalPrice(new BigDecimal("8.50"));
+        item.setQuantity(1);
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Karim");
+        request.setCustomerPhone("0612345678");
+        request.setItems(List.of(item));
+        return orderService.createOrder(request).getId();
+    }
+}
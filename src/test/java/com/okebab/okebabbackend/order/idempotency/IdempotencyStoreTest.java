@@ -0,0 +1,123 @@
+package com.okebab.okebabbackend.order.idempotency;
+
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.OrderResponse;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import com.okebab.okebabbackend.order.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class IdempotencyStoreTest {
+
+    static final int DUPLICATES = 300;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void parallelDuplicatesCreateOneOrder() throws Exception {
+        assertParallelDuplicatesCreateOneOrder(idempotencyStore, orderService, orderRepository);
+    }
+
+    @Test
+    void sameKeyWithAnotherBodyIsRejected() {
+        String key = UUID.randomUUID().toString();
+        create(idempotencyStore, orderService, key, order("Karim"));
+
+        assertThatThrownBy(() -> create(idempotencyStore, orderService, key, order("Sofiane")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void failedCreationReleasesTheKey() {
+        String key = UUID.randomUUID().toString();
+        OrderRequest request = order("Karim");
+
+        assertThatThrownBy(() -> idempotencyStore.execute(key, request, OrderResponse.class, () -> {
+            throw new IllegalStateException("base indisponible");
+        })).isInstanceOf(IllegalStateException.class);
+
+        IdempotencyStore.Outcome<OrderResponse> retry = create(idempotencyStore, orderService, key, request);
+        assertThat(retry.replayed()).isFalse();
+        assertThat(retry.value().getId()).isNotNull();
+    }
+
+    /**
+     * DUPLICATES requêtes identiques lâchées en même temps : une seule création, la même réponse pour tous.
+     */
+    static void assertParallelDuplicatesCreateOneOrder(
+            IdempotencyStore store, OrderService orderService, OrderRepository orderRepository) throws Exception {
+        String key = UUID.randomUUID().toString();
+        OrderRequest request = order("Karim");
+        long ordersBefore = orderRepository.count();
+
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<IdempotencyStore.Outcome<OrderResponse>>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < DUPLICATES; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store.execute(key, request, OrderResponse.class, () -> {
+                        executions.incrementAndGet();
+                        return orderService.createOrder(request);
+                    });
+                }));
+            }
+            start.countDown();
+        }
+
+        List<IdempotencyStore.Outcome<OrderResponse>> outcomes = new ArrayList<>();
+        for (Future<IdempotencyStore.Outcome<OrderResponse>> result : results) {
+            outcomes.add(result.get());
+        }
+
+        assertThat(executions).hasValue(1);
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+        assertThat(outcomes).extracting(o -> o.value().getId()).containsOnly(outcomes.get(0).value().getId());
+        assertThat(outcomes).filteredOn(o -> !o.replayed()).hasSize(1);
+    }
+
+    static IdempotencyStore.Outcome<OrderResponse> create(
+            IdempotencyStore store, OrderService orderService, String key, OrderRequest request) {
+        return store.execute(key, request, OrderResponse.class, () -> orderService.createOrder(request));
+    }
+
+    static OrderRequest order(String customerName) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductIdFront(1L);
+        item.setProductName("Tacos M");
+        item.setProductType("tacos");
+        item.setBasePrice(new BigDecimal("8.50"));
+        item.setTotalPrice(new BigDecimal("9.70"));
+        item.setQuantity(1);
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName(customerName);
+        request.setItems(new ArrayList<>(List.of(item)));
+        return request;
+    }
+}
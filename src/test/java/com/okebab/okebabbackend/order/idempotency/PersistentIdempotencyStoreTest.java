@@ -0,0 +1,53 @@
+package com.okebab.okebabbackend.order.idempotency;
+
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.OrderResponse;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import com.okebab.okebabbackend.order.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "okebab.idempotency.persistent=true")
+class PersistentIdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Test
+    void parallelDuplicatesCreateOneOrder() throws Exception {
+        IdempotencyStoreTest.assertParallelDuplicatesCreateOneOrder(idempotencyStore, orderService, orderRepository);
+    }
+
+    @Test
+    void replayAfterRestartComesFromTheTable() {
+        String key = UUID.randomUUID().toString();
+        OrderRequest request = IdempotencyStoreTest.order("Karim");
+
+        IdempotencyStore.Outcome<OrderResponse> first = IdempotencyStoreTest.create(idempotencyStore, orderService, key, request);
+        assertThat(recordRepository.findById(key)).get()
+                .extracting(IdempotencyRecord::getResponseJson).isNotNull();
+
+        idempotencyStore.clearLocal();
+        long ordersBefore = orderRepository.count();
+
+        IdempotencyStore.Outcome<OrderResponse> replay = IdempotencyStoreTest.create(idempotencyStore, orderService, key, request);
+
+        assertThat(replay.replayed()).isTrue();
+        assertThat(replay.value()).isEqualTo(first.value());
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore);
+    }
+}
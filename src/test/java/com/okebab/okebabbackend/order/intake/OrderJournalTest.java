@@ -0,0 +1,87 @@
+package com.okebab.okebabbackend.order.intake;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.model.ProductType;
+import com.okebab.okebabbackend.order.model.SelectionsCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderJournalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void acknowledgedSegmentsAreDeletedAndTheRestIsReplayed() throws Exception {
+        OrderJournal journal = new OrderJournal(dir, objectMapper, 2, true);
+        long first = journal.append(order(1L));
+        long second = journal.append(order(2L));
+        long third = journal.append(order(3L)); // segment suivant
+
+        assertThat(first).isEqualTo(second).isNotEqualTo(third);
+
+        journal.acknowledge(first);
+        journal.acknowledge(second);
+        journal.close();
+
+        assertThat(Files.exists(dir.resolve("intake-" + first + ".log"))).isFalse();
+
+        OrderJournal reopened = new OrderJournal(dir, objectMapper, 2, true);
+        assertThat(reopened.recovered())
+                .extracting(e -> e.order().id())
+                .containsExactly(3L);
+        assertThat(reopened.recovered().get(0).order()).usingRecursiveComparison().isEqualTo(order(3L));
+
+        reopened.acknowledge(third);
+        reopened.close();
+        assertThat(new OrderJournal(dir, objectMapper, 2, true).recovered()).isEmpty();
+    }
+
+    @Test
+    void truncatedLastLineIsIgnored() throws Exception {
+        OrderJournal journal = new OrderJournal(dir, objectMapper, 100, true);
+        long segment = journal.append(order(1L));
+        journal.close();
+
+        Files.writeString(dir.resolve("intake-" + segment + ".log"), "{\"id\":2,\"createdAt\":\"20",
+                StandardOpenOption.APPEND);
+
+        assertThat(new OrderJournal(dir, objectMapper, 100, true).recovered())
+                .extracting(e -> e.order().id())
+                .containsExactly(1L);
+    }
+
+    private static JournaledOrder order(Long id) {
+        return new JournaledOrder(
+                id,
+                LocalDateTime.of(2026, 3, 14, 12, 0),
+                LocalDateTime.of(2026, 3, 14, 12, 0),
+                OrderStatus.PENDING,
+                new BigDecimal("9.70"),
+                "Karim",
+                "06 12 34 56 78",
+                "0612345678",
+                "+33612345678",
+                null,
+                List.of(new JournaledOrder.Item(id * 10, 1L, ProductType.TACOS, "Tacos M",
+                        new BigDecimal("8.50"), new BigDecimal("9.70"), 1,
+                        SelectionsCodec.fromJson("{\"sauces\":[\"Algérienne\"]}"), null, null))
+        );
+    }
+}
@@ -0,0 +1,129 @@
+package com.okebab.okebabbackend.order.live;
+
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.event.OrderStatusChangedEvent;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import com.okebab.okebabbackend.order.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class ActiveOrderViewTest {
+
+    @Autowired
+    private ActiveOrderView view;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        view.reconcile();
+    }
+
+    @Test
+    void followsCreationsAndStatusChanges() {
+        LocalDateTime now = LocalDateTime.now();
+        Long late = create(now.plusMinutes(40));
+        Long soon = create(now.plusMinutes(10));
+        Long asap = create(null);
+        Long done = create(null);
+
+        orderService.updateStatus(late, OrderStatus.IN_PREPARATION);
+        orderService.updateStatus(done, OrderStatus.READY);
+        orderService.updateStatus(done, OrderStatus.COMPLETED);
+
+        assertThat(view.list(OrderStatus.PENDING)).extracting(OrderSummaryResponse::id).containsExactly(asap, soon);
+        assertThat(view.list(null)).extracting(OrderSummaryResponse::id).containsExactly(asap, soon, late);
+        assertThat(view.list(OrderStatus.IN_PREPARATION)).singleElement()
+                .satisfies(o -> assertThat(o.status()).isEqualTo(OrderStatus.IN_PREPARATION));
+        assertThat(view.list(OrderStatus.COMPLETED)).isEmpty();
+
+        // rien à corriger : la vue suit déjà la base
+        assertThat(view.reconcile()).isZero();
+    }
+
+    @Test
+    void reconciliationFixesWritesItDidNotSee() {
+        Long cancelledElsewhere = create(null);
+        Long readyElsewhere = create(null);
+        view.reconcile();
+
+        // écritures d'une autre instance : pas d'événement ici
+        jdbcTemplate.update("update orders set status = 'CANCELLED' where id = ?", cancelledElsewhere);
+        jdbcTemplate.update("update orders set status = 'READY' where id = ?", readyElsewhere);
+        Long createdElsewhere = create(null);
+        // ... ni pour celle-ci : on la fait sortir de la vue comme si elle n'y était jamais entrée
+        view.onStatusChanged(new OrderStatusChangedEvent(
+                createdElsewhere, OrderStatus.PENDING, OrderStatus.CANCELLED, LocalDateTime.now(), BigDecimal.ONE));
+
+        assertThat(view.reconcile()).isEqualTo(3);
+        assertThat(view.list(null)).extracting(OrderSummaryResponse::id, OrderSummaryResponse::status)
+                .containsExactlyInAnyOrder(
+                        tuple(readyElsewhere, OrderStatus.READY),
+                        tuple(createdElsewhere, OrderStatus.PENDING));
+    }
+
+    @Test
+    void concurrentWritesLeaveNoDrift() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int n = i;
+                tasks.add(pool.submit(() -> {
+                    Long id = create(null);
+                    if (n % 2 == 0) orderService.updateStatus(id, OrderStatus.IN_PREPARATION);
+                    if (n % 3 == 0) orderService.updateStatus(id, OrderStatus.CANCELLED);
+                }));
+                if (i % 50 == 0) tasks.add(pool.submit(view::reconcile));
+            }
+            for (Future<?> task : tasks) task.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(view.reconcile()).isZero();
+        assertThat(view.size()).isEqualTo(200 - 67);
+    }
+
+    private Long create(LocalDateTime pickupTime) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductIdFront(1L);
+        item.setProductName("Tacos M");
+        item.setProductType("tacos");
+        item.setBasePrice(new BigDecimal("8.50"));
+        item.setTotalPrice(new BigDecimal("8.50"));
+        item.setQuantity(1);
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Client");
+        request.setPickupTime(pickupTime);
+        request.setItems(List.of(item));
+        return orderService.createOrder(request).getId();
+    }
+}
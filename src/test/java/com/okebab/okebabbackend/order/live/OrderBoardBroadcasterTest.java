@@ -0,0 +1,123 @@
+package com.okebab.okebabbackend.order.live;
+
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.event.OrderCreatedEvent;
+import com.okebab.okebabbackend.order.event.OrderStatusChangedEvent;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = {
+        "okebab.live.replay-size=3",
+        "okebab.live.heartbeat-ms=600000"
+})
+@AutoConfigureMockMvc
+class OrderBoardBroadcasterTest {
+
+    private static final Pattern EVENT = Pattern.compile("id:(\\d+)\\nevent:(\\w+)\\n");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderBoardBroadcaster broadcaster;
+
+    private record Sent(long id, String type) {}
+
+    @Test
+    void reconnectingClientReceivesWhatItMissed() throws Exception {
+        MvcResult live = open(get("/api/orders/stream"));
+        publishCreated(1001L);
+        publishChanged(1002L, OrderStatus.PENDING, OrderStatus.IN_PREPARATION);
+        long first = await(live, 2).get(0).id();
+
+        MvcResult resumed = open(get("/api/orders/stream").header("Last-Event-ID", first));
+        publishCreated(1003L);
+
+        assertThat(await(resumed, 2)).containsExactly(
+                new Sent(first + 1, "STATUS_CHANGED"),
+                new Sent(first + 2, "CREATED"));
+    }
+
+    @Test
+    void tooOldLastEventIdGetsAResync() throws Exception {
+        MvcResult live = open(get("/api/orders/stream"));
+        publishCreated(2001L);
+        long first = await(live, 1).get(0).id();
+        for (long id = 2002; id <= 2005; id++) {
+            publishCreated(id);
+        }
+
+        // historique de 3 : l'événement qui suit "first" n'y est plus
+        MvcResult resumed = open(get("/api/orders/stream").param("lastEventId", Long.toString(first)));
+
+        assertThat(await(resumed, 1)).containsExactly(new Sent(first + 4, "RESYNC"));
+    }
+
+    @Test
+    void filteredStreamOnlyGetsItsStatus() throws Exception {
+        MvcResult ready = open(get("/api/orders/stream").param("status", "READY"));
+        MvcResult all = open(get("/api/orders/stream"));
+
+        publishCreated(3001L);
+        publishChanged(3001L, OrderStatus.PENDING, OrderStatus.IN_PREPARATION);
+        publishChanged(3002L, OrderStatus.IN_PREPARATION, OrderStatus.READY);
+        long last = await(all, 2).get(1).id();
+
+        assertThat(await(ready, 1)).containsExactly(new Sent(last, "STATUS_CHANGED"));
+    }
+
+    private MvcResult open(MockHttpServletRequestBuilder stream) throws Exception {
+        return mockMvc.perform(stream).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private void publishCreated(Long id) {
+        broadcaster.onCreated(new OrderCreatedEvent(new OrderSummaryResponse(id, OrderStatus.PENDING,
+                new BigDecimal("8.50"), LocalDateTime.now(), null, "Client", null, 1), List.of()));
+    }
+
+    private void publishChanged(Long id, OrderStatus from, OrderStatus to) {
+        broadcaster.onStatusChanged(new OrderStatusChangedEvent(id, from, to, LocalDateTime.now(), new BigDecimal("8.50")));
+    }
+
+    // les envois se font sur des threads à part : on attend qu'ils arrivent dans la réponse
+    private static List<Sent> await(MvcResult stream, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (sent(stream).size() >= count) {
+                // laisse passer un éventuel envoi en trop
+                Thread.sleep(100);
+                List<Sent> sent = sent(stream);
+                return sent.size() == count ? sent : fail("événements en trop : " + sent);
+            }
+            Thread.sleep(20);
+        }
+        return fail("moins de " + count + " événements reçus : " + stream.getResponse().getContentAsString());
+    }
+
+    private static List<Sent> sent(MvcResult stream) throws Exception {
+        List<Sent> sent = new ArrayList<>();
+        Matcher matcher = EVENT.matcher(stream.getResponse().getContentAsString());
+        while (matcher.find()) {
+            sent.add(new Sent(Long.parseLong(matcher.group(1)), matcher.group(2)));
+        }
+        return sent;
+    }
+}
@@ -0,0 +1,140 @@
+package com.okebab.okebabbackend.order.live;
+
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.live.OrderBoardEvent.Type;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderBoardSubscriberTest {
+
+    private long sequence;
+
+    @Test
+    void pendingCreationKeepsItsSummaryWithTheNewStatus() {
+        Recorder screen = new Recorder(null, 8);
+        screen.subscriber.offer(created(1L));
+        screen.subscriber.offer(changed(1L, OrderStatus.PENDING, OrderStatus.IN_PREPARATION));
+
+        List<OrderBoardEvent> sent = screen.drain();
+        assertThat(sent).singleElement().satisfies(e -> {
+            assertThat(e.type()).isEqualTo(Type.CREATED);
+            assertThat(e.sequence()).isEqualTo(2);
+            assertThat(e.status()).isEqualTo(OrderStatus.IN_PREPARATION);
+            assertThat(e.order().status()).isEqualTo(OrderStatus.IN_PREPARATION);
+            assertThat(e.order().customerName()).isEqualTo("Client 1");
+        });
+    }
+
+    @Test
+    void creationThatLeftTheFilterIsDropped() {
+        Recorder pendingScreen = new Recorder(OrderStatus.PENDING, 8);
+        pendingScreen.subscriber.offer(created(1L));
+        pendingScreen.subscriber.offer(created(2L));
+        pendingScreen.subscriber.offer(changed(1L, OrderStatus.PENDING, OrderStatus.IN_PREPARATION));
+
+        assertThat(pendingScreen.drain()).singleElement().satisfies(e -> {
+            assertThat(e.type()).isEqualTo(Type.CREATED);
+            assertThat(e.orderId()).isEqualTo(2L);
+        });
+    }
+
+    @Test
+    void successiveChangesStartFromTheStatusTheScreenKnows() {
+        Recorder screen = new Recorder(null, 8);
+        screen.subscriber.offer(changed(1L, OrderStatus.PENDING, OrderStatus.IN_PREPARATION));
+        screen.subscriber.offer(changed(1L, OrderStatus.IN_PREPARATION, OrderStatus.READY));
+
+        assertThat(screen.drain()).singleElement().satisfies(e -> {
+            assertThat(e.type()).isEqualTo(Type.STATUS_CHANGED);
+            assertThat(e.previousStatus()).isEqualTo(OrderStatus.PENDING);
+            assertThat(e.status()).isEqualTo(OrderStatus.READY);
+        });
+    }
+
+    @Test
+    void onlyEventsConcerningTheFilterAreSent() {
+        Recorder readyScreen = new Recorder(OrderStatus.READY, 8);
+        readyScreen.subscriber.offer(created(1L));
+        readyScreen.subscriber.offer(changed(2L, OrderStatus.PENDING, OrderStatus.IN_PREPARATION));
+        readyScreen.subscriber.offer(changed(3L, OrderStatus.IN_PREPARATION, OrderStatus.READY));
+        readyScreen.subscriber.offer(changed(4L, OrderStatus.READY, OrderStatus.COMPLETED));
+
+        assertThat(readyScreen.drain()).extracting(OrderBoardEvent::orderId).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void overflowSendsASingleResyncAtTheLatestSequence() {
+        Recorder slowScreen = new Recorder(null, 2);
+        slowScreen.subscriber.offer(created(1L));
+        slowScreen.subscriber.offer(created(2L));
+        slowScreen.subscriber.offer(created(3L));
+
+        assertThat(slowScreen.drain()).singleElement().satisfies(e -> {
+            assertThat(e.type()).isEqualTo(Type.RESYNC);
+            assertThat(e.sequence()).isEqualTo(3);
+        });
+
+        // puis le flux reprend normalement
+        slowScreen.subscriber.offer(created(4L));
+        assertThat(slowScreen.drain()).extracting(OrderBoardEvent::type).containsExactly(Type.CREATED);
+    }
+
+    @Test
+    void heartbeatIsAComment() {
+        Recorder screen = new Recorder(null, 8);
+        screen.subscriber.requestHeartbeat();
+
+        assertThat(screen.drain()).isEmpty();
+        assertThat(screen.emitter.pings).isEqualTo(1);
+    }
+
+    private OrderBoardEvent created(Long id) {
+        OrderSummaryResponse order = new OrderSummaryResponse(id, OrderStatus.PENDING, new BigDecimal("8.50"),
+                LocalDateTime.now(), null, "Client " + id, null, 1);
+        return new OrderBoardEvent(++sequence, Type.CREATED, id, OrderStatus.PENDING, null, order);
+    }
+
+    private OrderBoardEvent changed(Long id, OrderStatus from, OrderStatus to) {
+        return new OrderBoardEvent(++sequence, Type.STATUS_CHANGED, id, to, from, null);
+    }
+
+    private static final class Recorder {
+
+        final RecordingEmitter emitter = new RecordingEmitter();
+        final OrderBoardSubscriber subscriber;
+
+        Recorder(OrderStatus filter, int capacity) {
+            subscriber = new OrderBoardSubscriber(emitter, filter, capacity);
+        }
+
+        List<OrderBoardEvent> drain() {
+            emitter.events.clear();
+            subscriber.drain();
+            return emitter.events;
+        }
+    }
+
+    // garde les événements envoyés au lieu de les écrire sur une réponse HTTP
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final List<OrderBoardEvent> events = new ArrayList<>();
+        int pings;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            int before = events.size();
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof OrderBoardEvent event) events.add(event);
+            });
+            if (events.size() == before) pings++;
+        }
+    }
+}
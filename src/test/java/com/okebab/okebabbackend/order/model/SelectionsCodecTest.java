@@ -0,0 +1,40 @@
+package com.okebab.okebabbackend.order.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SelectionsCodecTest {
+
+    @Test
+    void typicalSelectionsRoundTrip() {
+        String json = "{\"viandes\":[\"poulet\",\"kebab\"],\"sauces\":[\"algérienne\"],\"supplements\":[\"cheddar\"]}";
+
+        byte[] encoded = SelectionsCodec.fromJson(json);
+
+        assertThat(encoded.length).isLessThan(json.length());
+        assertThat(SelectionsCodec.toJson(encoded)).isEqualTo(json);
+    }
+
+    @Test
+    void oversizedSelectionsAreABadRequest() {
+        // incompressible : dépasse la colonne une fois compressé
+        Random random = new Random(42);
+        StringBuilder noise = new StringBuilder();
+        for (int i = 0; i < SelectionsCodec.MAX_JSON_BYTES - 100; i++) {
+            noise.append((char) ('!' + random.nextInt(90)));
+        }
+        assertThatThrownBy(() -> SelectionsCodec.encode(Map.of("note", noise.toString().replace("\\", "").replace("\"", ""))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("trop volumineuses");
+
+        // au-delà de MAX_JSON_BYTES : refusé sans compresser
+        assertThatThrownBy(() -> SelectionsCodec.encode(Map.of("note", "a".repeat(SelectionsCodec.MAX_JSON_BYTES))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("octets de JSON");
+    }
+}
@@ -0,0 +1,92 @@
+package com.okebab.okebabbackend.order.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Place occupée par les sélections d'articles : JSON texte (ancienne colonne selections_json)
+ * contre JSON compressé avec dictionnaire (colonne selections), sur un jeu d'articles proche
+ * de la carte réelle, avec quelques notes libres hors dictionnaire.
+ * <p>
+ * mvn test -Pbenchmark -Dtest=SelectionsStorageBenchmark [-Dbench.items=100000]
+ */
+@Tag("benchmark")
+class SelectionsStorageBenchmark {
+
+    private static final int ITEMS = Integer.getInteger("bench.items", 100_000);
+
+    private static final String[] MEATS = {"Poulet", "Cordon bleu", "Tenders", "Kebab", "Steak haché", "Merguez", "Nuggets", "Falafel"};
+    private static final String[] SAUCES = {"Algérienne", "Samouraï", "Blanche", "Harissa", "Biggy", "Barbecue", "Ketchup", "Mayonnaise", "Andalouse", "Curry"};
+    private static final String[] EXTRAS = {"Cheddar", "Raclette", "Chèvre", "Oeuf", "Bacon de dinde", "Galette de pomme de terre"};
+    private static final String[] BREADS = {"Pain maison", "Galette", "Pain complet"};
+    private static final String[] DRINKS = {"Coca-Cola", "Coca-Cola Zero", "Oasis Tropical", "Ice Tea Pêche", "Eau minérale", "Orangina"};
+
+    @Test
+    void storagePerItem() throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        Random random = new Random(42);
+
+        long jsonBytes = 0;
+        long encodedBytes = 0;
+        int max = 0;
+        for (int i = 0; i < ITEMS; i++) {
+            Map<String, Object> selections = selections(random);
+            jsonBytes += json.writeValueAsString(selections).getBytes(StandardCharsets.UTF_8).length;
+            int encoded = SelectionsCodec.encode(selections).length;
+            encodedBytes += encoded;
+            max = Math.max(max, encoded);
+        }
+
+        System.out.printf("articles                   : %d%n", ITEMS);
+        System.out.printf("JSON texte   / article     : %.1f octets (%.1f Mo)%n", (double) jsonBytes / ITEMS, jsonBytes / 1e6);
+        System.out.printf("compressé    / article     : %.1f octets (%.1f Mo), max %d%n", (double) encodedBytes / ITEMS, encodedBytes / 1e6, max);
+        System.out.printf("gain                       : %.0f %%%n", 100.0 * (jsonBytes - encodedBytes) / jsonBytes);
+    }
+
+    // Répartition type d'une commande : 60 % tacos / sandwichs, 25 % boissons, 15 % menus
+    private static Map<String, Object> selections(Random random) {
+        Map<String, Object> s = new LinkedHashMap<>();
+        int kind = random.nextInt(100);
+        if (kind < 60) {
+            s.put("taille", pick(random, "M", "L", "XL"));
+            s.put("viandes", some(random, MEATS, 1, 3));
+            s.put("sauces", some(random, SAUCES, 1, 2));
+            s.put("supplements", some(random, EXTRAS, 0, 3));
+            s.put("pain", pick(random, BREADS));
+            s.put("gratine", random.nextBoolean());
+            if (random.nextInt(20) == 0) s.put("note", "Client " + random.nextInt(1000) + " : sauce à part svp");
+        } else if (kind < 85) {
+            s.put("boisson", pick(random, DRINKS));
+            s.put("format", pick(random, "33cl", "50cl"));
+        } else {
+            s.put("menu", true);
+            s.put("viandes", some(random, MEATS, 1, 2));
+            s.put("sauces", some(random, SAUCES, 1, 2));
+            s.put("accompagnement", pick(random, "Frites", "Potatoes", "Salade"));
+            s.put("boisson", pick(random, DRINKS));
+        }
+        return s;
+    }
+
+    private static String pick(Random random, String... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static List<String> some(Random random, String[] values, int min, int max) {
+        int n = min + random.nextInt(max - min + 1);
+        List<String> picked = new ArrayList<>(n);
+        while (picked.size() < n) {
+            String v = pick(random, values);
+            if (!picked.contains(v)) picked.add(v);
+        }
+        return picked;
+    }
+}
@@ -0,0 +1,132 @@
+package com.okebab.okebabbackend.order.pricing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okebab.okebabbackend.common.error.ConflictException;
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.model.ProductType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PricingServiceTest {
+
+    private static final String CATALOG = """
+            {
+              "products": [
+                { "type": "TACOS", "id": 1, "name": "Tacos M", "price": 8.50 },
+                { "type": "BOISSON", "id": 1, "name": "Coca", "price": 2.00 }
+              ],
+              "supplements": [
+                { "group": "supplements", "option": "Cheddar", "price": 1.20 },
+                { "group": "gratine", "option": "true", "price": 0.80 }
+              ]
+            }""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void linesArePricedFromTheCatalog() throws IOException {
+        PricingService pricing = new PricingService(objectMapper, true, write(CATALOG, 1));
+
+        // (8.50 + 1.20 + 0.80) × 2 ; sauces absentes de la carte = gratuites
+        OrderItemRequest tacos = item(ProductType.TACOS, 1L, "8.5", "21", 2,
+                Map.of("supplements", List.of("Cheddar"), "sauces", List.of("Algérienne"), "gratine", true));
+
+        PricingService.LinePrice price = pricing.price(ProductType.TACOS, tacos);
+        assertThat(price.basePrice()).isEqualByComparingTo("8.50");
+        assertThat(price.totalPrice()).isEqualByComparingTo("21.00");
+
+        // même id front, autre type : autre produit
+        assertThat(pricing.price(ProductType.BOISSON, item(ProductType.BOISSON, 1L, "2", "2", 1, null)).totalPrice())
+                .isEqualByComparingTo("2.00");
+    }
+
+    @Test
+    void stalePricesAndUnknownProductsAreRejected() throws IOException {
+        PricingService pricing = new PricingService(objectMapper, true, write(CATALOG, 1));
+
+        assertThatThrownBy(() -> pricing.price(ProductType.TACOS,
+                item(ProductType.TACOS, 1L, "8.00", "8.00", 1, null)))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("basePrice 8.50 attendu");
+
+        // supplément non compté par le kiosque
+        assertThatThrownBy(() -> pricing.price(ProductType.TACOS,
+                item(ProductType.TACOS, 1L, "8.50", "8.50", 1, Map.of("supplements", List.of("Cheddar")))))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("totalPrice 9.70 attendu");
+
+        assertThatThrownBy(() -> pricing.price(ProductType.BURGER,
+                item(ProductType.BURGER, 1L, "8.50", "8.50", 1, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void modifiedCatalogIsSwappedAndAnInvalidOneKeepsThePrevious() throws IOException {
+        Path file = write(CATALOG, 1);
+        PricingService pricing = new PricingService(objectMapper, true, file);
+        assertThat(pricing.current().version()).isEqualTo(1);
+
+        pricing.reloadIfModified(); // inchangé
+        assertThat(pricing.current().version()).isEqualTo(1);
+
+        write(CATALOG.replace("8.50", "9.00"), 2);
+        pricing.reloadIfModified();
+        assertThat(pricing.current().version()).isEqualTo(2);
+        assertThat(pricing.current().basePrice(ProductType.TACOS, 1L)).isEqualByComparingTo("9.00");
+
+        write(CATALOG.replace("8.50", "-1"), 3);
+        pricing.reloadIfModified();
+        assertThat(pricing.current().version()).isEqualTo(2);
+
+        write("{ pas du json", 4);
+        pricing.reloadIfModified();
+        assertThat(pricing.current().version()).isEqualTo(2);
+        assertThat(pricing.current().basePrice(ProductType.TACOS, 1L)).isEqualByComparingTo("9.00");
+    }
+
+    @Test
+    void disabledPricingKeepsClientPrices() {
+        PricingService pricing = new PricingService(objectMapper, false, dir.resolve("absent.json"));
+
+        PricingService.LinePrice price = pricing.price(ProductType.BURGER,
+                item(ProductType.BURGER, 7L, "5.00", "12.00", 2, null));
+        assertThat(price.basePrice()).isEqualByComparingTo("5.00");
+        assertThat(price.totalPrice()).isEqualByComparingTo("12.00");
+    }
+
+    // mtime fixé : deux écritures rapprochées ne doivent pas avoir la même date
+    private Path write(String content, int second) throws IOException {
+        Path file = dir.resolve("pricing.json");
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.ofEpochSecond(1_700_000_000L + second)));
+        return file;
+    }
+
+    private static OrderItemRequest item(ProductType type, Long id, String basePrice, String totalPrice,
+                                         int quantity, Map<String, Object> selections) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductIdFront(id);
+        item.setProductName(type.name());
+        item.setProductType(type.name());
+        item.setBasePrice(new BigDecimal(basePrice));
+        item.setTotalPrice(new BigDecimal(totalPrice));
+        item.setQuantity(quantity);
+        item.setSelections(selections);
+        return item;
+    }
+}
@@ -0,0 +1,131 @@
+package com.okebab.okebabbackend.order.repository;
+
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Passe chaque requête SQL générée pour les filtres de listing dans EXPLAIN (H2, schéma créé
+ * depuis les @Table(indexes)) et échoue si le plan parcourt une table entière.
+ * <p>
+ * Les recherches "contient" (customerName, q...) ne sont pas couvertes : un LIKE '%x%'
+ * ne peut pas utiliser d'index, c'est le rôle de l'index de recherche en mémoire.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.okebab.okebabbackend.order.repository.OrderIndexUsageTest$Recorder",
+        // chargement de l'index en tâche de fond : son parcours complet serait enregistré en même temps
+        "okebab.search.index.enabled=false"
+})
+class OrderIndexUsageTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(7);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    public static class Recorder implements StatementInspector {
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Recorder.SQL.clear();
+    }
+
+    @Test
+    void statusAndPeriodUseTheCompositeIndex() throws SQLException {
+        assertNoFullScan(OrderFilter.of(OrderStatus.PENDING, null, null, null, FROM, TO, BigDecimal.ONE, BigDecimal.TEN));
+    }
+
+    @Test
+    void statusAloneUsesTheCompositeIndex() throws SQLException {
+        assertNoFullScan(OrderFilter.of(OrderStatus.READY, null, null, null, null, null, null, null));
+    }
+
+    @Test
+    void periodAloneUsesTheCreatedAtIndex() throws SQLException {
+        assertNoFullScan(OrderFilter.of(null, null, null, null, FROM, TO, null, null));
+        assertNoFullScan(OrderFilter.of(null, null, null, null, FROM, null, null, null));
+    }
+
+    @Test
+    void customerHistoryUsesThePhoneIndex() throws SQLException {
+        orderRepository.findRecentIdsByPhone("+33612345678", Limit.of(10));
+
+        assertPlansUseIndexes();
+    }
+
+    @Test
+    void itemsAreLoadedThroughTheOrderIdIndex() throws SQLException {
+        orderRepository.findWithItemsById(1L);
+        orderRepository.findSalesLines(1L);
+
+        assertPlansUseIndexes();
+    }
+
+    // Page triée + COUNT, comme GET /api/orders
+    private void assertNoFullScan(OrderFilter filter) throws SQLException {
+        Recorder.SQL.clear();
+        orderRepository.findSummaries(filter, PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "createdAt")));
+        orderRepository.findSummariesAfter(filter, new OrderCursor(TO, 1_000L), 20);
+
+        assertPlansUseIndexes();
+    }
+
+    private void assertPlansUseIndexes() throws SQLException {
+        assertThat(Recorder.SQL).isNotEmpty();
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : Recorder.SQL) {
+                assertThat(explain(connection, sql))
+                        .as("plan de %s", sql)
+                        .doesNotContainIgnoringCase("tableScan");
+            }
+        }
+    }
+
+    private static String explain(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+            // le plan H2 ne dépend pas des valeurs : paramètres laissés à null
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) plan.append(rs.getString(1)).append('\n');
+                return plan.toString();
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.okebab.okebabbackend.order.repository;
+
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.repository.OrderQueries.Kind;
+import com.okebab.okebabbackend.order.repository.OrderQueries.Source;
+import com.okebab.okebabbackend.order.service.OrderService;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class OrderQueriesTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final Sort BY_DATE = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void sameShapeReusesTheQueryTextAndHibernatePlan() {
+        OrderFilter first = OrderFilter.of(OrderStatus.PENDING, null, "karim", null, FROM, FROM.plusDays(1), null, null);
+        OrderFilter second = OrderFilter.of(OrderStatus.READY, null, " Sofia ", null, FROM.minusDays(9), FROM, null, null);
+        assertThat(first.shape()).isEqualTo(second.shape());
+        assertThat(OrderQueries.jpql(Source.LIVE, Kind.PAGE, second, BY_DATE))
+                .isSameAs(OrderQueries.jpql(Source.LIVE, Kind.PAGE, first, BY_DATE));
+
+        listPage(first);
+        statistics.clear();
+        listPage(second);
+
+        // page + COUNT, tous deux servis par le cache de plans
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getQueryPlanCacheMissCount()).isZero();
+        assertThat(statistics.getQueryPlanCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void absentFiltersAddNoPredicate() {
+        assertThat(OrderQueries.jpql(Source.LIVE, Kind.COUNT, OrderFilter.ALL, Sort.unsorted()))
+                .isEqualTo("select count(o) from Order o");
+
+        String period = OrderQueries.jpql(Source.LIVE, Kind.COUNT,
+                OrderFilter.of(null, " ", "", null, FROM, FROM.plusDays(1), BigDecimal.ONE, null), Sort.unsorted());
+        assertThat(period).isEqualTo("select count(o) from Order o"
+                + " where o.createdAt between :from and :to and o.totalAmount >= :minTotal");
+    }
+
+    @Test
+    void searchUsesExistsInsteadOfJoinAndDistinct() {
+        String search = OrderQueries.jpql(Source.ARCHIVE, Kind.COUNT,
+                OrderFilter.of(null, "tacos", null, null, null, null, null, null), Sort.unsorted());
+
+        assertThat(search)
+                .startsWith("select count(o) from ArchivedOrder o where")
+                .contains("exists (select 1 from ArchivedOrderItem s")
+                .doesNotContain("join", "distinct", ":searchId");
+        assertThat(OrderFilter.of(null, " Tacos ", null, null, null, null, null, null).q()).isEqualTo("tacos");
+        assertThat(OrderQueries.jpql(Source.LIVE, Kind.COUNT,
+                OrderFilter.of(null, "42", null, null, null, null, null, null), Sort.unsorted()))
+                .contains("or o.id = :searchId");
+    }
+
+    @Test
+    void phoneSearchComparesDigitsLikeTheIndex() {
+        Long id = createOrder("07 55 44 33 22");
+
+        // recherche SQL directe : même règle que l'index (clé téléphone, chiffres uniquement)
+        assertThat(searchIds("0755443322")).contains(id);
+        assertThat(searchIds("55.44.33")).contains(id);
+        assertThat(searchIds("07 55 44 33 22")).contains(id);
+        assertThat(searchIds("0755443399")).doesNotContain(id);
+
+        assertThat(OrderFilter.of(null, "+33 7 55", null, null, null, null, null, null).searchPhoneKey()).isEqualTo("33755");
+        assertThat(OrderQueries.jpql(Source.LIVE, Kind.COUNT,
+                OrderFilter.of(null, "tacos", null, null, null, null, null, null), Sort.unsorted()))
+                .doesNotContain("customerPhone");
+    }
+
+    @Test
+    void statusesAndIdsBindAsLists() {
+        OrderFilter active = OrderFilter.statusIn(EnumSet.of(OrderStatus.PENDING, OrderStatus.READY));
+        assertThat(OrderQueries.jpql(Source.LIVE, Kind.VERSION, active, Sort.unsorted()))
+                .endsWith("where o.status in :statuses");
+        assertThat(orderRepository.listingVersion(active).count()).isNotNegative();
+
+        // index de recherche sans résultat : aucune requête
+        statistics.clear();
+        assertThat(orderRepository.findSummaries(OrderFilter.ALL.withIds(List.of()), PageRequest.of(0, 20))).isEmpty();
+        assertThat(orderRepository.listingVersion(OrderFilter.ALL.withIds(List.of()))).isEqualTo(ListingVersion.EMPTY);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void unknownSortPropertyIsRejected() {
+        assertThatThrownBy(() -> orderRepository.findSummaries(OrderFilter.ALL,
+                PageRequest.of(0, 20, Sort.by("items"))))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Long> searchIds(String q) {
+        return orderRepository.findSummaries(OrderFilter.of(null, q, null, null, null, null, null, null), PageRequest.of(0, 100))
+                .map(OrderSummaryResponse::id)
+                .getContent();
+    }
+
+    private Long createOrder(String phone) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductIdFront(1L);
+        item.setProductName("Tacos M");
+        item.setProductType("tacos");
+        item.setBasePrice(new BigDecimal("8.50"));
+        item.setTotalPrice(new BigDecimal("8.50"));
+        item.setQuantity(1);
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Client");
+        request.setCustomerPhone(phone);
+        request.setItems(List.of(item));
+        return orderService.createOrder(request).getId();
+    }
+
+    private void listPage(OrderFilter filter) {
+        orderRepository.findSummaries(filter, PageRequest.of(0, 20, BY_DATE), orderRepository.countSummaries(filter));
+    }
+}
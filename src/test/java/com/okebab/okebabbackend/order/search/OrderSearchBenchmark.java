@@ -0,0 +1,176 @@
+package com.okebab.okebabbackend.order.search;
+
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Compare la recherche "q" par LIKE (recherche SQL de OrderFilter) et par l'index en mémoire.
+ * <p>
+ * mvn test -Pbenchmark -Dtest=OrderSearchBenchmark [-Dbench.orders=1000000]
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "okebab.search.index.enabled=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderSearchBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("bench.orders", 1_000_000);
+    private static final int RUNS = 5;
+
+    private static final String[] FIRST_NAMES = {
+            "Karim", "Sofiane", "Lucas", "Emma", "Yanis", "Inès", "Hugo", "Léa", "Nabil", "Sarah",
+            "Mehdi", "Chloé", "Adam", "Camille", "Bilal", "Manon", "Rayan", "Jade", "Samir", "Lina"
+    };
+    private static final String[] LAST_NAMES = {
+            "Martin", "Bernard", "Benali", "Dubois", "Haddad", "Moreau", "Laurent", "Mansouri",
+            "Girard", "Bouzid", "Roux", "Fournier", "Cherif", "Lefebvre", "Amrani", "Garnier"
+    };
+    private static final String[][] PRODUCTS = {
+            {"TACOS", "Tacos M"}, {"TACOS", "Tacos L"}, {"TACOS", "Tacos XL"},
+            {"PANINI", "Panini poulet"}, {"PANINI", "Panini viande hachée"},
+            {"BURGER", "Burger classique"}, {"BURGER", "Double cheese"}, {"BOWL", "Bowl falafel"},
+            {"ASSIETTE", "Assiette kebab"}, {"SANDWICH", "Sandwich kebab"}, {"BOISSON", "Coca 33cl"},
+            {"BOISSON", "Ice tea"}, {"DESSERT", "Tiramisu"}, {"ACCOMPAGNEMENT", "Frites"}
+    };
+
+    private static final List<String> QUERIES = List.of(
+            "karim benali", "mansouri", "06 12 3", "0698", "double cheese", "tiramisu", "zz-aucun-resultat"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderSearchIndex searchIndex;
+
+    @Autowired
+    private OrderSearchIndexLoader loader;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    void generateDataset() {
+        long start = System.nanoTime();
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.now().minusDays(365);
+
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        long itemId = 1;
+
+        for (long id = 1; id <= ORDERS; id++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String phone = String.format("06 %02d %02d %02d %02d",
+                    random.nextInt(100), random.nextInt(100), random.nextInt(100), random.nextInt(100));
+
+            Timestamp createdAt = Timestamp.valueOf(base.plusSeconds(id * 30));
+            orders.add(new Object[]{
+                    id, createdAt, createdAt, new BigDecimal("12.50"), "COMPLETED",
+                    name, phone, PhoneKeys.digits(phone), PhoneKeys.e164(phone)
+            });
+
+            int itemCount = 1 + random.nextInt(3);
+            for (int i = 0; i < itemCount; i++) {
+                String[] product = PRODUCTS[random.nextInt(PRODUCTS.length)];
+                items.add(new Object[]{
+                        itemId++, 1L, product[0], product[1], new BigDecimal("8.50"), new BigDecimal("8.50"), 1, id
+                });
+            }
+
+            if (orders.size() == 10_000) flush(orders, items);
+        }
+        flush(orders, items);
+
+        System.out.printf("Jeu de données : %d commandes, %d articles générés en %d ms%n",
+                ORDERS, itemId - 1, (System.nanoTime() - start) / 1_000_000);
+
+        start = System.nanoTime();
+        loader.load();
+        System.out.printf("Index chargé : %d termes distincts en %d ms%n",
+                searchIndex.distinctTerms(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Test
+    void compareLikeSpecificationWithIndex() {
+        Pageable page = PageRequest.of(0, 20);
+
+        System.out.printf("%-20s %12s %12s %10s%n", "q", "LIKE (ms)", "index (ms)", "résultats");
+        for (String q : QUERIES) {
+            long[] likeResult = time(() -> orderRepository.findSummaries(search(q), page));
+
+            Optional<Set<Long>> hits = searchIndex.lookup(q);
+            long[] indexResult = time(() -> {
+                OrderFilter filter = searchIndex.lookup(q)
+                        .map(search(q)::withIds)
+                        .orElseGet(() -> search(q));
+                return orderRepository.findSummaries(filter, page);
+            });
+
+            System.out.printf("%-20s %12.2f %12.2f %10d%s%n",
+                    q, likeResult[0] / 1e6, indexResult[0] / 1e6, indexResult[1],
+                    hits.isPresent() ? "" : "  (repli SQL : trop de résultats)");
+        }
+    }
+
+    private static OrderFilter search(String q) {
+        return OrderFilter.of(null, q, null, null, null, null, null, null);
+    }
+
+    /**
+     * @return [médiane en ns, nombre total de résultats]
+     */
+    private long[] time(Supplier<Page<OrderSummaryResponse>> search) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+
+        long[] samples = new long[RUNS];
+        long total = 0;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            Page<OrderSummaryResponse> page = tx.execute(status -> search.get());
+            samples[run] = System.nanoTime() - start;
+            total = page.getTotalElements();
+        }
+        Arrays.sort(samples);
+        return new long[]{samples[RUNS / 2], total};
+    }
+
+    private void flush(List<Object[]> orders, List<Object[]> items) {
+        jdbcTemplate.batchUpdate(
+                "insert into orders (id, created_at, updated_at, total_amount, status, customer_name, customer_phone, customer_phone_key,"
+                        + " customer_phone_e164) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", orders);
+        jdbcTemplate.batchUpdate(
+                "insert into order_items (id, product_id_front, product_type, product_name, base_price, total_price, quantity, order_id) "
+                        + "values (?, ?, ?, ?, ?, ?, ?, ?)", items);
+        orders.clear();
+        items.clear();
+    }
+}
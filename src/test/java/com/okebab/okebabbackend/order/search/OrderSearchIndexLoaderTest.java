@@ -0,0 +1,103 @@
+package com.okebab.okebabbackend.order.search;
+
+import com.okebab.okebabbackend.order.archive.OrderArchiveRepository;
+import com.okebab.okebabbackend.order.model.Order;
+import com.okebab.okebabbackend.order.model.OrderItem;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.model.ProductType;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Écritures d'une "autre instance" : directement en base, sans passer par OrderService ni
+ * OrderArchiveService, donc sans toucher l'index de cette instance.
+ */
+@SpringBootTest(properties = {
+        "spring.cache.type=none",
+        // rattrapage appelé par le test uniquement
+        "okebab.search.index.catch-up-ms=3600000"
+})
+class OrderSearchIndexLoaderTest {
+
+    @Autowired
+    private OrderSearchIndexLoader loader;
+
+    @Autowired
+    private OrderSearchIndex index;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderArchiveRepository archiveRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        loader.load();
+    }
+
+    @Test
+    void ordersWrittenElsewhereAreCaughtUp() {
+        Long id = saveElsewhere("Yasmina", "06 98 76 54 32", "Panini chèvre");
+        assertThat(index.lookup("yasmina")).hasValueSatisfying(ids -> assertThat(ids).doesNotContain(id));
+
+        loader.catchUp();
+
+        assertThat(index.lookup("yasmina")).hasValueSatisfying(ids -> assertThat(ids).contains(id));
+        assertThat(index.lookup("chèvre")).hasValueSatisfying(ids -> assertThat(ids).contains(id));
+        assertThat(index.lookup("98 76 54")).hasValueSatisfying(ids -> assertThat(ids).contains(id));
+    }
+
+    @Test
+    void ordersArchivedElsewhereLeaveTheIndex() {
+        Long id = saveElsewhere("Ilyes", null, "Bowl falafel");
+        loader.catchUp();
+        assertThat(index.lookup("ilyes")).hasValueSatisfying(ids -> assertThat(ids).contains(id));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            archiveRepository.copyOrders(List.of(id), LocalDateTime.now());
+            archiveRepository.copyItems(List.of(id));
+            archiveRepository.deleteItems(List.of(id));
+            archiveRepository.deleteOrders(List.of(id));
+        });
+        loader.catchUp();
+
+        assertThat(index.lookup("ilyes")).hasValueSatisfying(ids -> assertThat(ids).doesNotContain(id));
+        assertThat(index.lookup("falafel")).hasValueSatisfying(ids -> assertThat(ids).doesNotContain(id));
+    }
+
+    private Long saveElsewhere(String customer, String phone, String product) {
+        Order order = new Order();
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(order.getCreatedAt());
+        order.setStatus(OrderStatus.COMPLETED);
+        order.setTotalAmount(new BigDecimal("9.00"));
+        order.setCustomerName(customer);
+        order.setCustomerPhone(phone);
+        order.setCustomerPhoneKey(PhoneKeys.digits(phone));
+
+        OrderItem item = new OrderItem();
+        item.setProductType(ProductType.PANINI);
+        item.setProductName(product);
+        item.setBasePrice(new BigDecimal("9.00"));
+        item.setTotalPrice(new BigDecimal("9.00"));
+        item.setQuantity(1);
+        order.addItem(item);
+
+        return orderRepository.save(order).getId();
+    }
+}
@@ -0,0 +1,150 @@
+package com.okebab.okebabbackend.order.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderSearchIndexTest {
+
+    private OrderSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new OrderSearchIndex(true, 5000, 60_000);
+        index.addOrder(1L, "Karim", "06 12 34 56 78", List.of("Tacos M", "Coca"));
+        index.addOrder(2L, "Karima", "+33 7 00 00 00 01", List.of("Bowl poulet"));
+        index.addOrder(3L, "Sofia", null, List.of("Tacos XL"));
+        index.markReady();
+    }
+
+    @Test
+    void substringsAreFoundThroughTrigrams() {
+        assertThat(index.lookup("ari")).contains(Set.of(1L, 2L));
+        assertThat(index.lookup(" TACOS ")).contains(Set.of(1L, 3L));
+        assertThat(index.lookup("tacos xl")).contains(Set.of(3L));
+        // moins de 3 caractères : parcours du dictionnaire
+        assertThat(index.lookup("so")).contains(Set.of(3L));
+        assertThat(index.lookup("zzz")).contains(Set.of());
+        // un nombre est aussi un id
+        assertThat(index.lookup("3")).hasValueSatisfying(ids -> assertThat(ids).contains(3L));
+    }
+
+    @Test
+    void phonesAreSearchedOnTheirDigits() {
+        assertThat(PhoneKeys.digits("+33 6 12-34.56 78")).isEqualTo("33612345678");
+        assertThat(PhoneKeys.digits("aucun")).isNull();
+        assertThat(PhoneKeys.looksLikePhone("06 12")).isTrue();
+        assertThat(PhoneKeys.looksLikePhone("tacos 2")).isFalse();
+
+        assertThat(index.lookup("12 34 56")).contains(Set.of(1L));
+        assertThat(index.lookup("06 12 34 56 78")).contains(Set.of(1L));
+        assertThat(index.lookup("+33 7")).contains(Set.of(2L));
+    }
+
+    @Test
+    void notReadyOrTooManyHitsFallsBackToSql() {
+        assertThat(new OrderSearchIndex(true, 5000, 60_000).lookup("karim")).isEmpty();
+
+        OrderSearchIndex small = new OrderSearchIndex(true, 1, 60_000);
+        small.addOrder(1L, "Karim", null, List.of());
+        small.addOrder(2L, "Karima", null, List.of());
+        small.markReady();
+        assertThat(small.lookup("kar")).isEmpty();
+        assertThat(small.lookup("karima")).contains(Set.of(2L));
+    }
+
+    @Test
+    void indexNotCaughtUpLatelyFallsBackToSql() throws Exception {
+        OrderSearchIndex lagging = new OrderSearchIndex(true, 5000, 50);
+        lagging.addOrder(1L, "Karim", null, List.of());
+        lagging.markReady();
+        assertThat(lagging.lookup("karim")).contains(Set.of(1L));
+
+        Thread.sleep(100);
+        assertThat(lagging.isReady()).isFalse();
+        assertThat(lagging.lookup("karim")).isEmpty();
+
+        // rattrapage réussi : l'index répond de nouveau
+        lagging.markReady();
+        assertThat(lagging.lookup("karim")).contains(Set.of(1L));
+    }
+
+    @Test
+    void addingAnOrderTwiceKeepsOnePosting() {
+        index.addOrder(1L, "Karim", "06 12 34 56 78", List.of("Tacos M", "Coca"));
+        index.addCustomer(2L, "karim", null);
+        index.addCustomer(2L, "Karim", null);
+
+        TermDictionary dictionary = new TermDictionary();
+        for (int id : new int[]{5, 1, 5, 3, 1}) {
+            dictionary.add("karim", id);
+        }
+
+        assertThat(ids(dictionary, "karim")).containsExactly(1, 3, 5);
+        assertThat(index.lookup("karim")).contains(Set.of(1L, 2L));
+        assertThat(index.lookup("coca")).contains(Set.of(1L));
+    }
+
+    @Test
+    void loaderRacingNewOrdersAddsEachIdOnce() throws Exception {
+        // le chargeur parcourt les commandes existantes pendant que de nouvelles commandes sont
+        // ajoutées, et relit aussi celles créées depuis son démarrage
+        TermDictionary dictionary = new TermDictionary();
+        int orders = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+
+        CompletableFuture<Void> loader = CompletableFuture.runAsync(() -> {
+            await(start);
+            IntStream.range(0, orders).forEach(id -> dictionary.add("tacos m", id));
+        });
+        CompletableFuture<Void> created = CompletableFuture.runAsync(() -> {
+            await(start);
+            IntStream.range(orders / 2, orders).map(i -> orders / 2 + orders - 1 - i)
+                    .forEach(id -> dictionary.add("tacos m", id));
+        });
+        start.countDown();
+        CompletableFuture.allOf(loader, created).get();
+
+        assertThat(ids(dictionary, "tacos m"))
+                .hasSize(orders)
+                .isSorted()
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void archivedOrdersLeaveTheIndex() {
+        index.removeOrders(List.of(3L, 1L, 99L));
+
+        assertThat(index.lookup("tacos")).contains(Set.of());
+        assertThat(index.lookup("ari")).contains(Set.of(2L));
+        assertThat(index.lookup("12 34 56")).contains(Set.of());
+
+        // les valeurs restent connues et reprennent de nouvelles commandes
+        index.addOrder(4L, "Karim", null, List.of("Tacos M"));
+        assertThat(index.lookup("tacos")).contains(Set.of(4L));
+        assertThat(index.lookup("karim")).contains(Set.of(2L, 4L));
+    }
+
+    private static List<Integer> ids(TermDictionary dictionary, String term) {
+        List<Integer> ids = new ArrayList<>();
+        dictionary.containing(term).forEach(postings -> postings.forEach(ids::add));
+        return ids;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
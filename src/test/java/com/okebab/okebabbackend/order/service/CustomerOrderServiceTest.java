@@ -0,0 +1,138 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.okebab.okebabbackend.order.archive.OrderArchiveService;
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.CustomerOrdersResponse;
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import com.okebab.okebabbackend.order.search.PhoneKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.cache.type=none",
+        "okebab.archive.after-days=30",
+        "okebab.archive.pause-ms=0",
+        "okebab.phone.backfill.batch-size=2",
+        "okebab.phone.backfill.pause-ms=0"
+})
+class CustomerOrderServiceTest {
+
+    @Autowired
+    private CustomerOrderService customerOrderService;
+
+    @Autowired
+    private CustomerPhoneBackfill backfill;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderArchiveService archiveService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from order_items_archive");
+        jdbcTemplate.update("delete from orders_archive");
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void phonesAreNormalizedToE164() {
+        assertThat(List.of("06 12 34 56 78", "+33 6 12 34 56 78", "0033612345678", "33612345678"))
+                .allSatisfy(raw -> assertThat(PhoneKeys.e164(raw)).isEqualTo("+33612345678"));
+        assertThat(PhoneKeys.e164("+44 20 7946 0958")).isEqualTo("+442079460958");
+        assertThat(PhoneKeys.e164("0612")).isNull();
+        assertThat(PhoneKeys.e164("+0612345678")).isNull();
+    }
+
+    @Test
+    void latestOrdersOfAPhoneWhateverTheFormat() {
+        Long first = create("0612345678", 40);
+        Long second = create("+33 6 12 34 56 78", 20);
+        Long third = create("06 12 34 56 78", 10);
+        create("0699999999", 5);
+
+        CustomerOrdersResponse latest = customerOrderService.recentOrders("+33612345678", 2);
+        assertThat(latest.phone()).isEqualTo("+33612345678");
+        assertThat(latest.orders()).extracting(OrderSummaryResponse::id).containsExactly(third, second);
+
+        assertThat(customerOrderService.recentOrders("0033 6 12 34 56 78", 10).orders())
+                .extracting(OrderSummaryResponse::id)
+                .containsExactly(third, second, first);
+    }
+
+    @Test
+    void archivedOrdersCompleteTheHistory() {
+        Long archived = create("0612345678", 60);
+        orderService.updateStatus(archived, OrderStatus.READY);
+        orderService.updateStatus(archived, OrderStatus.COMPLETED);
+        Long recent = create("0612345678", 1);
+        assertThat(archiveService.archiveBefore(archiveService.horizon())).isEqualTo(1);
+
+        assertThat(customerOrderService.recentOrders("0612345678", 1).orders())
+                .extracting(OrderSummaryResponse::id).containsExactly(recent);
+        assertThat(customerOrderService.recentOrders("0612345678", 5).orders())
+                .extracting(OrderSummaryResponse::id).containsExactly(recent, archived);
+    }
+
+    @Test
+    void backfillNormalizesOrdersWrittenBeforeTheColumn() {
+        Long unknown = create("0612345678", 3);
+        Long otherFormat = create("+33 6 12 34 56 78", 2);
+        create("0611111111", 1);
+        jdbcTemplate.update("update orders set customer_phone_e164 = null");
+        assertThat(customerOrderService.recentOrders("0612345678", 10).orders()).isEmpty();
+
+        assertThat(backfill.backfill()).isEqualTo(3);
+        assertThat(customerOrderService.recentOrders("0612345678", 10).orders())
+                .extracting(OrderSummaryResponse::id).containsExactly(otherFormat, unknown);
+
+        // une seconde passe n'a plus rien à faire
+        assertThat(backfill.backfill()).isZero();
+    }
+
+    @Test
+    void invalidPhoneOrLimitIsRejected() {
+        assertThatThrownBy(() -> customerOrderService.recentOrders("12", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> customerOrderService.recentOrders("0612345678", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Long create(String phone, int daysAgo) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductIdFront(1L);
+        item.setProductName("Tacos M");
+        item.setProductType("tacos");
+        item.setBasePrice(new BigDecimal("8.50"));
+        item.setTotalPrice(new BigDecimal("8.50"));
+        item.setQuantity(1);
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Client");
+        request.setCustomerPhone(phone);
+        request.setItems(List.of(item));
+        Long id = orderService.createOrder(request).getId();
+        jdbcTemplate.update("update orders set created_at = ? where id = ?", LocalDateTime.now().minusDays(daysAgo), id);
+        return id;
+    }
+}
@@ -0,0 +1,122 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okebab.okebabbackend.order.dto.response.BulkOrderResult;
+import com.okebab.okebabbackend.order.dto.response.BulkOrderResult.Status;
+import com.okebab.okebabbackend.order.model.Order;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.cache.type=none",
+        "okebab.bulk.chunk-size=3"
+})
+class OrderBulkServiceTest {
+
+    // 300 caractères : passe la validation, dépasse product_name varchar(255)
+    private static final String TOO_LONG = "x".repeat(300);
+
+    @Autowired
+    private OrderBulkService orderBulkService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void jsonArrayIsImportedInChunks() throws Exception {
+        List<String> orders = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            orders.add(order("Client " + i, "Tacos M"));
+        }
+
+        List<BulkOrderResult> results = importOrders("[" + String.join(",", orders) + "]");
+
+        assertThat(results).extracting(BulkOrderResult::index).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(results).extracting(BulkOrderResult::status).containsOnly(Status.CREATED);
+        assertThat(orderRepository.findAll()).extracting(Order::getId)
+                .containsExactlyInAnyOrderElementsOf(results.stream().map(BulkOrderResult::orderId).toList());
+    }
+
+    @Test
+    void ndjsonReportsEachLine() throws Exception {
+        String body = String.join("\n",
+                order("Karim", "Tacos M"),
+                "{\"customerName\": \"Sans articles\", \"items\": []}",
+                order("Sofia", "Bowl"),
+                "{\"customerName\": \"Mauvais type\", \"items\": \"tacos\"}");
+
+        List<BulkOrderResult> results = importOrders(body);
+
+        assertThat(results).extracting(BulkOrderResult::status)
+                .containsExactly(Status.CREATED, Status.REJECTED, Status.CREATED, Status.REJECTED);
+        assertThat(results.get(1).errors()).singleElement().asString().startsWith("items");
+        assertThat(results.get(1).orderId()).isNull();
+        assertThat(orderRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void orderRefusedByTheDatabaseDoesNotRollBackItsChunk() throws Exception {
+        // un seul lot de 3 : la deuxième commande fait échouer l'INSERT
+        List<BulkOrderResult> results = importOrders("["
+                + order("Karim", "Tacos M") + ","
+                + order("Sofia", TOO_LONG) + ","
+                + order("Nadia", "Bowl") + "]");
+
+        assertThat(results).extracting(BulkOrderResult::status)
+                .containsExactly(Status.CREATED, Status.FAILED, Status.CREATED);
+        assertThat(results.get(1).orderId()).isNull();
+        assertThat(orderRepository.findAll()).extracting(Order::getCustomerName)
+                .containsExactlyInAnyOrder("Karim", "Nadia");
+    }
+
+    @Test
+    void unreadableStreamKeepsWhatPrecedes() throws Exception {
+        String body = "[" + order("A", "Tacos M") + "," + order("B", "Tacos M") + ","
+                + order("C", "Tacos M") + "," + order("D", "Tacos M") + ", {\"customerName\": ";
+
+        List<BulkOrderResult> results = importOrders(body);
+
+        assertThat(results).hasSize(5);
+        assertThat(results.subList(0, 4)).extracting(BulkOrderResult::status).containsOnly(Status.CREATED);
+        assertThat(results.get(4).status()).isEqualTo(Status.REJECTED);
+        assertThat(results.get(4).index()).isEqualTo(4);
+        assertThat(results.get(4).errors()).singleElement().asString().startsWith("JSON invalide");
+        assertThat(orderRepository.count()).isEqualTo(4);
+    }
+
+    private List<BulkOrderResult> importOrders(String body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderBulkService.importOrders(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        List<BulkOrderResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, BulkOrderResult.class));
+        }
+        return results;
+    }
+
+    private static String order(String customer, String product) {
+        return """
+                {"customerName": "%s", "items": [{"id": 1, "name": "%s", "type": "tacos",
+                 "basePrice": 8.50, "totalPrice": 8.50, "quantity": 1}]}""".formatted(customer, product);
+    }
+}
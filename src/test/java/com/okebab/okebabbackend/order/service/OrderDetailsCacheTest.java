@@ -0,0 +1,122 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.OrderDetailsResponse;
+import com.okebab.okebabbackend.order.model.Order;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class OrderDetailsCacheTest {
+
+    private static final int POLLERS = 16;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cache = cacheManager.getCache(OrderService.ORDER_DETAILS_CACHE);
+        cache.clear();
+    }
+
+    @Test
+    void concurrentMissesLoadTheOrderOnce() throws Exception {
+        Long id = create();
+        statistics.clear();
+
+        ExecutorService pool = Executors.newFixedThreadPool(POLLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<OrderDetailsResponse>> polls = new ArrayList<>();
+            for (int i = 0; i < POLLERS; i++) {
+                polls.add(pool.submit(() -> {
+                    start.await();
+                    return orderService.getOrderById(id);
+                }));
+            }
+            start.countDown();
+
+            for (Future<OrderDetailsResponse> poll : polls) {
+                assertThat(poll.get().id()).isEqualTo(id);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(loads()).isEqualTo(1);
+        assertThat(cache.get(id)).isNotNull();
+    }
+
+    @Test
+    void statusChangeEvictsTheCachedDetails() {
+        Long id = create();
+        statistics.clear();
+
+        orderService.getOrderById(id);
+        orderService.getOrderById(id);
+        assertThat(loads()).isEqualTo(1);
+
+        // surcharge à deux arguments : appel interne, l'éviction doit passer quand même
+        orderService.updateStatus(id, OrderStatus.IN_PREPARATION);
+        assertThat(cache.get(id)).isNull();
+        assertThat(orderService.getOrderById(id).status()).isEqualTo(OrderStatus.IN_PREPARATION);
+        assertThat(loads()).isEqualTo(2);
+
+        orderService.updateStatus(id, OrderStatus.READY, OrderStatus.IN_PREPARATION);
+        assertThat(cache.get(id)).isNull();
+        assertThat(orderService.getOrderById(id).status()).isEqualTo(OrderStatus.READY);
+
+        orderService.updateStatuses(List.of(id), OrderStatus.COMPLETED);
+        assertThat(orderService.getOrderById(id).status()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(loads()).isEqualTo(4);
+    }
+
+    private long loads() {
+        return statistics.getEntityStatistics(Order.class.getName()).getLoadCount();
+    }
+
+    private Long create() {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductIdFront(1L);
+        item.setProductName("Tacos M");
+        item.setProductType("tacos");
+        item.setBasePrice(new BigDecimal("8.50"));
+        item.setTotalPrice(new BigDecimal("8.50"));
+        item.setQuantity(1);
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Client");
+        request.setItems(List.of(item));
+        return orderService.createOrder(request).getId();
+    }
+}
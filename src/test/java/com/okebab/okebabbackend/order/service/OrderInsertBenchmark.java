@@ -0,0 +1,81 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nombre d'instructions JDBC et débit de createOrder pour une commande de 8 articles.
+ * <p>
+ * mvn test -Pbenchmark -Dtest=OrderInsertBenchmark [-Dbench.orders=2000]
+ */
+@Tag("benchmark")
+@SpringBootTest
+class OrderInsertBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("bench.orders", 2_000);
+    private static final int ITEMS_PER_ORDER = 8;
+    private static final int WARMUP = 200;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void insertsPerOrder() {
+        OrderRequest request = order();
+        for (int i = 0; i < WARMUP; i++) {
+            orderService.createOrder(request);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            orderService.createOrder(request);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("commandes                     : %d x %d articles%n", ORDERS, ITEMS_PER_ORDER);
+        System.out.printf("entités insérées / commande   : %.2f%n",
+                (double) statistics.getEntityInsertCount() / ORDERS);
+        System.out.printf("instructions JDBC / commande  : %.2f%n",
+                (double) statistics.getPrepareStatementCount() / ORDERS);
+        System.out.printf("débit                         : %.0f commandes/s%n", ORDERS / (elapsed / 1e9));
+    }
+
+    private static OrderRequest order() {
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductIdFront((long) i + 1);
+            item.setProductName("Tacos M");
+            item.setProductType("tacos");
+            item.setBasePrice(new BigDecimal("8.50"));
+            item.setTotalPrice(new BigDecimal("9.70"));
+            item.setQuantity(1);
+            item.setSelections(Map.of("viandes", List.of("Poulet"), "sauces", List.of("Algérienne", "Samouraï")));
+            items.add(item);
+        }
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Karim");
+        request.setCustomerPhone("06 12 34 56 78");
+        request.setItems(items);
+        return request;
+    }
+}
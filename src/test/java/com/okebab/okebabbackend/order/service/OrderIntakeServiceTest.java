@@ -0,0 +1,109 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.OrderDetailsResponse;
+import com.okebab.okebabbackend.order.dto.response.OrderResponse;
+import com.okebab.okebabbackend.order.model.Order;
+import com.okebab.okebabbackend.order.repository.OrderJdbcWriter;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "okebab.intake.async.enabled=true",
+        "okebab.intake.batch-size=20",
+        "spring.cache.type=none"
+})
+class OrderIntakeServiceTest {
+
+    private static final int ORDERS = 75;
+
+    @TempDir
+    static Path journalDir;
+
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) {
+        registry.add("okebab.intake.journal-dir", () -> journalDir.toString());
+    }
+
+    @Autowired
+    private OrderIntakeService orderIntakeService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderJdbcWriter orderJdbcWriter;
+
+    @Test
+    void acceptedOrdersAreWrittenWithTheAnnouncedIds() throws Exception {
+        List<OrderResponse> accepted = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            accepted.add(orderIntakeService.submit(order("Client " + i, 1 + i % 3)));
+        }
+
+        assertThat(accepted).extracting(OrderResponse::getId).doesNotHaveDuplicates().doesNotContainNull();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (orderIntakeService.pendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(orderIntakeService.pendingCount()).isZero();
+
+        for (int i = 0; i < ORDERS; i++) {
+            OrderDetailsResponse stored = orderService.getOrderById(accepted.get(i).getId());
+            assertThat(stored.customerName()).isEqualTo("Client " + i);
+            assertThat(stored.items()).hasSize(1 + i % 3);
+            assertThat(stored.totalAmount()).isEqualByComparingTo(accepted.get(i).getTotalAmount());
+            assertThat(stored.items().get(0).selectionsJson()).contains("Algérienne");
+        }
+
+        // rejeu du journal après un arrêt : rien n'est inséré deux fois
+        List<Order> replay = orderRepository.findAllById(accepted.stream().map(OrderResponse::getId).toList());
+        assertThat(orderJdbcWriter.insertMissing(replay)).isEmpty();
+    }
+
+    @Test
+    void synchronousCreateKeepsUsingTheSameSequences() {
+        OrderResponse queued = orderIntakeService.submit(order("Intake", 1));
+        OrderResponse direct = orderService.createOrder(order("Direct", 1));
+
+        assertThat(direct.getId()).isNotEqualTo(queued.getId());
+    }
+
+    private static OrderRequest order(String customerName, int items) {
+        List<OrderItemRequest> lines = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductIdFront((long) i + 1);
+            item.setProductName("Tacos M");
+            item.setProductType("tacos");
+            item.setBasePrice(new BigDecimal("8.50"));
+            item.setTotalPrice(new BigDecimal("9.70"));
+            item.setQuantity(1);
+            item.setSelections(Map.of("sauces", List.of("Algérienne")));
+            lines.add(item);
+        }
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName(customerName);
+        request.setItems(lines);
+        return request;
+    }
+}
@@ -0,0 +1,141 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.OrderCursorPage;
+import com.okebab.okebabbackend.order.dto.response.OrderListItemResponse;
+import com.okebab.okebabbackend.order.dto.response.OrderSummaryResponse;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import com.okebab.okebabbackend.order.spec.OrderFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class OrderListingQueryCountTest {
+
+    private static final int ORDERS = 60;
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        for (int i = 0; i < ORDERS; i++) {
+            orderService.createOrder(order("Client " + i, 1 + i % 4));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void summaryPageCostsOneContentQueryAndOneCountQuery() {
+        Page<OrderSummaryResponse> page = orderService.listOrders(
+                OrderFilter.ALL,
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"))
+        );
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalElements()).isEqualTo(ORDERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(page.getContent()).allSatisfy(o -> assertThat(o.itemsCount()).isBetween(1, 4));
+    }
+
+    @Test
+    void searchFilterKeepsQueryCountAndItemCounts() {
+        Page<OrderSummaryResponse> page = orderService.listOrders(
+                OrderFilter.of(null, "tacos", null, null, null, null, null, null),
+                PageRequest.of(0, ORDERS)
+        );
+
+        assertThat(page.getTotalElements()).isEqualTo(ORDERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        // la recherche produit (EXISTS, sans join) ne doit pas gonfler le nombre d'articles
+        int expected = 0;
+        for (int i = 0; i < ORDERS; i++) {
+            expected += 1 + i % 4;
+        }
+        assertThat(page.getContent().stream().mapToInt(OrderSummaryResponse::itemsCount).sum())
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void listItemOverloadUsesTheSameProjection() {
+        Page<OrderListItemResponse> page = orderService.listOrders(
+                null, null, null, null, PageRequest.of(1, PAGE_SIZE)
+        );
+
+        assertThat(page.getContent()).hasSize(ORDERS - PAGE_SIZE);
+        assertThat(page.getTotalElements()).isEqualTo(ORDERS);
+        // dernière page incomplète : le total se déduit, pas de COUNT
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void cursorPagesWalkEveryOrderWithOneQueryPerPage() {
+        Set<Long> seen = new HashSet<>();
+        String cursor = "";
+        int pages = 0;
+
+        do {
+            OrderCursorPage<OrderSummaryResponse> page = orderService.listOrdersByCursor(
+                    OrderFilter.ALL, cursor, 25
+            );
+            page.content().forEach(o -> seen.add(o.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(ORDERS);
+        assertThat(pages).isEqualTo(3);
+        // pas de COUNT : une requête par page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages);
+    }
+
+    private static OrderRequest order(String customerName, int itemCount) {
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductIdFront((long) i + 1);
+            item.setProductName("Tacos M");
+            item.setProductType("tacos");
+            item.setBasePrice(new BigDecimal("8.50"));
+            item.setTotalPrice(new BigDecimal("8.50"));
+            item.setQuantity(1);
+            items.add(item);
+        }
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName(customerName);
+        request.setCustomerPhone("06 12 34 56 78");
+        request.setItems(items);
+        return request;
+    }
+}
@@ -0,0 +1,174 @@
+package com.okebab.okebabbackend.order.service;
+
+import com.okebab.okebabbackend.analytics.dto.response.DailySalesResponse;
+import com.okebab.okebabbackend.analytics.service.SalesRollupService;
+import com.okebab.okebabbackend.common.error.ConflictException;
+import com.okebab.okebabbackend.common.error.NotFoundException;
+import com.okebab.okebabbackend.order.dto.request.OrderItemRequest;
+import com.okebab.okebabbackend.order.dto.request.OrderRequest;
+import com.okebab.okebabbackend.order.dto.response.BulkStatusUpdateResponse;
+import com.okebab.okebabbackend.order.model.OrderStatus;
+import com.okebab.okebabbackend.order.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class OrderStatusTransitionTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void legalTransitionIsAConditionalUpdateWithoutLoadingTheEntity() {
+        Long id = create();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertThat(orderService.updateStatus(id, OrderStatus.IN_PREPARATION).getStatus())
+                .isEqualTo(OrderStatus.IN_PREPARATION);
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(orderRepository.findById(id).orElseThrow().getStatus()).isEqualTo(OrderStatus.IN_PREPARATION);
+    }
+
+    @Test
+    void illegalTransitionIsRejected() {
+        Long id = create();
+        orderService.updateStatus(id, OrderStatus.CANCELLED);
+
+        assertThatThrownBy(() -> orderService.updateStatus(id, OrderStatus.READY))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> orderService.updateStatus(create(), OrderStatus.COMPLETED))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> orderService.updateStatus(-1L, OrderStatus.READY))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void secondScreenWithStaleStatusGetsConflict() {
+        Long id = create();
+
+        // deux tablettes voient PENDING ; la première annule, la seconde veut lancer la préparation
+        orderService.updateStatus(id, OrderStatus.CANCELLED, OrderStatus.PENDING);
+
+        assertThatThrownBy(() -> orderService.updateStatus(id, OrderStatus.IN_PREPARATION, OrderStatus.PENDING))
+                .isInstanceOf(ConflictException.class);
+        assertThat(orderRepository.findById(id).orElseThrow().getStatus()).isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void bulkAdvanceReportsEachOrder() {
+        Long pending = create();
+        Long preparing = create();
+        Long ready = create();
+        Long cancelled = create();
+        orderService.updateStatus(preparing, OrderStatus.IN_PREPARATION);
+        orderService.updateStatus(ready, OrderStatus.READY);
+        orderService.updateStatus(cancelled, OrderStatus.CANCELLED);
+
+        BulkStatusUpdateResponse result = orderService.updateStatuses(
+                List.of(pending, preparing, ready, cancelled, -1L), OrderStatus.READY);
+
+        assertThat(result.updated()).containsExactlyInAnyOrder(pending, preparing, ready);
+        assertThat(result.conflicts()).containsExactly(cancelled);
+        assertThat(result.notFound()).containsExactly(-1L);
+        assertThat(orderRepository.findAllById(List.of(pending, preparing, ready)))
+                .allSatisfy(o -> assertThat(o.getStatus()).isEqualTo(OrderStatus.READY));
+    }
+
+    @Test
+    void overlappingBulkRequestsMoveEachOrderOnce() throws Exception {
+        LocalDate today = LocalDate.now();
+        for (int round = 0; round < 10; round++) {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                ids.add(create());
+            }
+            long pendingBefore = orderCount(today, OrderStatus.PENDING);
+            long preparingBefore = orderCount(today, OrderStatus.IN_PREPARATION);
+
+            // deux écrans lancent la préparation de lots qui se recouvrent (10 à 19)
+            CountDownLatch start = new CountDownLatch(1);
+            CompletableFuture<BulkStatusUpdateResponse> first = CompletableFuture.supplyAsync(() -> {
+                await(start);
+                return orderService.updateStatuses(ids.subList(0, 20), OrderStatus.IN_PREPARATION);
+            });
+            CompletableFuture<BulkStatusUpdateResponse> second = CompletableFuture.supplyAsync(() -> {
+                await(start);
+                return orderService.updateStatuses(ids.subList(10, 30), OrderStatus.IN_PREPARATION);
+            });
+            start.countDown();
+
+            Set<Long> updated = new HashSet<>(first.get().updated());
+            updated.addAll(second.get().updated());
+            assertThat(updated).containsExactlyInAnyOrderElementsOf(ids);
+
+            // un seul événement par commande : les agrégats bougent de 30, pas plus
+            assertThat(orderCount(today, OrderStatus.PENDING)).isEqualTo(pendingBefore - 30);
+            assertThat(orderCount(today, OrderStatus.IN_PREPARATION)).isEqualTo(preparingBefore + 30);
+        }
+    }
+
+    private long orderCount(LocalDate day, OrderStatus status) {
+        return salesRollupService.dailySales(day, day, null).stream()
+                .filter(d -> d.status() == status)
+                .mapToLong(DailySalesResponse::orderCount)
+                .sum();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Long create() {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductIdFront(1L);
+        item.setProductName("Tacos M");
+        item.setProductType("tacos");
+        item.setBasePrice(new BigDecimal("8.50"));
+        item.setTotalPrice(new BigDecimal("8.50"));
+        item.setQuantity(1);
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Client");
+        request.setItems(List.of(item));
+        return orderService.createOrder(request).getId();
+    }
+}
@@ -0,0 +1,42 @@
+package db.migration;
+
+import com.okebab.okebabbackend.order.model.SelectionsCodec;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rejoue les migrations sur H2 (mode MySQL) jusqu'à V6, insère des articles en JSON, puis applique V7.
+ */
+class V7__EncodeItemSelectionsTest {
+
+    @Test
+    void compressesJsonSelections() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:v7;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        Flyway.configure().dataSource(dataSource).target("6").load().migrate();
+        jdbc.update("insert into orders (id, created_at, status, total_amount) values (1, ?, 'PENDING', 10)",
+                LocalDateTime.now());
+        for (int i = 1; i <= 2_500; i++) {
+            jdbc.update("insert into order_items (id, base_price, product_name, product_type, quantity,"
+                            + " selections_json, total_price, order_id) values (?, 1, 'Tacos', 'TACOS', 1, ?, 1, 1)",
+                    i, i % 10 == 0 ? null : "{\"sauces\":[\"Algérienne\",\"Samouraï\"],\"n\":" + i + "}");
+        }
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        assertThat(jdbc.queryForObject("select count(*) from order_items where selections is not null", Long.class))
+                .isEqualTo(2_250);
+        byte[] encoded = jdbc.queryForObject("select selections from order_items where id = 2_499", byte[].class);
+        assertThat(SelectionsCodec.toJson(encoded)).isEqualTo("{\"sauces\":[\"Algérienne\",\"Samouraï\"],\"n\":2499}");
+        assertThat(jdbc.queryForList("select column_name from information_schema.columns where table_name = 'order_items'",
+                String.class)).doesNotContain("selections_json");
+    }
+}